@@ -0,0 +1,30 @@
+package nablarch.common.date;
+
+import nablarch.core.util.FormatSpec;
+
+/**
+ * 日付コンバータのベンチマークで使用する入力値の組み合わせ。
+ */
+final class DateConvertorBenchmarkSupport {
+
+    /** 隠蔽コンストラクタ。 */
+    private DateConvertorBenchmarkSupport() {
+    }
+
+    /**
+     * シナリオに対応する入力値とフォーマット仕様を取得する。
+     *
+     * @param dataType  データタイプ
+     * @param scenario  シナリオ
+     * @param scenarios シナリオ毎の{フォーマット, 入力値}
+     * @return {入力値, フォーマット仕様}
+     */
+    static Object[] resolve(String dataType, String scenario, String[][] scenarios) {
+        for (String[] s : scenarios) {
+            if (s[0].equals(scenario)) {
+                return new Object[] {s[2], FormatSpec.valueOf(dataType + "{" + s[1] + "}", "|")};
+            }
+        }
+        throw new IllegalArgumentException("unknown scenario. scenario=" + scenario);
+    }
+}
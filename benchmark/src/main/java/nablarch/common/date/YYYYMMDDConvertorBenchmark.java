@@ -0,0 +1,105 @@
+package nablarch.common.date;
+
+import java.util.concurrent.TimeUnit;
+
+import nablarch.core.util.FormatSpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link YYYYMMDDConvertor}のベンチマーク。
+ * <p/>
+ * 割り当て量は{@code -prof gc}オプションで計測する。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class YYYYMMDDConvertorBenchmark {
+
+    /** シナリオ毎の{シナリオ, フォーマット, 入力値} */
+    private static final String[][] SCENARIOS = {
+            {"valid", "yyyy/MM/dd", "2011/09/09"},
+            {"numbersOnly", "yyyy/MM/dd", "20110909"},
+            {"invalid", "yyyy/MM/dd", "2011/02/29"},
+            {"garbage", "yyyy/MM/dd", "abcdefghij"},
+            {"locale", "dd MMM yyyy|en", "13 Nov 2012"}
+    };
+
+    /** シナリオ */
+    @Param({"valid", "numbersOnly", "invalid", "garbage", "locale"})
+    public String scenario;
+
+    /** 解析エンジン */
+    @Param({AbstractDateStringConverter.ENGINE_COMPILED, AbstractDateStringConverter.ENGINE_SIMPLE_DATE_FORMAT})
+    public String engine;
+
+    /** 対象のコンバータ */
+    private YYYYMMDDConvertor convertor;
+
+    /** 入力値 */
+    private String value;
+
+    /** フォーマット仕様 */
+    private FormatSpec formatSpec;
+
+    /** 入力値のみを変えて一括変換するための入力値 */
+    private String[] values;
+
+    /** セットアップ。 */
+    @Setup
+    public void setUp() {
+        convertor = new YYYYMMDDConvertor();
+        convertor.setParserEngine(engine);
+        Object[] resolved = DateConvertorBenchmarkSupport.resolve("yyyymmdd", scenario, SCENARIOS);
+        value = (String) resolved[0];
+        formatSpec = (FormatSpec) resolved[1];
+        values = new String[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new String(value);
+        }
+    }
+
+    /**
+     * 変換可否の判定。
+     *
+     * @return 判定結果
+     */
+    @Benchmark
+    public boolean isConvertible() {
+        return convertor.isConvertible(value, formatSpec);
+    }
+
+    /**
+     * バリデーションと同じ順序での変換可否の判定と変換。
+     *
+     * @return 変換結果
+     */
+    @Benchmark
+    public String validateAndConvert() {
+        return convertor.isConvertible(value, formatSpec) ? convertor.convert(value, formatSpec) : null;
+    }
+
+    /**
+     * 一括変換(1000件)。
+     *
+     * @return 変換結果
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BulkConversionResult convertAll() {
+        return convertor.convertAll(values, formatSpec);
+    }
+}
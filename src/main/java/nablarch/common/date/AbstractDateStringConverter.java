@@ -3,7 +3,6 @@ package nablarch.common.date;
 
 import nablarch.core.util.DateUtil;
 import nablarch.core.util.FormatSpec;
-import nablarch.core.util.I18NUtil;
 import nablarch.core.util.StringUtil;
 import nablarch.core.validation.ValidationContext;
 import nablarch.core.validation.ValidationResultMessageUtil;
@@ -11,16 +10,31 @@ import nablarch.core.validation.convertor.ConversionUtil;
 import nablarch.core.validation.convertor.ExtendedStringConvertor;
 
 import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
 import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 日付を表す文字列を値に変換する抽象クラス。
+ * <p/>
+ * 解析結果の年月日は年月日を表すint値(yyyyMMdd)で保持するため、変換できる年は214747年までとなる。
+ * これより後の年を表す値は、フォーマットに一致する場合でも変換不可と判定する。
+ * (従来の{@link DateUtil}による解析では変換可能と判定していたが、
+ * 変換後の値の年が5桁以上となるため業務上の日付として扱えるものではない。)
  *
  * @author T.Kawasaki
  * @see YYYYMMDDConvertor
  * @see YYYYMMConvertor
+ * @see YYYYMMDDHHMMConvertor
+ * @see YYYYMMDDHHMMSSConvertor
  */
 public abstract class AbstractDateStringConverter implements ExtendedStringConvertor {
 
@@ -30,6 +44,12 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
     /** "データタイプ{パターン}"形式のデータタイプ */
     private final String dataType;
 
+    /** 変換後の値の書き込みに使用するパターン */
+    private DatePatternWriter outputWriter;
+
+    /** 年月日を表すint値から、日付パターンの精度のint値を求める除数 */
+    private final int intValueDivisor;
+
     /**
      * コンストラクタ。
      *
@@ -39,11 +59,66 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
     protected AbstractDateStringConverter(String datePattern, String dataType) {
         this.datePattern = datePattern;
         this.dataType = dataType;
+        this.outputWriter = DatePatternWriter.compile(datePattern);
+        this.intValueDivisor = datePattern.indexOf('d') >= 0 ? 1 : 100;
     }
 
     /** 指定された日付への変換失敗時のメッセージID */
     private String parseFailedMessageId;
 
+    /** 日付が範囲外の場合のメッセージID */
+    private String outOfRangeMessageId;
+
+    /** 解析準備済みフォーマットのキャッシュ保持件数のデフォルト値 */
+    private static final int DEFAULT_FORMAT_CACHE_SIZE = 256;
+
+    /** 解析準備済みフォーマットのキャッシュ保持件数 */
+    private int formatCacheSize = DEFAULT_FORMAT_CACHE_SIZE;
+
+    /** 解析準備済みフォーマットのキャッシュ */
+    private CompiledDateFormatCache formatCache = new CompiledDateFormatCache(DEFAULT_FORMAT_CACHE_SIZE);
+
+    /**
+     * 数値のみで構成されるフォーマットを、スレッド間で共有する不変の解析済みパターンで解析するエンジン。
+     * <p/>
+     * 数値のみで構成されないフォーマット(MMMなど)や、グレゴリオ暦以外の暦を使用するロケールの場合は、
+     * {@link SimpleDateFormat}で解析する。
+     */
+    public static final String ENGINE_COMPILED = "compiled";
+
+    /** 全てのフォーマットを{@link SimpleDateFormat}で解析するエンジン。 */
+    public static final String ENGINE_SIMPLE_DATE_FORMAT = "simpleDateFormat";
+
+    /** 日付の解析に使用するエンジン */
+    private String parserEngine = ENGINE_COMPILED;
+
+    /** 解析結果の集計先(集計しない場合はnull) */
+    private DateConversionMetrics conversionMetrics;
+
+    /** アノテーションから取得したデータのキャッシュ保持件数 */
+    private static final int ANNOTATION_CACHE_SIZE = 256;
+
+    /** アノテーションから取得したデータのキャッシュ */
+    private final AnnotationDataCache annotationDataCache = new AnnotationDataCache(ANNOTATION_CACHE_SIZE);
+
+    /** 変換後の値を共有する表の保持件数の上限(共有しない場合は0) */
+    private int internTableSize;
+
+    /** 変換後の値を共有する表(共有しない場合はnull) */
+    private DateStringInternTable internTable;
+
+    /** 入力値の変換結果のキャッシュ保持件数の上限(キャッシュしない場合は0) */
+    private int resultCacheSize;
+
+    /** 入力値の変換結果のキャッシュ(キャッシュしない場合はnull) */
+    private ConversionResultCache resultCache;
+
+    /** allowFormatから生成したフォーマット仕様のキャッシュ保持件数 */
+    private static final int FORMAT_SPEC_CACHE_SIZE = 256;
+
+    /** allowFormatから生成したフォーマット仕様のキャッシュ */
+    private final ConcurrentMap<String, FormatSpec> formatSpecCache = new ConcurrentHashMap<String, FormatSpec>();
+
     /**
      * 指定された日付文字列への変換失敗時のメッセージIDを設定する。
      *
@@ -53,11 +128,284 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
         this.parseFailedMessageId = parseFailedMessageId;
     }
 
+    /**
+     * 日付がアノテーションで指定された範囲(min、max属性)外の場合のメッセージIDを設定する。
+     * <p/>
+     * 指定がない場合は、変換失敗時のメッセージIDを使用する。
+     * メッセージには、プロパティの表示名、下限、上限(いずれも変換後の値のパターン。指定がない場合は空文字)を埋め込む。
+     *
+     * @param outOfRangeMessageId 日付が範囲外の場合のメッセージID
+     */
+    public void setOutOfRangeMessageId(String outOfRangeMessageId) {
+        this.outOfRangeMessageId = outOfRangeMessageId;
+    }
+
+    /**
+     * 解析準備済みフォーマットのキャッシュ保持件数を設定する。
+     * <p/>
+     * デフォルトは256件。
+     * 保持件数を超えたフォーマットは、キャッシュされずに変換の都度生成される。
+     *
+     * @param formatCacheSize 解析準備済みフォーマットのキャッシュ保持件数
+     */
+    public void setFormatCacheSize(int formatCacheSize) {
+        formatCache = new CompiledDateFormatCache(formatCacheSize);
+        this.formatCacheSize = formatCacheSize;
+        setResultCacheSize(resultCacheSize);
+    }
+
+    /**
+     * 変換後の値のパターンを設定する。
+     * <p/>
+     * {@link SimpleDateFormat}の構文で指定する。デフォルトはコンストラクタで指定された日付パターン。
+     * パターンは設定時に1度だけ解釈し、数値のみで構成されるパターン(yyyy-MM-ddなど)の場合は
+     * DateやCalendarを生成せずに変換後の値を生成する。
+     *
+     * @param outputPattern 変換後の値のパターン
+     */
+    public void setOutputPattern(String outputPattern) {
+        this.outputWriter = DatePatternWriter.compile(outputPattern);
+        setInternTableSize(internTableSize);
+        setResultCacheSize(resultCacheSize);
+    }
+
+    /**
+     * 変換後の値を共有する表の保持件数の上限を設定する。
+     * <p/>
+     * 1以上を設定した場合、同じ日付の変換後の値(文字列)を同じインスタンスで返す。
+     * 業務データに含まれる日付の種類は少ないため、大量の変換結果をフォームやリストに保持するバッチ処理などで、
+     * ヒープ使用量を削減できる。表に保持している日付は、変換後の値の文字列を生成しない。
+     * <p/>
+     * デフォルトは0(共有しない)。
+     * 保持件数は上限以上の最小の2の累乗となり、同じ格納位置に割り当てられた日付は後から変換されたもので追い出される。
+     * 変換後の値のパターンを変更した場合、保持している値は破棄される。
+     *
+     * @param internTableSize 変換後の値を共有する表の保持件数の上限(共有しない場合は0)
+     * @throws IllegalArgumentException 負の値を指定した場合
+     */
+    public void setInternTableSize(int internTableSize) {
+        if (internTableSize < 0) {
+            throw new IllegalArgumentException(
+                    "internTableSize must not be negative. internTableSize=" + internTableSize);
+        }
+        this.internTable = internTableSize == 0 ? null : new DateStringInternTable(internTableSize);
+        this.internTableSize = internTableSize;
+    }
+
+    /**
+     * 入力値の変換結果のキャッシュ保持件数の上限を設定する。
+     * <p/>
+     * 1以上を設定した場合、フォーマット仕様、ロケール、入力値の組み合わせ毎に、
+     * 変換可否と変換後の値をキャッシュし、同じ入力値の解析と変換後の値の生成を省略する。
+     * 当日日付や月末日、初期値など、同じ値が繰り返し入力される画面やファイルの処理で使用する。
+     * <p/>
+     * デフォルトは0(キャッシュしない)。
+     * 保持件数は上限以上の最小の2の累乗となり、上限に達した場合は直近に参照されていない入力値から追い出される。
+     * 範囲(min、max属性)の判定はキャッシュせず、変換の都度行う。
+     * キャッシュから取得した入力値は、解析結果の集計({@link #setConversionMetrics(DateConversionMetrics)})の対象とならない。
+     * 変換後の値のパターン、解析エンジン、解析準備済みフォーマットのキャッシュ保持件数を変更した場合、
+     * キャッシュしている値は破棄される。
+     *
+     * @param resultCacheSize 入力値の変換結果のキャッシュ保持件数の上限(キャッシュしない場合は0)
+     * @throws IllegalArgumentException 負の値を指定した場合
+     */
+    public void setResultCacheSize(int resultCacheSize) {
+        if (resultCacheSize < 0) {
+            throw new IllegalArgumentException(
+                    "resultCacheSize must not be negative. resultCacheSize=" + resultCacheSize);
+        }
+        this.resultCache = resultCacheSize == 0 ? null : new ConversionResultCache(resultCacheSize);
+        this.resultCacheSize = resultCacheSize;
+    }
+
+    /**
+     * 日付の解析に使用するエンジンを設定する。
+     * <p/>
+     * 以下のいずれかを指定する。デフォルトは{@link #ENGINE_COMPILED}。
+     * <ul>
+     * <li>{@link #ENGINE_COMPILED}("compiled")</li>
+     * <li>{@link #ENGINE_SIMPLE_DATE_FORMAT}("simpleDateFormat")</li>
+     * </ul>
+     * いずれのエンジンも解析結果は同じであり、{@link SimpleDateFormat}の厳密モードと同じ規則で日付の妥当性を判定する。
+     *
+     * @param parserEngine 日付の解析に使用するエンジン
+     */
+    public void setParserEngine(String parserEngine) {
+        if (!ENGINE_COMPILED.equals(parserEngine) && !ENGINE_SIMPLE_DATE_FORMAT.equals(parserEngine)) {
+            throw new IllegalArgumentException("unsupported parser engine. parserEngine=" + parserEngine);
+        }
+        this.parserEngine = parserEngine;
+        formatCache = new CompiledDateFormatCache(formatCacheSize);
+        setResultCacheSize(resultCacheSize);
+    }
+
+    /**
+     * 解析結果の集計先を設定する。
+     * <p/>
+     * 設定した場合、解析毎に成功、区切り文字なしで成功、失敗の件数と処理時間を集計する。
+     * 設定しない場合は集計を行わない。
+     *
+     * @param conversionMetrics 解析結果の集計先
+     */
+    public void setConversionMetrics(DateConversionMetrics conversionMetrics) {
+        this.conversionMetrics = conversionMetrics;
+    }
+
+    /**
+     * 解析結果の集計先を取得する。
+     *
+     * @return 解析結果の集計先。設定されていない場合はnull
+     */
+    public DateConversionMetrics getConversionMetrics() {
+        return conversionMetrics;
+    }
+
+    /**
+     * 解析準備済みフォーマットのキャッシュのヒット件数を取得する。
+     *
+     * @return キャッシュのヒット件数
+     */
+    public long getFormatCacheHitCount() {
+        return formatCache.getHitCount();
+    }
+
+    /**
+     * 解析準備済みフォーマットのキャッシュのミス件数を取得する。
+     *
+     * @return キャッシュのミス件数
+     */
+    public long getFormatCacheMissCount() {
+        return formatCache.getMissCount();
+    }
+
+    /**
+     * 変換後の値を共有する表に保持している件数を取得する。
+     *
+     * @return 保持している件数。共有しない場合は0
+     * @see #setInternTableSize(int)
+     */
+    public int getInternTableCount() {
+        DateStringInternTable table = internTable;
+        return table == null ? 0 : table.size();
+    }
+
+    /**
+     * 変換後の値を共有する表のヒット件数(保持している値を返した件数)を取得する。
+     *
+     * @return ヒット件数。共有しない場合は0
+     * @see #setInternTableSize(int)
+     */
+    public long getInternTableHitCount() {
+        DateStringInternTable table = internTable;
+        return table == null ? 0 : table.getHitCount();
+    }
+
+    /**
+     * 変換後の値を共有する表のミス件数(変換後の値を生成した件数)を取得する。
+     *
+     * @return ミス件数。共有しない場合は0
+     * @see #setInternTableSize(int)
+     */
+    public long getInternTableMissCount() {
+        DateStringInternTable table = internTable;
+        return table == null ? 0 : table.getMissCount();
+    }
+
+    /**
+     * 変換後の値を共有する表から追い出された件数を取得する。
+     *
+     * @return 追い出された件数。共有しない場合は0
+     * @see #setInternTableSize(int)
+     */
+    public long getInternTableEvictionCount() {
+        DateStringInternTable table = internTable;
+        return table == null ? 0 : table.getEvictionCount();
+    }
+
+    /**
+     * 入力値の変換結果のキャッシュに保持している件数を取得する。
+     *
+     * @return 保持している件数。キャッシュしない場合は0
+     * @see #setResultCacheSize(int)
+     */
+    public int getResultCacheCount() {
+        ConversionResultCache cache = resultCache;
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * 入力値の変換結果のキャッシュのヒット件数を取得する。
+     *
+     * @return ヒット件数。キャッシュしない場合は0
+     * @see #setResultCacheSize(int)
+     */
+    public long getResultCacheHitCount() {
+        ConversionResultCache cache = resultCache;
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    /**
+     * 入力値の変換結果のキャッシュのミス件数を取得する。
+     *
+     * @return ミス件数。キャッシュしない場合は0
+     * @see #setResultCacheSize(int)
+     */
+    public long getResultCacheMissCount() {
+        ConversionResultCache cache = resultCache;
+        return cache == null ? 0 : cache.getMissCount();
+    }
+
+    /**
+     * 入力値の変換結果のキャッシュのヒット率を取得する。
+     *
+     * @return ヒット件数 / (ヒット件数 + ミス件数)。キャッシュしない場合、参照がない場合は0
+     * @see #setResultCacheSize(int)
+     */
+    public double getResultCacheHitRatio() {
+        ConversionResultCache cache = resultCache;
+        if (cache == null) {
+            return 0;
+        }
+        long hits = cache.getHitCount();
+        long total = hits + cache.getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * 入力値の変換結果のキャッシュから追い出された件数を取得する。
+     *
+     * @return 追い出された件数。キャッシュしない場合は0
+     * @see #setResultCacheSize(int)
+     */
+    public long getResultCacheEvictionCount() {
+        ConversionResultCache cache = resultCache;
+        return cache == null ? 0 : cache.getEvictionCount();
+    }
+
+    /**
+     * 現在のスレッドが日付の解析と変換のために保持している値を破棄する。
+     * <p/>
+     * コンバータは、{@link SimpleDateFormat}などのスレッドセーフではないオブジェクトと、
+     * 直前の解析結果(解析準備済みフォーマットと入力値)をスレッド毎に保持する。
+     * これらはスレッドプールのスレッドに残り続け、アプリケーションの再デプロイ後も古いクラスローダを解放できなくなるため、
+     * リクエストやバッチ処理の終了時に本メソッドを呼び出して破棄する。
+     * ハンドラキューを使用する場合は、{@link DateThreadResourceCleanupHandler}を登録すればよい。
+     * <p/>
+     * 破棄した後に変換を行った場合は、必要な値が再度生成される。
+     */
+    public static void clearThreadResources() {
+        DateThreadResources.clear();
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
      * 値がnullまたは空文字の場合は値をそのまま返す。
      * 値の変換は、{@link #convert(String, String)}メソッドに委譲する。
+     * <p/>
+     * フォーマット仕様は{@link #getFormatSpec(ValidationContext, String, String)}メソッドで取得する。
+     * 同一スレッドで直前に同じValidationContext、プロパティ、値で変換可能と判定している場合は、
+     * 判定時に取得したフォーマット仕様を使用し、再度の取得は行わない。
      */
     public <T> Object convert(ValidationContext<T> context, String propertyName, Object value, Annotation annotation) {
 
@@ -67,12 +415,18 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
             return stringValue;
         }
 
-        AnnotationData data = getAnnotationDataFrom(annotation);
+        AnnotationData data = getCachedAnnotationData(annotation);
         if (data == null) {
             throw new IllegalArgumentException(
                     "Must specify @" + getTargetAnnotation().getSimpleName() + " annotation. property=" + propertyName);
         }
-        FormatSpec formatSpec = getFormatSpec(context, propertyName, data.allowFormat);
+        FormatSpec formatSpec = LastParsedDate.getFormatSpec(context, propertyName, stringValue);
+        if (formatSpec == null) {
+            formatSpec = getFormatSpec(context, propertyName, data.allowFormat);
+        }
+        if (isAllowFormatSpec(data, formatSpec)) {
+            return convertOrThrow(stringValue, getCompiledFormat(data));
+        }
         return convert(stringValue, formatSpec);
     }
 
@@ -85,8 +439,13 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
      * 日付文字列の区切り文字を取り除いたフォーマットで解析する。
      * </p>
      * <p>
-     * 最後に解析結果として取得できるDateオブジェクトを、所定のパターン({@link #datePattern})の
-     * 文字列に変換する。
+     * 最後に解析結果の年月日を、所定のパターン({@link #datePattern}、
+     * または{@link #setOutputPattern(String)}で設定したパターン)の文字列に変換する。
+     * </p>
+     * <p>
+     * 同一スレッドで直前に{@link #isConvertible(String, FormatSpec)}メソッドが
+     * 同じフォーマットと値で変換可能と判定している場合は、その解析結果を使用し再度の解析は行わない。
+     * 入力値の変換結果をキャッシュする場合({@link #setResultCacheSize(int)})は、キャッシュした変換後の値を使用する。
      * </p>
      *
      * @param value  値
@@ -94,20 +453,371 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
      * @return 変換後の値
      */
     protected String convert(String value, FormatSpec formatSpec) {
+        if (StringUtil.isNullOrEmpty(value)) {
+            throw new IllegalArgumentException("value could not be parsed. value=" + value);
+        }
+        return convertOrThrow(value, getCompiledFormat(formatSpec));
+    }
 
-        String format = formatSpec.getFormatOfPattern();
-        String language = formatSpec.getAdditionalInfoOfPattern();
-        Locale locale = StringUtil.hasValue(language) ? I18NUtil.createLocale(language) : null;
+    /**
+     * 解析準備済みフォーマットで値を変換する。
+     *
+     * @param value    値(nullまたは空文字以外)
+     * @param compiled 解析準備済みフォーマット
+     * @return 変換後の値
+     * @throws IllegalArgumentException 値を解析できない場合
+     */
+    private String convertOrThrow(String value, CompiledDateFormat compiled) {
+        ConversionResultCache cache = resultCache;
+        if (cache == null) {
+            return format(parseOrThrow(value, compiled));
+        }
+        ConversionResultCache.Entry entry = lookup(cache, compiled, value);
+        if (entry.getDate() == DateParser.INVALID) {
+            throw new IllegalArgumentException("value could not be parsed. value=" + value);
+        }
+        return outputOf(entry);
+    }
+
+    /**
+     * 指定されたフォーマット仕様で値を解析し、日付パターンの精度のint値に変換する。
+     * <p/>
+     * 年月日の場合は20110909、年月の場合は201109のように、日付パターンの各フィールドを並べた値に変換する。
+     * 時刻を含む日付パターンの場合は、年月日のみを変換する。
+     * 文字列やDateを生成しないため、業務ロジックで日付の比較や範囲チェックを行う場合に使用する。
+     * 値の解析仕様は{@link #convert(String, FormatSpec)}メソッドと同じである。
+     *
+     * @param value      値
+     * @param formatSpec フォーマット仕様
+     * @return 変換後の値
+     * @throws IllegalArgumentException 値を解析できない場合
+     */
+    public int convertToInt(String value, FormatSpec formatSpec) {
+        return PackedDateTime.date(parseOrThrow(value, formatSpec)) / intValueDivisor;
+    }
+
+    /**
+     * 指定された許容フォーマットで値を解析し、日付パターンの精度のint値に変換する。
+     * <p/>
+     * allowFormatから生成したフォーマット仕様で、{@link #convertToInt(String, FormatSpec)}メソッドに処理を委譲する。
+     *
+     * @param value       値
+     * @param allowFormat 入力値として許容するフォーマット
+     * @return 変換後の値
+     * @throws IllegalArgumentException 値を解析できない場合
+     */
+    public int convertToInt(String value, String allowFormat) {
+        return convertToInt(value, getDefaultFormatSpec(allowFormat));
+    }
+
+    /**
+     * 指定されたフォーマット仕様で値を解析し、1970年1月1日からの経過日数に変換する。
+     * <p/>
+     * 年月の場合は、その月の1日の経過日数に変換する。
+     * 経過日数は{@link java.util.GregorianCalendar}と同じ暦(1582年10月15日より前はユリウス暦)で計算する。
+     * 値の解析仕様は{@link #convert(String, FormatSpec)}メソッドと同じである。
+     *
+     * @param value      値
+     * @param formatSpec フォーマット仕様
+     * @return 1970年1月1日からの経過日数
+     * @throws IllegalArgumentException 値を解析できない場合
+     */
+    public long convertToEpochDay(String value, FormatSpec formatSpec) {
+        return PackedDate.epochDay(PackedDateTime.date(parseOrThrow(value, formatSpec)));
+    }
+
+    /**
+     * 指定された許容フォーマットで値を解析し、1970年1月1日からの経過日数に変換する。
+     * <p/>
+     * allowFormatから生成したフォーマット仕様で、{@link #convertToEpochDay(String, FormatSpec)}メソッドに処理を委譲する。
+     *
+     * @param value       値
+     * @param allowFormat 入力値として許容するフォーマット
+     * @return 1970年1月1日からの経過日数
+     * @throws IllegalArgumentException 値を解析できない場合
+     */
+    public long convertToEpochDay(String value, String allowFormat) {
+        return convertToEpochDay(value, getDefaultFormatSpec(allowFormat));
+    }
+
+    /**
+     * 指定されたフォーマット仕様で値を解析する。
+     * <p/>
+     * 同一スレッドで直前に{@link #isConvertible(String, FormatSpec)}メソッドが
+     * 同じフォーマットと値で変換可能と判定している場合は、その解析結果を使用する。
+     *
+     * @param value      値
+     * @param formatSpec フォーマット仕様
+     * @return 年月日と時分秒を表すlong値
+     * @throws IllegalArgumentException 値を解析できない場合
+     */
+    private long parseOrThrow(String value, FormatSpec formatSpec) {
+        if (StringUtil.isNullOrEmpty(value)) {
+            throw new IllegalArgumentException("value could not be parsed. value=" + value);
+        }
+        return parseOrThrow(value, getCompiledFormat(formatSpec));
+    }
+
+    /**
+     * 解析準備済みフォーマットで値を解析する。
+     * <p/>
+     * 同一スレッドで直前に同じフォーマットと値で変換可能と判定している場合は、その解析結果を使用する。
+     *
+     * @param value    値
+     * @param compiled 解析準備済みフォーマット
+     * @return 年月日と時分秒を表すlong値
+     * @throws IllegalArgumentException 値を解析できない場合
+     */
+    private long parseOrThrow(String value, CompiledDateFormat compiled) {
+        long date = LastParsedDate.get(compiled, value);
+        if (date == DateParser.INVALID) {
+            date = parseCached(compiled, value);
+        }
+        if (date == DateParser.INVALID) {
+            throw new IllegalArgumentException("value could not be parsed. value=" + value);
+        }
+        return date;
+    }
+
+    /**
+     * 指定されたフォーマット仕様で複数の値をまとめて変換する。
+     * <p/>
+     * バッチ処理などで、同じフォーマット仕様の値を大量に変換する場合に使用する。
+     * フォーマット仕様の解決と解析準備済みフォーマットの取得は1度だけ行う。
+     * 各値の解析仕様は{@link #convert(String, FormatSpec)}メソッドと同じである。
+     * <p/>
+     * 値がnullまたは空文字の場合は値をそのまま返し、変換失敗とはしない。
+     * 変換できない値は変換失敗として、そのインデックスを結果に保持する。
+     *
+     * @param values     値
+     * @param formatSpec フォーマット仕様
+     * @return 変換結果
+     */
+    public BulkConversionResult convertAll(String[] values, FormatSpec formatSpec) {
+        String[] converted = new String[values.length];
+        BitSet failures = new BitSet(values.length);
+        convertRange(getCompiledFormat(formatSpec), values, 0, values.length, converted, failures);
+        return new BulkConversionResult(converted, failures);
+    }
 
-        Date date = locale == null
-                        ? DateUtil.getParsedDate(value, format)
-                        : DateUtil.getParsedDate(value, format, locale);
-        if (date == null) {
-            date = locale == null
-                        ? DateUtil.getParsedDate(value, getNumbersOnlyFormat(format))
-                        : DateUtil.getParsedDate(value, getNumbersOnlyFormat(format), locale);
+    /**
+     * 解析準備済みフォーマットで、指定範囲の値をまとめて変換する。
+     * <p/>
+     * 値がnullまたは空文字の場合は値をそのまま格納し、変換失敗とはしない。
+     *
+     * @param compiled  解析準備済みフォーマット
+     * @param values    値
+     * @param from      変換範囲の開始インデックス(この値を含む)
+     * @param to        変換範囲の終了インデックス(この値を含まない)
+     * @param converted 変換後の値の格納先(値と同じインデックスに格納する)
+     * @param failures  変換できなかった値のインデックスの格納先(変換範囲の開始インデックスからの位置を格納する)
+     */
+    void convertRange(CompiledDateFormat compiled, String[] values, int from, int to,
+            String[] converted, BitSet failures) {
+        for (int i = from; i < to; i++) {
+            String value = values[i];
+            if (StringUtil.isNullOrEmpty(value)) {
+                converted[i] = value;
+                continue;
+            }
+            converted[i] = convertOrNull(compiled, value);
+            if (converted[i] == null) {
+                failures.set(i - from);
+            }
         }
-        return new SimpleDateFormat(datePattern).format(date);
+    }
+
+    /**
+     * 解析準備済みフォーマットで値を変換する。
+     *
+     * @param compiled 解析準備済みフォーマット
+     * @param value    値(nullまたは空文字以外)
+     * @return 変換後の値。変換できない場合はnull
+     */
+    String convertOrNull(CompiledDateFormat compiled, String value) {
+        ConversionResultCache cache = resultCache;
+        if (cache != null) {
+            ConversionResultCache.Entry entry = lookup(cache, compiled, value);
+            return entry.getDate() == DateParser.INVALID ? null : outputOf(entry);
+        }
+        long date = parse(compiled, value);
+        return date == DateParser.INVALID ? null : format(date);
+    }
+
+    /**
+     * 指定されたフォーマット仕様で複数の値をまとめて変換する。
+     * <p/>
+     * {@link #convertAll(String[], FormatSpec)}メソッドに処理を委譲する。
+     *
+     * @param values     値
+     * @param formatSpec フォーマット仕様
+     * @return 変換結果
+     */
+    public BulkConversionResult convertAll(List<String> values, FormatSpec formatSpec) {
+        return convertAll(values.toArray(new String[values.size()]), formatSpec);
+    }
+
+    /**
+     * allowFormatで複数の値をまとめて変換する。
+     * <p/>
+     * allowFormatから生成したフォーマット仕様で、{@link #convertAll(String[], FormatSpec)}メソッドに処理を委譲する。
+     *
+     * @param values      値
+     * @param allowFormat 入力値として許容するフォーマット
+     * @return 変換結果
+     */
+    public BulkConversionResult convertAll(String[] values, String allowFormat) {
+        return convertAll(values, getDefaultFormatSpec(allowFormat));
+    }
+
+    /**
+     * 指定されたフォーマット仕様で、文字の並びが変換可能か否かを判定する。
+     * <p/>
+     * {@link StringBuilder}やバッファの範囲を参照する{@link CharSequence}など、
+     * 文字列以外の値を文字列を生成せずに判定する場合に使用する。
+     * 判定仕様は{@link #isConvertible(String, FormatSpec)}メソッドと同じだが、
+     * 解析結果のスレッド毎の保持と、入力値の変換結果のキャッシュ({@link #setResultCacheSize(int)})は使用しない。
+     * 解析結果の集計({@link #setConversionMetrics(DateConversionMetrics)})の対象にはなる。
+     *
+     * @param value      値
+     * @param formatSpec フォーマット仕様
+     * @return 変換可能な場合はtrue。値がnullまたは空の場合はfalse
+     */
+    public boolean isConvertibleSequence(CharSequence value, FormatSpec formatSpec) {
+        return parseOrInvalid(value, formatSpec) != DateParser.INVALID;
+    }
+
+    /**
+     * 指定されたフォーマット仕様で、バイト配列の範囲が変換可能か否かを判定する。
+     * <p/>
+     * 固定長ファイルのレコードなどに含まれる日付を、文字列を生成せずに判定する場合に使用する。
+     * 値はASCIIまたはShift_JIS(MS932)で表された日付とし、デコードせずに1バイトを1文字として解析する。
+     * ASCII以外のバイトを含む値は変換不可とする。
+     *
+     * @param bytes      バイト配列
+     * @param offset     値の開始位置
+     * @param length     値の長さ
+     * @param formatSpec フォーマット仕様
+     * @return 変換可能な場合はtrue。値の長さが0の場合はfalse
+     * @throws IllegalArgumentException 値の範囲がバイト配列に収まらない場合
+     */
+    public boolean isConvertible(byte[] bytes, int offset, int length, FormatSpec formatSpec) {
+        return isConvertibleSequence(new AsciiByteSequence(bytes, offset, length), formatSpec);
+    }
+
+    /**
+     * 指定されたフォーマット仕様で、ByteBufferの範囲が変換可能か否かを判定する。
+     * <p/>
+     * 値の範囲はByteBufferの先頭(インデックス0)からの位置で指定し、limitを超えてはならない。
+     * ByteBufferのpositionとlimitは変更しない。
+     * 判定仕様は{@link #isConvertible(byte[], int, int, FormatSpec)}メソッドと同じである。
+     *
+     * @param buffer     ByteBuffer
+     * @param offset     値の開始位置
+     * @param length     値の長さ
+     * @param formatSpec フォーマット仕様
+     * @return 変換可能な場合はtrue。値の長さが0の場合はfalse
+     * @throws IllegalArgumentException 値の範囲がByteBufferのlimitを超える場合
+     */
+    public boolean isConvertible(ByteBuffer buffer, int offset, int length, FormatSpec formatSpec) {
+        return isConvertibleSequence(new AsciiByteSequence(buffer, offset, length), formatSpec);
+    }
+
+    /**
+     * 指定されたフォーマット仕様で文字の並びを変換し、変換後の値を文字配列に書き込む。
+     * <p/>
+     * 値の解析仕様は{@link #convert(String, FormatSpec)}メソッドと同じである。
+     * 変換後の値のパターンが数値のみで構成される場合は、入力、出力ともに文字列を生成しない。
+     *
+     * @param value      値
+     * @param formatSpec フォーマット仕様
+     * @param dest       書き込み先
+     * @param destOffset 書き込み開始位置
+     * @return 書き込んだ文字数。値がnullまたは空の場合、変換できない場合は-1(書き込み先は変更しない)
+     * @throws IllegalArgumentException 書き込み先の領域が不足する場合
+     */
+    public int convertTo(CharSequence value, FormatSpec formatSpec, char[] dest, int destOffset) {
+        long date = parseOrInvalid(value, formatSpec);
+        return date == DateParser.INVALID ? DateParser.INVALID : outputWriter.write(date, dest, destOffset) - destOffset;
+    }
+
+    /**
+     * 指定されたフォーマット仕様でバイト配列の範囲を変換し、変換後の値をバイト配列にASCIIで書き込む。
+     * <p/>
+     * 値の解析仕様は{@link #isConvertible(byte[], int, int, FormatSpec)}メソッドと同じである。
+     * 変換後の値のパターンがASCIIの数値のみで構成される場合は、入力、出力ともに文字列を生成しない。
+     * 値と書き込み先に同じバイト配列を指定することもできる(範囲が重ならない場合に限る)。
+     *
+     * @param bytes      値を含むバイト配列
+     * @param offset     値の開始位置
+     * @param length     値の長さ
+     * @param formatSpec フォーマット仕様
+     * @param dest       書き込み先
+     * @param destOffset 書き込み開始位置
+     * @return 書き込んだバイト数。値の長さが0の場合、変換できない場合は-1(書き込み先は変更しない)
+     * @throws IllegalArgumentException 値の範囲がバイト配列に収まらない場合、書き込み先の領域が不足する場合、
+     *                                  または変換後の値にASCII以外の文字が含まれる場合
+     */
+    public int convertTo(byte[] bytes, int offset, int length, FormatSpec formatSpec, byte[] dest, int destOffset) {
+        long date = parseOrInvalid(new AsciiByteSequence(bytes, offset, length), formatSpec);
+        return date == DateParser.INVALID ? DateParser.INVALID : outputWriter.write(date, dest, destOffset) - destOffset;
+    }
+
+    /**
+     * 指定されたフォーマット仕様でByteBufferの範囲を変換し、変換後の値をByteBufferにASCIIで書き込む。
+     * <p/>
+     * 値の範囲と書き込み位置はByteBufferの先頭(インデックス0)からの位置で指定し、limitを超えてはならない。
+     * いずれのByteBufferもpositionとlimitは変更しない。
+     * 値の解析仕様は{@link #convertTo(byte[], int, int, FormatSpec, byte[], int)}メソッドと同じである。
+     *
+     * @param buffer     値を含むByteBuffer
+     * @param offset     値の開始位置
+     * @param length     値の長さ
+     * @param formatSpec フォーマット仕様
+     * @param dest       書き込み先
+     * @param destOffset 書き込み開始位置
+     * @return 書き込んだバイト数。値の長さが0の場合、変換できない場合は-1(書き込み先は変更しない)
+     * @throws IllegalArgumentException 値の範囲がByteBufferのlimitを超える場合、書き込み先の領域が不足する場合、
+     *                                  または変換後の値にASCII以外の文字が含まれる場合
+     */
+    public int convertTo(ByteBuffer buffer, int offset, int length, FormatSpec formatSpec,
+            ByteBuffer dest, int destOffset) {
+        long date = parseOrInvalid(new AsciiByteSequence(buffer, offset, length), formatSpec);
+        return date == DateParser.INVALID ? DateParser.INVALID : outputWriter.write(date, dest, destOffset) - destOffset;
+    }
+
+    /**
+     * 指定されたフォーマット仕様で文字の並びを解析する。
+     *
+     * @param value      値
+     * @param formatSpec フォーマット仕様
+     * @return 年月日と時分秒を表すlong値。値がnullまたは空の場合、解析できない場合は{@link DateParser#INVALID}
+     */
+    private long parseOrInvalid(CharSequence value, FormatSpec formatSpec) {
+        if (value == null || value.length() == 0) {
+            return DateParser.INVALID;
+        }
+        return parse(getCompiledFormat(formatSpec), value);
+    }
+
+    /**
+     * 年月日と時分秒を変換後の値のパターンの文字列に変換する。
+     *
+     * <p/>
+     * 変換後の値を共有する表を使用する場合は、表に保持している値を返す。
+     *
+     * @param date 年月日と時分秒を表すlong値
+     * @return 変換後の値
+     * @see #setOutputPattern(String)
+     * @see #setInternTableSize(int)
+     */
+    private String format(long date) {
+        DateStringInternTable table = internTable;
+        if (table == null) {
+            return outputWriter.format(date);
+        }
+        String value = table.get(date);
+        return value != null ? value : table.put(date, outputWriter.format(date));
     }
 
     /** {@inheritDoc} */
@@ -125,6 +835,10 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
      * メッセージIDは、{@link YYYYMMDD}アノテーションのmessageId属性の値を使用する。
      * {@link YYYYMMDD}アノテーションにメッセージIDが指定されていない場合は、
      * 本クラスのparseFailedMessageIdプロパティの値をメッセージIDに使用する。
+     * <p/>
+     * アノテーションに範囲(min、max属性)が指定されている場合は、解析済みの年月日が範囲内か否かも判定する。
+     * 範囲外の場合は、アノテーションのrangeMessageId属性、本クラスのoutOfRangeMessageIdプロパティ、
+     * 変換失敗時のメッセージIDの順に、指定されているメッセージIDを使用する。
      */
     public <T> boolean isConvertible(ValidationContext<T> context, String propertyName,
                                      Object propertyDisplayName, Object value, Annotation format) {
@@ -135,25 +849,73 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
             return true;
         }
 
-        AnnotationData data = getAnnotationDataFrom(format);
+        AnnotationData data = getCachedAnnotationData(format);
         if (data == null) {
             throw new IllegalArgumentException(
                     "Must specify @" + getTargetAnnotation().getSimpleName() + " annotation. property=" + propertyName);
         }
-        if (!isConvertible(stringValue, getFormatSpec(context, propertyName, data.allowFormat))) {
+        FormatSpec formatSpec = getFormatSpec(context, propertyName, data.allowFormat);
+        boolean useAllowFormats = isAllowFormatSpec(data, formatSpec);
+        boolean convertible = useAllowFormats
+                ? isConvertible(stringValue, getCompiledFormat(data))
+                : isConvertible(stringValue, formatSpec);
+        String messageId = StringUtil.hasValue(data.messageId) ? data.messageId : parseFailedMessageId;
+        if (!convertible) {
             // 指定されたフォーマットで変換不可
             // かつ日付文字列の区切り文字を取り除いたフォーマットで変換不可な場合
-            String messageId = data.messageId;
-            ValidationResultMessageUtil.addResultMessage(
-                    context, propertyName,
-                    StringUtil.hasValue(messageId) ? messageId : parseFailedMessageId,
-                    propertyDisplayName);
+            ValidationResultMessageUtil.addResultMessage(context, propertyName, messageId, propertyDisplayName);
             return false;
         }
 
+        if (data.range != null) {
+            // 変換可否の判定で保持した解析結果を使用し、再度の解析は行わない
+            CompiledDateFormat compiled = useAllowFormats ? getCompiledFormat(data) : getCompiledFormat(formatSpec);
+            if (!data.range.contains(PackedDateTime.date(parseOrThrow(stringValue, compiled)))) {
+                if (StringUtil.hasValue(data.rangeMessageId)) {
+                    messageId = data.rangeMessageId;
+                } else if (StringUtil.hasValue(outOfRangeMessageId)) {
+                    messageId = outOfRangeMessageId;
+                }
+                ValidationResultMessageUtil.addResultMessage(context, propertyName, messageId, propertyDisplayName,
+                        formatBound(data.range.min()), formatBound(data.range.max()));
+                return false;
+            }
+        }
+        // 続く変換でフォーマット仕様を再度取得しないよう、取得したフォーマット仕様を保持する
+        LastParsedDate.setFormatSpec(context, propertyName, stringValue, formatSpec);
         return true;
     }
 
+    /**
+     * 許容する複数のフォーマット(allowFormats属性)で値を解析するか否かを判定する。
+     * <p/>
+     * allowFormats属性が指定されていて、フォーマット仕様のパターンがallowFormat属性と一致する場合
+     * (リクエストパラメータでフォーマット仕様が指定されていない場合)に、許容する複数のフォーマットで解析する。
+     *
+     * @param data       アノテーションから取得したデータ
+     * @param formatSpec {@link #getFormatSpec(ValidationContext, String, String)}で取得したフォーマット仕様
+     * @return 許容する複数のフォーマットで解析する場合はtrue
+     */
+    private static boolean isAllowFormatSpec(AnnotationData data, FormatSpec formatSpec) {
+        if (data.allowFormatsKey == null) {
+            return false;
+        }
+        String pattern = formatSpec.getPattern();
+        return StringUtil.isNullOrEmpty(data.allowFormat)
+                ? StringUtil.isNullOrEmpty(pattern)
+                : data.allowFormat.equals(pattern);
+    }
+
+    /**
+     * 範囲の下限または上限を変換後の値のパターンの文字列に変換する。
+     *
+     * @param bound 下限または上限の年月日。指定がない場合は{@link DateParser#INVALID}
+     * @return 変換後の値。指定がない場合は空文字
+     */
+    private String formatBound(int bound) {
+        return bound == DateParser.INVALID ? "" : format(bound);
+    }
+
     /**
      * 指定されたフォーマット仕様で値が変換可能か否かを判定する。
      * <pre>
@@ -162,27 +924,203 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
      * {@link #getNumbersOnlyFormat(String)}メソッドを使用し、
      * 日付文字列の区切り文字を取り除いたフォーマットで変換可能か否かを判定する。
      * </pre>
+     * 変換可能な場合は解析結果をスレッド毎に保持し、続く{@link #convert(String, FormatSpec)}メソッドで再利用する。
      *
      * @param value  値
      * @param formatSpec フォーマット仕様
      * @return 変換可能な場合はtrue
      */
     protected boolean isConvertible(String value, FormatSpec formatSpec) {
+        return isConvertible(value, getCompiledFormat(formatSpec));
+    }
 
+    /**
+     * 解析準備済みフォーマットで値が変換可能か否かを判定する。
+     * <p/>
+     * 変換可能な場合は解析結果をスレッド毎に保持する。
+     *
+     * @param value    値
+     * @param compiled 解析準備済みフォーマット
+     * @return 変換可能な場合はtrue
+     */
+    private boolean isConvertible(String value, CompiledDateFormat compiled) {
+        long date = parseCached(compiled, value);
+        if (date == DateParser.INVALID) {
+            return false;
+        }
+        LastParsedDate.set(compiled, value, date);
+        return true;
+    }
+
+    /**
+     * 解析準備済みフォーマットで値を解析する。
+     * <p/>
+     * 解析結果の集計先が設定されている場合は、解析結果と処理時間を集計する。
+     *
+     * @param compiled 解析準備済みフォーマット
+     * @param value    値
+     * @return 年月日と時分秒を表すlong値。解析できない場合は{@link DateParser#INVALID}
+     */
+    private long parse(CompiledDateFormat compiled, CharSequence value) {
+        DateConversionMetrics metrics = conversionMetrics;
+        return metrics == null ? compiled.parse(value) : compiled.parse(value, metrics);
+    }
+
+    /**
+     * 入力値の変換結果のキャッシュを使用して、解析準備済みフォーマットで値を解析する。
+     * <p/>
+     * キャッシュしない場合は、{@link #parse(CompiledDateFormat, CharSequence)}メソッドに処理を委譲する。
+     *
+     * @param compiled 解析準備済みフォーマット
+     * @param value    値
+     * @return 年月日と時分秒を表すlong値。解析できない場合は{@link DateParser#INVALID}
+     */
+    private long parseCached(CompiledDateFormat compiled, String value) {
+        ConversionResultCache cache = resultCache;
+        return cache == null ? parse(compiled, value) : lookup(cache, compiled, value).getDate();
+    }
+
+    /**
+     * 入力値の変換結果のキャッシュから、解析準備済みフォーマットと値に対応するデータを取得する。
+     * <p/>
+     * キャッシュしていない場合は、値を解析して解析結果をキャッシュする。
+     *
+     * @param cache    入力値の変換結果のキャッシュ
+     * @param compiled 解析準備済みフォーマット
+     * @param value    値
+     * @return データ
+     */
+    private ConversionResultCache.Entry lookup(ConversionResultCache cache, CompiledDateFormat compiled, String value) {
+        ConversionResultCache.Entry entry = cache.get(compiled, value);
+        return entry != null ? entry : cache.put(compiled, value, parse(compiled, value));
+    }
+
+    /**
+     * キャッシュしたデータの変換後の値を取得する。
+     * <p/>
+     * 変換後の値を生成していない場合は、生成してキャッシュする。
+     *
+     * @param entry 入力値の変換結果のキャッシュのデータ(解析できた値のデータ)
+     * @return 変換後の値
+     */
+    private String outputOf(ConversionResultCache.Entry entry) {
+        String output = entry.getOutput();
+        if (output == null) {
+            output = format(entry.getDate());
+            entry.setOutput(output);
+        }
+        return output;
+    }
+
+    /**
+     * フォーマット仕様に対応する解析準備済みフォーマットを取得する。
+     * <p/>
+     * 解析準備済みフォーマットはフォーマットとロケールの組み合わせ毎にキャッシュする。
+     * フォーマット仕様にロケールが指定されていない場合は、デフォルトロケールを使用する。
+     * フォーマット仕様に指定された言語からのロケールの生成は、言語毎に1度だけ行う。
+     *
+     * @param formatSpec フォーマット仕様
+     * @return 解析準備済みフォーマット
+     */
+    CompiledDateFormat getCompiledFormat(FormatSpec formatSpec) {
         String format = formatSpec.getFormatOfPattern();
         String language = formatSpec.getAdditionalInfoOfPattern();
-        Locale locale = StringUtil.hasValue(language) ? I18NUtil.createLocale(language) : null;
+        Locale locale = StringUtil.hasValue(language) ? LocaleCache.getLocale(language) : Locale.getDefault();
 
-        if (locale == null
-                ? DateUtil.isValid(value, format)
-                : DateUtil.isValid(value, format, locale)) {
-            return true;
+        CompiledDateFormat compiled = formatCache.get(format, locale);
+        if (compiled == null) {
+            compiled = formatCache.put(format, locale, compile(format, locale));
+        }
+        return compiled;
+    }
+
+    /**
+     * 許容する複数のフォーマットに対応する解析準備済みフォーマットを取得する。
+     * <p/>
+     * デフォルトロケールを使用する。解析準備済みフォーマットはフォーマットの組み合わせ毎にキャッシュする。
+     *
+     * @param data アノテーションから取得したデータ
+     * @return 解析準備済みフォーマット
+     */
+    private CompiledDateFormat getCompiledFormat(AnnotationData data) {
+        Locale locale = Locale.getDefault();
+        CompiledDateFormat compiled = formatCache.get(data.allowFormatsKey, locale);
+        if (compiled == null) {
+            compiled = formatCache.put(data.allowFormatsKey, locale, compile(data.allowFormatList, locale));
+        }
+        return compiled;
+    }
+
+    /**
+     * フォーマットとロケールから解析準備済みフォーマットを生成する。
+     *
+     * @param format フォーマット
+     * @param locale ロケール
+     * @return 解析準備済みフォーマット
+     */
+    private CompiledDateFormat compile(String format, Locale locale) {
+        return compile(new String[] {format}, locale);
+    }
+
+    /**
+     * 許容する複数のフォーマットとロケールから解析準備済みフォーマットを生成する。
+     * <p/>
+     * 許容するフォーマットを指定順に、続けて区切り文字を取り除いたフォーマットを優先順とする。
+     * 区切り文字を取り除いたフォーマットは{@link #getNumbersOnlyFormat(String)}メソッドで取得し、重複は除く。
+     * グレゴリオ暦かつアラビア数字を使用するロケールの場合は、各フォーマットの形状({@link DateShape})を求め、
+     * 値の区切り文字の並びで解析に使用するフォーマットを振り分ける。
+     *
+     * @param formats 許容するフォーマット
+     * @param locale  ロケール
+     * @return 解析準備済みフォーマット
+     */
+    private CompiledDateFormat compile(String[] formats, Locale locale) {
+        Map<String, Boolean> patterns = new LinkedHashMap<String, Boolean>();
+        for (String format : formats) {
+            if (StringUtil.isNullOrEmpty(format)) {
+                throw new IllegalArgumentException("format mustn't be null or empty. format=" + format);
+            }
+            patterns.put(format, Boolean.FALSE);
+        }
+        for (String format : formats) {
+            String numbersOnlyFormat = getNumbersOnlyFormat(format);
+            if (numbersOnlyFormat != null && !patterns.containsKey(numbersOnlyFormat)) {
+                patterns.put(numbersOnlyFormat, Boolean.TRUE);
+            }
         }
-        String numbersOnlyFormat = getNumbersOnlyFormat(format);
-        return numbersOnlyFormat != null
-                && (locale == null
-                        ? DateUtil.isValid(value, numbersOnlyFormat)
-                        : DateUtil.isValid(value, numbersOnlyFormat, locale));
+
+        boolean gregorian = NumericDatePattern.isSupported(locale);
+        boolean numericSupported = ENGINE_COMPILED.equals(parserEngine) && gregorian;
+        DateParser[] parsers = new DateParser[patterns.size()];
+        DateShape[] shapes = new DateShape[patterns.size()];
+        boolean[] numbersOnly = new boolean[patterns.size()];
+        int i = 0;
+        for (Map.Entry<String, Boolean> pattern : patterns.entrySet()) {
+            parsers[i] = createParser(pattern.getKey(), locale, numericSupported);
+            shapes[i] = gregorian ? DateShape.compile(pattern.getKey()) : null;
+            numbersOnly[i] = pattern.getValue();
+            i++;
+        }
+        String key = formats.length == 1 ? formats[0] : Arrays.toString(formats);
+        return new CompiledDateFormat(key + '|' + locale, parsers, shapes, numbersOnly);
+    }
+
+    /**
+     * フォーマットを解析するパーサを生成する。
+     * <p/>
+     * 数値のみで構成されるフォーマットの場合は{@link NumericDateParser}を、
+     * それ以外の場合は{@link SimpleDateFormatParser}を生成する。
+     * 独自の構文のフォーマットを解析するサブクラスは、本メソッドをオーバーライドする。
+     *
+     * @param format           フォーマット
+     * @param locale           ロケール
+     * @param numericSupported ロケールが{@link NumericDatePattern}に対応しているか否か
+     * @return パーサ
+     */
+    DateParser createParser(String format, Locale locale, boolean numericSupported) {
+        SimpleDateFormatParser parser = new SimpleDateFormatParser(format, locale);
+        NumericDatePattern pattern = numericSupported ? NumericDatePattern.compile(format) : null;
+        return pattern == null ? parser : new NumericDateParser(pattern, parser);
     }
 
     /**
@@ -193,6 +1131,11 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
      * <p/>
      * プロパティに対する有効なフォーマット仕様が存在しない場合は、
      * allowFormatから生成したフォーマット仕様を返す。
+     * allowFormatから生成したフォーマット仕様はallowFormat毎にキャッシュする。
+     * <p/>
+     * バリデーションでは、変換可否の判定({@link #isConvertible(ValidationContext, String, Object, Object, Annotation)})
+     * 毎に1度呼び出され、続く変換({@link #convert(ValidationContext, String, Object, Annotation)})では
+     * 判定時の結果を使用する。
      *
      * @param <T>          バリデーション結果で取得できる型
      * @param context      ValidationContext
@@ -202,9 +1145,104 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
      */
     protected <T> FormatSpec getFormatSpec(ValidationContext<T> context, String propertyName, String allowFormat) {
         FormatSpec formatSpec = ConversionUtil.getFormatSpec(context, propertyName);
-        return formatSpec == null || !dataType.equals(formatSpec.getDataType())
-                ? FormatSpec.valueOf(String.format("%s{%s}", dataType, allowFormat), "|")
-                : formatSpec;
+        return formatSpec != null && dataType.equals(formatSpec.getDataType())
+                ? formatSpec
+                : getDefaultFormatSpec(allowFormat);
+    }
+
+    /**
+     * allowFormatから生成したフォーマット仕様を取得する。
+     * <p/>
+     * キャッシュの保持件数を超えたallowFormatのフォーマット仕様は、キャッシュせずに都度生成する。
+     *
+     * @param allowFormat フォーマット
+     * @return フォーマット仕様
+     */
+    FormatSpec getDefaultFormatSpec(String allowFormat) {
+        FormatSpec formatSpec = formatSpecCache.get(allowFormat);
+        if (formatSpec == null) {
+            formatSpec = FormatSpec.valueOf(String.format("%s{%s}", dataType, allowFormat), "|");
+            if (formatSpecCache.size() < FORMAT_SPEC_CACHE_SIZE) {
+                formatSpecCache.putIfAbsent(allowFormat, formatSpec);
+            }
+        }
+        return formatSpec;
+    }
+
+    /**
+     * アノテーションから取得したデータを取得する。
+     * <p/>
+     * アノテーションのインスタンス毎に、{@link #getAnnotationDataFrom(Annotation)}メソッドの結果をキャッシュする。
+     *
+     * @param annotation アノテーション
+     * @return アノテーションに設定された値。対象のアノテーションでない場合はnull
+     */
+    private AnnotationData getCachedAnnotationData(Annotation annotation) {
+        AnnotationData data = annotationDataCache.get(annotation);
+        if (data == null) {
+            data = getAnnotationDataFrom(annotation);
+            if (data != null) {
+                prepareAllowFormats(data);
+                data.range = DateRange.of(data.min, data.max,
+                        NumericDatePattern.compile(datePattern), intValueDivisor != 1);
+                annotationDataCache.put(annotation, data);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * アノテーションに指定されたフォーマットの解析準備を行い、キャッシュに格納する。
+     * <p/>
+     * アノテーションから取得したデータと、許容するフォーマット(区切り文字を取り除いたフォーマットを含む)の
+     * 解析準備済みフォーマットを、デフォルトロケールと指定された言語のロケールでキャッシュする。
+     * 複数のフォーマットが指定されている場合は、デフォルトロケールのみ対象とする。
+     * 本クラスの対象外のアノテーションや、フォーマットが指定されていないアノテーションの場合は何もしない。
+     *
+     * @param annotation アノテーション
+     * @param languages  解析準備を行う言語
+     * @return 解析準備を行ったフォーマット("フォーマット|言語"形式)
+     */
+    List<String> precompile(Annotation annotation, List<String> languages) {
+        AnnotationData data = getCachedAnnotationData(annotation);
+        List<String> compiled = new ArrayList<String>();
+        if (data == null) {
+            return compiled;
+        }
+        if (data.allowFormatsKey != null) {
+            getCompiledFormat(data);
+            compiled.add(Arrays.toString(data.allowFormatList) + '|');
+            return compiled;
+        }
+        if (StringUtil.isNullOrEmpty(data.allowFormat)) {
+            return compiled;
+        }
+        getCompiledFormat(getDefaultFormatSpec(data.allowFormat));
+        compiled.add(data.allowFormat + '|');
+        for (String language : languages) {
+            String allowFormat = data.allowFormat + '|' + language;
+            getCompiledFormat(getDefaultFormatSpec(allowFormat));
+            compiled.add(allowFormat);
+        }
+        return compiled;
+    }
+
+    /**
+     * 許容する複数のフォーマットが指定されている場合に、allowFormatと合わせたフォーマットの一覧を準備する。
+     *
+     * @param data アノテーションから取得したデータ
+     */
+    private static void prepareAllowFormats(AnnotationData data) {
+        if (data.allowFormats == null || data.allowFormats.length == 0) {
+            return;
+        }
+        List<String> formats = new ArrayList<String>();
+        if (StringUtil.hasValue(data.allowFormat)) {
+            formats.add(data.allowFormat);
+        }
+        formats.addAll(Arrays.asList(data.allowFormats));
+        data.allowFormatList = formats.toArray(new String[formats.size()]);
+        data.allowFormatsKey = StringUtil.join("\n", formats);
     }
 
     /**
@@ -232,8 +1270,22 @@ public abstract class AbstractDateStringConverter implements ExtendedStringConve
     static class AnnotationData {
         /** 入力値として許容する年月フォーマット。 */
         String allowFormat;                 // SUPPRESS CHECKSTYLE 内部のみで使用し、カプセル化が不要なため
+        /** 入力値として許容する年月フォーマット(複数指定)。 */
+        String[] allowFormats;              // SUPPRESS CHECKSTYLE 内部のみで使用し、カプセル化が不要なため
         /** 変換失敗時のメッセージID。 */
         String messageId;                   // SUPPRESS CHECKSTYLE 内部のみで使用し、カプセル化が不要なため
+        /** allowFormatとallowFormatsを合わせたフォーマット(allowFormatsの指定がない場合はnull)。 */
+        String[] allowFormatList;           // SUPPRESS CHECKSTYLE 内部のみで使用し、カプセル化が不要なため
+        /** allowFormatListのキャッシュキー(allowFormatsの指定がない場合はnull)。 */
+        String allowFormatsKey;             // SUPPRESS CHECKSTYLE 内部のみで使用し、カプセル化が不要なため
+        /** 範囲の下限。 */
+        String min;                         // SUPPRESS CHECKSTYLE 内部のみで使用し、カプセル化が不要なため
+        /** 範囲の上限。 */
+        String max;                         // SUPPRESS CHECKSTYLE 内部のみで使用し、カプセル化が不要なため
+        /** 範囲外の場合のメッセージID。 */
+        String rangeMessageId;              // SUPPRESS CHECKSTYLE 内部のみで使用し、カプセル化が不要なため
+        /** min、maxから生成した範囲(指定がない場合はnull)。 */
+        DateRange range;                    // SUPPRESS CHECKSTYLE 内部のみで使用し、カプセル化が不要なため
     }
 
 }
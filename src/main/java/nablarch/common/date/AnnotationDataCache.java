@@ -0,0 +1,97 @@
+package nablarch.common.date;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import nablarch.common.date.AbstractDateStringConverter.AnnotationData;
+
+/**
+ * アノテーションから取得したデータを、アノテーションのインスタンス毎に保持するキャッシュ。
+ * <p/>
+ * アノテーションは同一性(==)で比較する。
+ * アノテーションの{@link Annotation#hashCode()}、{@link Annotation#equals(Object)}は
+ * 属性値をリフレクションで比較するため使用しない。
+ * <p/>
+ * 保持件数は固定で、同じ格納位置に割り当てられたアノテーションは後から登録されたもので上書きされる。
+ * 参照、登録ともにロックを取得しない。
+ */
+class AnnotationDataCache {
+
+    /** 格納領域 */
+    private final AtomicReferenceArray<Entry> entries;
+
+    /** 格納位置を求めるためのマスク */
+    private final int mask;
+
+    /**
+     * コンストラクタ。
+     * <p/>
+     * 保持件数は、指定された値以上の最小の2の累乗となる。
+     *
+     * @param size 保持件数
+     */
+    AnnotationDataCache(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive. size=" + size);
+        }
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        entries = new AtomicReferenceArray<Entry>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * アノテーションに対応するデータを取得する。
+     *
+     * @param annotation アノテーション
+     * @return データ。保持していない場合はnull
+     */
+    AnnotationData get(Annotation annotation) {
+        Entry entry = entries.get(indexOf(annotation));
+        return entry != null && entry.annotation == annotation ? entry.data : null;
+    }
+
+    /**
+     * アノテーションに対応するデータを登録する。
+     *
+     * @param annotation アノテーション
+     * @param data       データ
+     */
+    void put(Annotation annotation, AnnotationData data) {
+        entries.set(indexOf(annotation), new Entry(annotation, data));
+    }
+
+    /**
+     * アノテーションの格納位置を求める。
+     *
+     * @param annotation アノテーション
+     * @return 格納位置
+     */
+    private int indexOf(Annotation annotation) {
+        int h = System.identityHashCode(annotation);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /** アノテーションとデータの組。 */
+    private static final class Entry {
+
+        /** アノテーション */
+        private final Annotation annotation;
+
+        /** データ */
+        private final AnnotationData data;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param annotation アノテーション
+         * @param data       データ
+         */
+        private Entry(Annotation annotation, AnnotationData data) {
+            this.annotation = annotation;
+            this.data = data;
+        }
+    }
+}
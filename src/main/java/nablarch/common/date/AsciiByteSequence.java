@@ -0,0 +1,133 @@
+package nablarch.common.date;
+
+import java.nio.ByteBuffer;
+
+/**
+ * バイト配列または{@link ByteBuffer}の範囲を、コピーせずに文字の並びとして参照するクラス。
+ * <p/>
+ * 各バイトを1文字として扱い、0x00～0x7Fのバイトは同じ値のASCII文字とする。
+ * 日付の数字と区切り文字(/、-、.、:、空白など)は、ASCII、Shift_JIS、MS932のいずれでも同じ1バイトで表されるため、
+ * これらのエンコーディングの値をデコードせずに解析できる。
+ * 0x80以上のバイト(Shift_JISの全角文字の1バイト目や半角カナなど)は{@link #NON_ASCII}とし、数字とも区切り文字とも一致しない。
+ * Shift_JISの全角文字の2バイト目はASCIIの英字や記号と同じ値となる場合があるが、
+ * 数字や日付の区切り文字と同じ値にはならず、1バイト目で解析に失敗するため、解析結果には影響しない。
+ * <p/>
+ * 参照先の範囲は生成時にのみ検証する。参照先の内容を変更した場合、本クラスから参照する内容も変わる。
+ */
+final class AsciiByteSequence implements CharSequence {
+
+    /** ASCII以外のバイトを表す文字 */
+    static final char NON_ASCII = '\uFFFF';
+
+    /** 参照先のバイト配列(ByteBufferを参照する場合はnull) */
+    private final byte[] bytes;
+
+    /** 参照先のByteBuffer(バイト配列を参照する場合はnull) */
+    private final ByteBuffer buffer;
+
+    /** 参照範囲の開始位置 */
+    private final int offset;
+
+    /** 参照範囲の長さ */
+    private final int length;
+
+    /**
+     * バイト配列の範囲を参照するインスタンスを生成する。
+     *
+     * @param bytes  バイト配列
+     * @param offset 開始位置
+     * @param length 長さ
+     * @throws IllegalArgumentException 範囲がバイト配列に収まらない場合
+     */
+    AsciiByteSequence(byte[] bytes, int offset, int length) {
+        this(bytes, null, offset, length, bytes.length);
+    }
+
+    /**
+     * ByteBufferの範囲を参照するインスタンスを生成する。
+     * <p/>
+     * 範囲はByteBufferの先頭(インデックス0)からの位置で指定し、limitを超えてはならない。
+     * ByteBufferのpositionとlimitは変更しない。
+     *
+     * @param buffer ByteBuffer
+     * @param offset 開始位置
+     * @param length 長さ
+     * @throws IllegalArgumentException 範囲がByteBufferのlimitを超える場合
+     */
+    AsciiByteSequence(ByteBuffer buffer, int offset, int length) {
+        this(null, buffer, offset, length, buffer.limit());
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param bytes    参照先のバイト配列
+     * @param buffer   参照先のByteBuffer
+     * @param offset   開始位置
+     * @param length   長さ
+     * @param capacity 参照先の容量
+     * @throws IllegalArgumentException 範囲が参照先の容量に収まらない場合
+     */
+    private AsciiByteSequence(byte[] bytes, ByteBuffer buffer, int offset, int length, int capacity) {
+        checkRange(offset, length, capacity);
+        this.bytes = bytes;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * 範囲が容量に収まることを検証する。
+     *
+     * @param offset   開始位置
+     * @param length   長さ
+     * @param capacity 容量
+     * @throws IllegalArgumentException 範囲が容量に収まらない場合
+     */
+    private static void checkRange(int offset, int length, int capacity) {
+        if (offset < 0 || length < 0 || offset > capacity - length) {
+            throw new IllegalArgumentException(
+                    "range is out of bounds. offset=" + offset + ", length=" + length + ", capacity=" + capacity);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 0x80以上のバイトは{@link #NON_ASCII}を返す。
+     */
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index=" + index + ", length=" + length);
+        }
+        byte b = bytes != null ? bytes[offset + index] : buffer.get(offset + index);
+        return b >= 0 ? (char) b : NON_ASCII;
+    }
+
+    /** {@inheritDoc} */
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start=" + start + ", end=" + end + ", length=" + length);
+        }
+        return new AsciiByteSequence(bytes, buffer, offset + start, end - start, offset + length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 参照範囲の各バイトを{@link #charAt(int)}と同じ規則で文字に変換した文字列を返す。
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+}
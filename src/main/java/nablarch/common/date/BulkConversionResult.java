@@ -0,0 +1,98 @@
+package nablarch.common.date;
+
+import java.util.BitSet;
+
+/**
+ * 複数の値をまとめて変換した結果を保持するクラス。
+ * <p/>
+ * 変換後の値と、変換できなかった値のインデックスを保持する。
+ *
+ * @see AbstractDateStringConverter#convertAll(String[], nablarch.core.util.FormatSpec)
+ * @author agent
+ */
+public class BulkConversionResult {
+
+    /** 変換後の値 */
+    private final String[] values;
+
+    /** 変換できなかった値のインデックス */
+    private final BitSet failures;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param values   変換後の値
+     * @param failures 変換できなかった値のインデックス
+     */
+    BulkConversionResult(String[] values, BitSet failures) {
+        this.values = values;
+        this.failures = failures;
+    }
+
+    /**
+     * 変換後の値を取得する。
+     * <p/>
+     * 入力値と同じ順序で格納される。変換できなかった値のインデックスにはnullが格納される。
+     *
+     * @return 変換後の値
+     */
+    public String[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * 指定されたインデックスの変換後の値を取得する。
+     *
+     * @param index インデックス
+     * @return 変換後の値。変換できなかった場合はnull
+     */
+    public String getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * 入力値の件数を取得する。
+     *
+     * @return 入力値の件数
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * 指定されたインデックスの値が変換できなかったか否かを判定する。
+     *
+     * @param index インデックス
+     * @return 変換できなかった場合はtrue
+     */
+    public boolean isFailed(int index) {
+        return failures.get(index);
+    }
+
+    /**
+     * 変換できなかった値のインデックスを取得する。
+     *
+     * @return 変換できなかった値のインデックス
+     */
+    public BitSet getFailedIndexes() {
+        return (BitSet) failures.clone();
+    }
+
+    /**
+     * 変換できなかった値の件数を取得する。
+     *
+     * @return 変換できなかった値の件数
+     */
+    public int getFailureCount() {
+        return failures.cardinality();
+    }
+
+    /**
+     * 変換できなかった値が存在するか否かを判定する。
+     *
+     * @return 変換できなかった値が存在する場合はtrue
+     */
+    public boolean hasFailure() {
+        return !failures.isEmpty();
+    }
+}
@@ -0,0 +1,268 @@
+package nablarch.common.date;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 解析準備が完了した日付フォーマットを表すクラス。
+ * <p/>
+ * 入力値として許容するフォーマットと、そのフォーマットから区切り文字を取り除いたフォーマットの
+ * {@link DateParser}を優先順に保持する。許容するフォーマットは複数指定できる。
+ * <p/>
+ * 形状({@link DateShape})が求められるフォーマットは、値に含まれる区切り文字の並びで振り分ける。
+ * 値を1回走査して求めた識別値で振り分け表を引き、区切り文字の並びと長さが一致し得るフォーマットのパーサのみを使用する。
+ * そのため、フォーマットの数が増えても解析を試みるパーサの数は増えない。
+ * 形状が求められないフォーマットは、全ての値について解析を試みる。
+ */
+class CompiledDateFormat {
+
+    /** 振り分け対象がない場合の空配列 */
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    /** 解析結果にパーサのインデックスを格納する位置(解析結果は50ビット未満) */
+    private static final int INDEX_SHIFT = 50;
+
+    /** 解析結果とパーサのインデックスを格納した値から解析結果を取り出すためのマスク */
+    private static final long RESULT_MASK = (1L << INDEX_SHIFT) - 1;
+
+    /** 集計結果のキー("フォーマット|ロケール"形式) */
+    private final String key;
+
+    /** パーサ(優先順) */
+    private final DateParser[] parsers;
+
+    /** パーサに対応するフォーマットの形状(検査しない場合はnull) */
+    private final DateShape[] shapes;
+
+    /** パーサが区切り文字を取り除いたフォーマットのものか否か */
+    private final boolean[] numbersOnly;
+
+    /** 振り分け表の識別値(オープンアドレス法のハッシュ表) */
+    private final int[] tableSignatures;
+
+    /** 振り分け表の識別値に対応するパーサのインデックス(優先順。空きスロットはnull) */
+    private final int[][] tableCandidates;
+
+    /** 振り分け表のインデックスを求めるためのマスク */
+    private final int tableMask;
+
+    /** 振り分け表に識別値がない場合に使用するパーサのインデックス(形状を検査しないパーサ) */
+    private final int[] defaultCandidates;
+
+    /** 直近に使用した集計先 */
+    private volatile StatisticsHolder statisticsHolder;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param key               集計結果のキー("フォーマット|ロケール"形式)
+     * @param parser            指定されたフォーマットのパーサ
+     * @param numbersOnlyParser 区切り文字を取り除いたフォーマットのパーサ(存在しない場合はnull)
+     */
+    CompiledDateFormat(String key, DateParser parser, DateParser numbersOnlyParser) {
+        this(key, numbersOnlyParser == null ? new DateParser[] {parser} : new DateParser[] {parser, numbersOnlyParser},
+                new DateShape[numbersOnlyParser == null ? 1 : 2],
+                numbersOnlyParser == null ? new boolean[] {false} : new boolean[] {false, true});
+    }
+
+    /**
+     * コンストラクタ。
+     *
+     * @param key         集計結果のキー("フォーマット|ロケール"形式)
+     * @param parsers     パーサ(優先順)
+     * @param shapes      パーサに対応するフォーマットの形状(検査しない場合はnull)
+     * @param numbersOnly パーサが区切り文字を取り除いたフォーマットのものか否か
+     */
+    CompiledDateFormat(String key, DateParser[] parsers, DateShape[] shapes, boolean[] numbersOnly) {
+        this.key = key;
+        this.parsers = parsers;
+        this.shapes = shapes;
+        this.numbersOnly = numbersOnly;
+
+        List<Integer> unscreened = new ArrayList<Integer>();
+        int[] signatures = new int[parsers.length];
+        int signatureCount = 0;
+        for (int i = 0; i < parsers.length; i++) {
+            if (shapes[i] == null) {
+                unscreened.add(i);
+            } else if (indexOf(signatures, signatureCount, shapes[i].signature()) < 0) {
+                signatures[signatureCount++] = shapes[i].signature();
+            }
+        }
+        int tableSize = Integer.highestOneBit(Math.max(1, signatureCount) * 2);
+        this.tableSignatures = new int[tableSize];
+        this.tableCandidates = new int[tableSize][];
+        this.tableMask = tableSize - 1;
+        for (int s = 0; s < signatureCount; s++) {
+            List<Integer> candidates = new ArrayList<Integer>();
+            for (int i = 0; i < parsers.length; i++) {
+                if (shapes[i] == null || shapes[i].signature() == signatures[s]) {
+                    candidates.add(i);
+                }
+            }
+            int slot = slotOf(signatures[s]);
+            while (tableCandidates[slot] != null) {
+                slot = (slot + 1) & tableMask;
+            }
+            tableSignatures[slot] = signatures[s];
+            tableCandidates[slot] = toArray(candidates);
+        }
+        this.defaultCandidates = unscreened.isEmpty() ? NO_CANDIDATES : toArray(unscreened);
+    }
+
+    /**
+     * 日付文字列を解析する。
+     * <p/>
+     * 区切り文字の並びで振り分けたパーサで優先順に解析し、最初に解析できた結果を返す。
+     *
+     * @param value 日付文字列
+     * @return 年月日と時分秒を表すlong値({@link PackedDateTime})。
+     *         いずれのフォーマットでも解析できない場合は{@link DateParser#INVALID}
+     */
+    long parse(CharSequence value) {
+        long result = parseWithIndex(value);
+        return result < 0 ? DateParser.INVALID : result & RESULT_MASK;
+    }
+
+    /**
+     * 日付文字列を解析し、解析結果と処理時間を集計する。
+     * <p/>
+     * 解析仕様は{@link #parse(CharSequence)}と同じである。
+     *
+     * @param value   日付文字列
+     * @param metrics 集計先
+     * @return 年月日と時分秒を表すlong値({@link PackedDateTime})。
+     *         いずれのフォーマットでも解析できない場合は{@link DateParser#INVALID}
+     */
+    long parse(CharSequence value, DateConversionMetrics metrics) {
+        long start = System.nanoTime();
+        long result = parseWithIndex(value);
+        int outcome;
+        if (result < 0) {
+            outcome = DateConversionStatistics.FAILURE;
+        } else {
+            outcome = numbersOnly[(int) (result >>> INDEX_SHIFT)]
+                    ? DateConversionStatistics.FALLBACK : DateConversionStatistics.SUCCESS;
+        }
+        long elapsed = System.nanoTime() - start;
+        metrics.record(statisticsOf(metrics), outcome, elapsed);
+        return result < 0 ? DateParser.INVALID : result & RESULT_MASK;
+    }
+
+    /**
+     * 日付文字列を解析し、解析結果と解析できたパーサのインデックスを返す。
+     *
+     * @param value 日付文字列
+     * @return 上位ビットにパーサのインデックス、下位{@link #INDEX_SHIFT}ビットに解析結果を格納した値。
+     *         いずれのフォーマットでも解析できない場合は-1
+     */
+    private long parseWithIndex(CharSequence value) {
+        int[] candidates = candidatesOf(value);
+        for (int index : candidates) {
+            DateShape shape = shapes[index];
+            if (shape != null && !shape.acceptsLength(value.length())) {
+                continue;
+            }
+            long date = parsers[index].parse(value);
+            if (date != DateParser.INVALID) {
+                return ((long) index << INDEX_SHIFT) | date;
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * 日付文字列の解析に使用するパーサのインデックスを取得する。
+     *
+     * @param value 日付文字列
+     * @return パーサのインデックス(優先順)
+     */
+    private int[] candidatesOf(CharSequence value) {
+        int signature = DateShape.signatureOf(value);
+        for (int slot = slotOf(signature); tableCandidates[slot] != null; slot = (slot + 1) & tableMask) {
+            if (tableSignatures[slot] == signature) {
+                return tableCandidates[slot];
+            }
+        }
+        return defaultCandidates;
+    }
+
+    /**
+     * 識別値に対応する振り分け表の初期スロットを求める。
+     *
+     * @param signature 識別値
+     * @return スロット
+     */
+    private int slotOf(int signature) {
+        return (signature ^ (signature >>> 16)) & tableMask;
+    }
+
+    /**
+     * 配列の先頭から指定件数の範囲で値を検索する。
+     *
+     * @param values 配列
+     * @param length 検索する件数
+     * @param value  値
+     * @return 値のインデックス。存在しない場合は-1
+     */
+    private static int indexOf(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * リストをint配列に変換する。
+     *
+     * @param list リスト
+     * @return int配列
+     */
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * 集計先から本フォーマットの集計結果を取得する。
+     * <p/>
+     * 直近に使用した集計先と同じ場合は、保持している集計結果を返す。
+     *
+     * @param metrics 集計先
+     * @return 本フォーマットの集計結果
+     */
+    private DateConversionStatistics statisticsOf(DateConversionMetrics metrics) {
+        StatisticsHolder holder = statisticsHolder;
+        if (holder == null || holder.metrics != metrics) {
+            holder = new StatisticsHolder(metrics, metrics.statisticsOf(key));
+            statisticsHolder = holder;
+        }
+        return holder.statistics;
+    }
+
+    /** 集計先と本フォーマットの集計結果の組。 */
+    private static final class StatisticsHolder {
+
+        /** 集計先 */
+        private final DateConversionMetrics metrics;
+
+        /** 本フォーマットの集計結果 */
+        private final DateConversionStatistics statistics;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param metrics    集計先
+         * @param statistics 本フォーマットの集計結果
+         */
+        private StatisticsHolder(DateConversionMetrics metrics, DateConversionStatistics statistics) {
+            this.metrics = metrics;
+            this.statistics = statistics;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package nablarch.common.date;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link CompiledDateFormat}をフォーマットとロケールの組み合わせ毎に保持するキャッシュ。
+ * <p/>
+ * 参照はロックを取得せずに行う。
+ * ヒット件数とミス件数は{@link StripedCounter}で集計し、参照の都度同じキャッシュラインを更新しないようにする。
+ * 保持件数が上限に達した場合、以降のフォーマットはキャッシュせずに呼び出し元で都度生成される。
+ */
+class CompiledDateFormatCache {
+
+    /** 保持件数の上限 */
+    private final int maxSize;
+
+    /** ロケール毎のキャッシュ */
+    private final ConcurrentMap<Locale, ConcurrentMap<String, CompiledDateFormat>> cache
+            = new ConcurrentHashMap<Locale, ConcurrentMap<String, CompiledDateFormat>>();
+
+    /** 保持件数 */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** ヒット件数 */
+    private final StripedCounter hitCount = new StripedCounter();
+
+    /** ミス件数 */
+    private final StripedCounter missCount = new StripedCounter();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param maxSize 保持件数の上限
+     */
+    CompiledDateFormatCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative. maxSize=" + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * キャッシュからフォーマットを取得する。
+     *
+     * @param format フォーマット
+     * @param locale ロケール
+     * @return キャッシュされたフォーマット。存在しない場合はnull
+     */
+    CompiledDateFormat get(String format, Locale locale) {
+        ConcurrentMap<String, CompiledDateFormat> formats = cache.get(locale);
+        CompiledDateFormat compiled = formats == null ? null : formats.get(format);
+        if (compiled == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return compiled;
+    }
+
+    /**
+     * フォーマットをキャッシュに登録する。
+     * <p/>
+     * 既に他のスレッドにより登録されている場合は、登録済みのフォーマットを返す。
+     * 保持件数が上限に達している場合は登録せずに、引数のフォーマットをそのまま返す。
+     *
+     * @param format   フォーマット
+     * @param locale   ロケール
+     * @param compiled 登録するフォーマット
+     * @return キャッシュされたフォーマット
+     */
+    CompiledDateFormat put(String format, Locale locale, CompiledDateFormat compiled) {
+        ConcurrentMap<String, CompiledDateFormat> formats = cache.get(locale);
+        if (formats == null) {
+            formats = new ConcurrentHashMap<String, CompiledDateFormat>();
+            ConcurrentMap<String, CompiledDateFormat> current = cache.putIfAbsent(locale, formats);
+            if (current != null) {
+                formats = current;
+            }
+        }
+        if (size.incrementAndGet() > maxSize) {
+            size.decrementAndGet();
+            return compiled;
+        }
+        CompiledDateFormat current = formats.putIfAbsent(format, compiled);
+        if (current != null) {
+            size.decrementAndGet();
+            return current;
+        }
+        return compiled;
+    }
+
+    /**
+     * 保持件数を取得する。
+     *
+     * @return 保持件数
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * ヒット件数を取得する。
+     *
+     * @return ヒット件数
+     */
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * ミス件数を取得する。
+     *
+     * @return ミス件数
+     */
+    long getMissCount() {
+        return missCount.sum();
+    }
+}
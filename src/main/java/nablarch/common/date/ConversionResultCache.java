@@ -0,0 +1,292 @@
+package nablarch.common.date;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 入力値の解析結果と変換後の値を、解析準備済みフォーマットと入力値の組み合わせ毎に保持するキャッシュ。
+ * <p/>
+ * 解析準備済みフォーマットはフォーマット仕様とロケールの組み合わせ毎に生成されるため、同一性(==)で比較する。
+ * 入力値は{@link String#equals(Object)}で比較する。
+ * 解析できなかった入力値も、解析できなかったという結果を保持する。
+ * <p/>
+ * 保持件数は固定で、格納領域を4件ずつのセットに分割したセットアソシアティブ方式で管理する。
+ * 入力値はセットのいずれかに格納し、セットに空きがない場合は、
+ * セット内で直近に参照されていないデータを追い出す(CLOCK方式によるLRUの近似)。
+ * そのため、頻繁に参照されるデータは、一度しか参照されないデータが大量に登録されても追い出されにくい。
+ * <p/>
+ * 参照、登録ともにロックを取得しない。
+ * 本クラスのインスタンスはスレッドセーフである。
+ */
+final class ConversionResultCache {
+
+    /** 1セットあたりの件数 */
+    static final int WAYS = 4;
+
+    /** 格納領域 */
+    private final AtomicReferenceArray<Entry> entries;
+
+    /** セットを求めるためのマスク */
+    private final int setMask;
+
+    /** セット毎の追い出し候補の検索開始位置(厳密な値である必要はないため同期しない) */
+    private final int[] hands;
+
+    /** 保持件数 */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** ヒット件数 */
+    private final StripedCounter hitCount = new StripedCounter();
+
+    /** ミス件数 */
+    private final StripedCounter missCount = new StripedCounter();
+
+    /** 追い出し件数 */
+    private final StripedCounter evictionCount = new StripedCounter();
+
+    /**
+     * コンストラクタ。
+     * <p/>
+     * 保持件数の上限は、指定された値と{@link #WAYS}のうち大きい方以上の最小の2の累乗となる。
+     *
+     * @param size 保持件数の上限
+     * @throws IllegalArgumentException 保持件数の上限が0以下の場合
+     */
+    ConversionResultCache(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive. size=" + size);
+        }
+        int capacity = WAYS;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        entries = new AtomicReferenceArray<Entry>(capacity);
+        setMask = capacity / WAYS - 1;
+        hands = new int[capacity / WAYS];
+    }
+
+    /**
+     * 解析準備済みフォーマットと入力値に対応するデータを取得する。
+     *
+     * @param format 解析準備済みフォーマット
+     * @param value  入力値
+     * @return データ。保持していない場合はnull
+     */
+    Entry get(CompiledDateFormat format, String value) {
+        int base = setOf(format, value) * WAYS;
+        for (int i = 0; i < WAYS; i++) {
+            Entry entry = entries.get(base + i);
+            if (entry != null && entry.matches(format, value)) {
+                if (!entry.referenced) {
+                    entry.referenced = true;
+                }
+                hitCount.increment();
+                return entry;
+            }
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * 解析準備済みフォーマットと入力値に対応する解析結果を登録する。
+     * <p/>
+     * 同じ解析準備済みフォーマットと入力値のデータが既に登録されている場合は、登録済みのデータを返す。
+     * セットに空きがない場合は、セット内で直近に参照されていないデータを追い出す。
+     *
+     * @param format 解析準備済みフォーマット
+     * @param value  入力値
+     * @param date   解析結果(解析できなかった場合は{@link DateParser#INVALID})
+     * @return 登録したデータ
+     */
+    Entry put(CompiledDateFormat format, String value, long date) {
+        int set = setOf(format, value);
+        int base = set * WAYS;
+        Entry entry = new Entry(format, value, date);
+        while (true) {
+            int victim = -1;
+            for (int i = 0; i < WAYS; i++) {
+                Entry current = entries.get(base + i);
+                if (current == null) {
+                    if (victim < 0) {
+                        victim = i;
+                    }
+                } else if (current.matches(format, value)) {
+                    return current;
+                }
+            }
+            if (victim < 0) {
+                victim = selectVictim(set, base);
+            }
+            Entry current = entries.get(base + victim);
+            if (current != null && current.matches(format, value)) {
+                return current;
+            }
+            if (entries.compareAndSet(base + victim, current, entry)) {
+                if (current == null) {
+                    size.incrementAndGet();
+                } else {
+                    evictionCount.increment();
+                }
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * セット内で追い出すデータを選択する。
+     * <p/>
+     * 検索開始位置から順に、参照済みのデータは参照済みの印を外して次の候補とし(2度目の機会を与え)、
+     * 参照済みでない最初のデータを追い出す。
+     *
+     * @param set  セット
+     * @param base セットの先頭位置
+     * @return 追い出すデータのセット内の位置
+     */
+    private int selectVictim(int set, int base) {
+        int hand = hands[set];
+        for (int i = 0; i < WAYS * 2; i++) {
+            int way = (hand + i) & (WAYS - 1);
+            Entry current = entries.get(base + way);
+            if (current == null || !current.referenced) {
+                hands[set] = (way + 1) & (WAYS - 1);
+                return way;
+            }
+            current.referenced = false;
+        }
+        hands[set] = (hand + 1) & (WAYS - 1);
+        return hand;
+    }
+
+    /**
+     * 保持件数の上限を取得する。
+     *
+     * @return 保持件数の上限
+     */
+    int capacity() {
+        return entries.length();
+    }
+
+    /**
+     * 保持件数を取得する。
+     *
+     * @return 保持件数
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * ヒット件数を取得する。
+     *
+     * @return ヒット件数
+     */
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * ミス件数を取得する。
+     *
+     * @return ミス件数
+     */
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 追い出し件数を取得する。
+     *
+     * @return 追い出し件数
+     */
+    long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 解析準備済みフォーマットと入力値のセットを求める。
+     *
+     * @param format 解析準備済みフォーマット
+     * @param value  入力値
+     * @return セット
+     */
+    private int setOf(CompiledDateFormat format, String value) {
+        int h = System.identityHashCode(format) * 31 + value.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h & setMask;
+    }
+
+    /** 解析準備済みフォーマットと入力値に対応するデータ。 */
+    static final class Entry {
+
+        /** 解析準備済みフォーマット */
+        private final CompiledDateFormat format;
+
+        /** 入力値 */
+        private final String value;
+
+        /** 解析結果 */
+        private final long date;
+
+        /** 変換後の値(未変換の場合はnull) */
+        private volatile String output;
+
+        /** 直近に参照されたか否か */
+        private volatile boolean referenced;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param format 解析準備済みフォーマット
+         * @param value  入力値
+         * @param date   解析結果
+         */
+        private Entry(CompiledDateFormat format, String value, long date) {
+            this.format = format;
+            this.value = value;
+            this.date = date;
+        }
+
+        /**
+         * 解析準備済みフォーマットと入力値が一致するか否かを判定する。
+         *
+         * @param format 解析準備済みフォーマット
+         * @param value  入力値
+         * @return 一致する場合はtrue
+         */
+        private boolean matches(CompiledDateFormat format, String value) {
+            return this.format == format && this.value.equals(value);
+        }
+
+        /**
+         * 解析結果を取得する。
+         *
+         * @return 年月日と時分秒を表すlong値({@link PackedDateTime})。解析できなかった場合は{@link DateParser#INVALID}
+         */
+        long getDate() {
+            return date;
+        }
+
+        /**
+         * 変換後の値を取得する。
+         *
+         * @return 変換後の値。未変換の場合はnull
+         */
+        String getOutput() {
+            return output;
+        }
+
+        /**
+         * 変換後の値を設定する。
+         * <p/>
+         * 同じ値を複数スレッドが同時に設定しても、変換結果は同じであるため問題ない。
+         *
+         * @param output 変換後の値
+         */
+        void setOutput(String output) {
+            this.output = output;
+        }
+    }
+}
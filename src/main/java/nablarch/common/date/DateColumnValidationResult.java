@@ -0,0 +1,108 @@
+package nablarch.common.date;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 1件のレコードの日付項目を検証した結果を保持するクラス。
+ *
+ * @see DateColumnValidationStage
+ * @author agent
+ */
+public class DateColumnValidationResult {
+
+    /** レコード番号 */
+    private final long recordNumber;
+
+    /** 入力元のレコード */
+    private final Map<String, String> sourceRecord;
+
+    /** 変換できた日付項目の項目名と変換後の値 */
+    private final Map<String, String> convertedValues;
+
+    /** 変換できなかった日付項目の項目名 */
+    private final List<String> invalidColumns;
+
+    /**
+     * コンストラクタ。
+     * <p/>
+     * 入力元のレコードは複製せずに参照する。
+     *
+     * @param recordNumber    レコード番号
+     * @param sourceRecord    入力元のレコード
+     * @param convertedValues 変換できた日付項目の項目名と変換後の値
+     * @param invalidColumns  変換できなかった日付項目の項目名
+     */
+    DateColumnValidationResult(long recordNumber, Map<String, String> sourceRecord,
+            Map<String, String> convertedValues, List<String> invalidColumns) {
+        this.recordNumber = recordNumber;
+        this.sourceRecord = sourceRecord;
+        this.convertedValues = convertedValues;
+        this.invalidColumns = invalidColumns;
+    }
+
+    /**
+     * レコード番号を取得する。
+     * <p/>
+     * 入力元のレコードの順序を1始まりで表す。
+     *
+     * @return レコード番号
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * 入力元のレコードを取得する。
+     * <p/>
+     * 日付項目は変換前の入力値のままである。
+     *
+     * @return 入力元のレコード(変更不可)
+     */
+    public Map<String, String> getSourceRecord() {
+        return Collections.unmodifiableMap(sourceRecord);
+    }
+
+    /**
+     * 変換できた日付項目の変換後の値を取得する。
+     * <p/>
+     * 値がnullまたは空文字のため変換しなかった日付項目と、変換できなかった日付項目は含まない。
+     *
+     * @return 日付項目の項目名と変換後の値(変更不可)
+     */
+    public Map<String, String> getConvertedValues() {
+        return Collections.unmodifiableMap(convertedValues);
+    }
+
+    /**
+     * 項目の値を取得する。
+     * <p/>
+     * 変換できた日付項目の場合は変換後の値を、それ以外の項目の場合は入力元のレコードの値を返す。
+     *
+     * @param columnName 項目名
+     * @return 項目の値
+     */
+    public String getValue(String columnName) {
+        String convertedValue = convertedValues.get(columnName);
+        return convertedValue != null ? convertedValue : sourceRecord.get(columnName);
+    }
+
+    /**
+     * 全ての日付項目が変換できたか否かを判定する。
+     *
+     * @return 全ての日付項目が変換できた場合はtrue
+     */
+    public boolean isValid() {
+        return invalidColumns.isEmpty();
+    }
+
+    /**
+     * 変換できなかった日付項目の項目名を取得する。
+     *
+     * @return 変換できなかった日付項目の項目名(変更不可)。全て変換できた場合は空のリスト
+     */
+    public List<String> getInvalidColumns() {
+        return Collections.unmodifiableList(invalidColumns);
+    }
+}
@@ -0,0 +1,144 @@
+package nablarch.common.date;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import nablarch.core.util.StringUtil;
+
+/**
+ * レコードの日付項目を逐次検証し、正規化するクラス。
+ * <p/>
+ * CSVや固定長ファイルのレコードを1件ずつ受け取り、指定された日付項目を
+ * {@link AbstractDateStringConverter}で検証、変換した結果を1件ずつ返す。
+ * レコードは結果の取得要求に応じて入力元から1件ずつ読み込むため(プル型)、
+ * 入力元が結果の消費より先行することはなく、ファイルの大きさに関わらず使用するメモリは一定となる。
+ * <p/>
+ * 日付項目の値がnullまたは空文字の場合は変換せず、検証エラーとしない。
+ * 日付項目の許容フォーマットはインスタンス生成時に1度だけ解析準備を行う。
+ * <p/>
+ * 使用例を以下に示す。
+ * <pre>
+ * Map&lt;String, String&gt; dateColumns = new HashMap&lt;String, String&gt;();
+ * dateColumns.put("settlementDate", "yyyy/MM/dd");
+ * DateColumnValidationStage stage = new DateColumnValidationStage(new YYYYMMDDConvertor(), dateColumns);
+ *
+ * Iterator&lt;DateColumnValidationResult&gt; results = stage.process(records);
+ * while (results.hasNext()) {
+ *     DateColumnValidationResult result = results.next();
+ *     if (!result.isValid()) {
+ *         // result.getInvalidColumns()を使用してエラー処理を行う。
+ *     }
+ *     String settlementDate = result.getValue("settlementDate"); // 変換後の値(yyyyMMdd)
+ * }
+ * </pre>
+ * 本クラスのインスタンスはスレッドセーフである。
+ * ただし、{@link #process(Iterator)}メソッドが返すイテレータはスレッドセーフではない。
+ *
+ * @see DateColumnValidationResult
+ * @author agent
+ */
+public class DateColumnValidationStage {
+
+    /** 変換に使用するコンバータ */
+    private final AbstractDateStringConverter converter;
+
+    /** 日付項目の項目名 */
+    private final String[] columnNames;
+
+    /** 日付項目の解析準備済みフォーマット */
+    private final CompiledDateFormat[] compiledFormats;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param converter   変換に使用するコンバータ
+     * @param dateColumns 日付項目の項目名と、入力値として許容するフォーマットのマップ
+     */
+    public DateColumnValidationStage(AbstractDateStringConverter converter, Map<String, String> dateColumns) {
+        if (dateColumns.isEmpty()) {
+            throw new IllegalArgumentException("dateColumns must not be empty.");
+        }
+        this.converter = converter;
+        this.columnNames = new String[dateColumns.size()];
+        this.compiledFormats = new CompiledDateFormat[dateColumns.size()];
+        int i = 0;
+        for (Map.Entry<String, String> column : dateColumns.entrySet()) {
+            columnNames[i] = column.getKey();
+            compiledFormats[i] = converter.getCompiledFormat(converter.getDefaultFormatSpec(column.getValue()));
+            i++;
+        }
+    }
+
+    /**
+     * レコードの日付項目を検証、変換する。
+     * <p/>
+     * 返却するイテレータは、結果を1件取得する毎に入力元からレコードを1件読み込む。
+     * 入力元のレコードは変更も複製もせず、結果は入力元のレコードと日付項目の変換後の値のみを保持する。
+     *
+     * @param records 入力元のレコード
+     * @return 検証結果のイテレータ
+     */
+    public Iterator<DateColumnValidationResult> process(final Iterator<? extends Map<String, String>> records) {
+        return new Iterator<DateColumnValidationResult>() {
+
+            /** 読み込んだレコードの件数 */
+            private long recordNumber;
+
+            /** {@inheritDoc} */
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            /** {@inheritDoc} */
+            public DateColumnValidationResult next() {
+                if (!records.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return validate(++recordNumber, records.next());
+            }
+
+            /** {@inheritDoc} */
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * 1件のレコードの日付項目を検証、変換する。
+     *
+     * @param recordNumber レコード番号(1始まり)
+     * @param record       レコード
+     * @return 検証結果
+     */
+    DateColumnValidationResult validate(long recordNumber, Map<String, String> record) {
+        Map<String, String> convertedValues = null;
+        List<String> invalidColumns = null;
+        for (int i = 0; i < columnNames.length; i++) {
+            String value = record.get(columnNames[i]);
+            if (StringUtil.isNullOrEmpty(value)) {
+                continue;
+            }
+            String convertedValue = converter.convertOrNull(compiledFormats[i], value);
+            if (convertedValue == null) {
+                if (invalidColumns == null) {
+                    invalidColumns = new ArrayList<String>(columnNames.length);
+                }
+                invalidColumns.add(columnNames[i]);
+            } else {
+                if (convertedValues == null) {
+                    convertedValues = new HashMap<String, String>(columnNames.length * 2);
+                }
+                convertedValues.put(columnNames[i], convertedValue);
+            }
+        }
+        return new DateColumnValidationResult(recordNumber, record,
+                convertedValues == null ? Collections.<String, String>emptyMap() : convertedValues,
+                invalidColumns == null ? Collections.<String>emptyList() : invalidColumns);
+    }
+}
@@ -0,0 +1,89 @@
+package nablarch.common.date;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 日付コンバータの解析結果をフォーマット毎に集計するクラス。
+ * <p/>
+ * コンバータの{@code conversionMetrics}プロパティに設定すると、集計が有効になる。
+ * 設定しない場合は集計を行わず、処理時間の計測も行わない。
+ * <p/>
+ * フォーマット毎の集計結果は"フォーマット|ロケール"形式のキーで取得する。
+ * ロケールの部分は{@link java.util.Locale#toString()}の値である。
+ * フォーマット仕様に言語が指定されていない場合はデフォルトロケールとなる(例: デフォルトロケールがja_JPの場合は"yyyy/MM/dd|ja_JP")。
+ * 言語が指定されている場合はその言語のロケールとなる(例: "yyyy/MM/dd|ja"を指定した場合は"yyyy/MM/dd|ja")。
+ *
+ * @see AbstractDateStringConverter#setConversionMetrics(DateConversionMetrics)
+ * @author agent
+ */
+public class DateConversionMetrics {
+
+    /** 全フォーマットの集計結果 */
+    private final DateConversionStatistics total = new DateConversionStatistics();
+
+    /** フォーマット毎の集計結果 */
+    private final ConcurrentMap<String, DateConversionStatistics> statistics
+            = new ConcurrentHashMap<String, DateConversionStatistics>();
+
+    /**
+     * フォーマットの集計結果を取得する。存在しない場合は作成する。
+     *
+     * @param key "フォーマット|ロケール"形式のキー
+     * @return 集計結果
+     */
+    DateConversionStatistics statisticsOf(String key) {
+        DateConversionStatistics result = statistics.get(key);
+        if (result == null) {
+            result = new DateConversionStatistics();
+            DateConversionStatistics current = statistics.putIfAbsent(key, result);
+            if (current != null) {
+                result = current;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 解析結果を記録する。
+     *
+     * @param formatStatistics フォーマットの集計結果
+     * @param outcome          解析結果
+     * @param nanos            処理時間(ナノ秒)
+     */
+    void record(DateConversionStatistics formatStatistics, int outcome, long nanos) {
+        formatStatistics.record(outcome, nanos);
+        total.record(outcome, nanos);
+    }
+
+    /**
+     * 全フォーマットの集計結果を取得する。
+     *
+     * @return 全フォーマットの集計結果
+     */
+    public DateConversionStatistics getTotal() {
+        return total;
+    }
+
+    /**
+     * フォーマット毎の集計結果を取得する。
+     *
+     * @return "フォーマット|ロケール"形式のキーと集計結果(キーの昇順)
+     */
+    public Map<String, DateConversionStatistics> getStatistics() {
+        return Collections.unmodifiableMap(new TreeMap<String, DateConversionStatistics>(statistics));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("total: ").append(total);
+        for (Map.Entry<String, DateConversionStatistics> entry : getStatistics().entrySet()) {
+            sb.append("\n").append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        return sb.toString();
+    }
+}
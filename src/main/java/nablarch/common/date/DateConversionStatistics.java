@@ -0,0 +1,149 @@
+package nablarch.common.date;
+
+/**
+ * 日付の解析結果の件数と処理時間の分布を集計するクラス。
+ * <p/>
+ * 解析結果は以下のいずれかとして集計する。
+ * <ul>
+ * <li>成功: 指定されたフォーマットで解析できた。</li>
+ * <li>区切り文字なしで成功: 区切り文字を取り除いたフォーマットで解析できた。</li>
+ * <li>失敗: いずれのフォーマットでも解析できなかった。</li>
+ * </ul>
+ * 処理時間は2の累乗ナノ秒毎の区間で集計する。
+ * 集計はロックを取得せずに行うため、高負荷時に有効にしたままでも処理が直列化されることはない。
+ *
+ * @see DateConversionMetrics
+ * @author agent
+ */
+public class DateConversionStatistics {
+
+    /** 成功件数 */
+    private final StripedCounter successCount = new StripedCounter();
+
+    /** 区切り文字を取り除いたフォーマットでの成功件数 */
+    private final StripedCounter fallbackCount = new StripedCounter();
+
+    /** 失敗件数 */
+    private final StripedCounter failureCount = new StripedCounter();
+
+    /** 処理時間の分布 */
+    private final StripedHistogram latency = new StripedHistogram();
+
+    /** 成功を表す値 */
+    static final int SUCCESS = 0;
+
+    /** 区切り文字を取り除いたフォーマットでの成功を表す値 */
+    static final int FALLBACK = 1;
+
+    /** 失敗を表す値 */
+    static final int FAILURE = 2;
+
+    /**
+     * 解析結果を記録する。
+     *
+     * @param outcome 解析結果({@link #SUCCESS}、{@link #FALLBACK}、{@link #FAILURE})
+     * @param nanos   処理時間(ナノ秒)
+     */
+    void record(int outcome, long nanos) {
+        switch (outcome) {
+            case SUCCESS:
+                successCount.increment();
+                break;
+            case FALLBACK:
+                fallbackCount.increment();
+                break;
+            default:
+                failureCount.increment();
+                break;
+        }
+        latency.record(nanos);
+    }
+
+    /**
+     * 指定されたフォーマットで解析できた件数を取得する。
+     *
+     * @return 成功件数
+     */
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    /**
+     * 区切り文字を取り除いたフォーマットで解析できた件数を取得する。
+     *
+     * @return 区切り文字を取り除いたフォーマットでの成功件数
+     */
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    /**
+     * いずれのフォーマットでも解析できなかった件数を取得する。
+     *
+     * @return 失敗件数
+     */
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * 解析した件数を取得する。
+     *
+     * @return 解析した件数
+     */
+    public long getCount() {
+        return getSuccessCount() + getFallbackCount() + getFailureCount();
+    }
+
+    /**
+     * 処理時間の分布を取得する。
+     * <p/>
+     * 戻り値のi番目の要素は、処理時間が2<sup>i</sup>ナノ秒以上2<sup>i+1</sup>ナノ秒未満だった件数である。
+     *
+     * @return 処理時間の分布
+     */
+    public long[] getLatencyHistogram() {
+        return latency.snapshot();
+    }
+
+    /**
+     * 処理時間のパーセンタイル値を取得する。
+     * <p/>
+     * 値は該当する区間の上限(2<sup>i+1</sup>ナノ秒)とする。
+     *
+     * @param percentile パーセンタイル(0より大きく100以下)
+     * @return 処理時間(ナノ秒)。解析した件数が0件の場合は0
+     */
+    public long getLatencyPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in (0, 100]. percentile=" + percentile);
+        }
+        long[] histogram = getLatencyHistogram();
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long cumulative = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            cumulative += histogram[i];
+            if (cumulative >= threshold) {
+                return 1L << (i + 1);
+            }
+        }
+        return 1L << histogram.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return "success=" + getSuccessCount()
+                + ", fallback=" + getFallbackCount()
+                + ", failure=" + getFailureCount()
+                + ", p50=" + getLatencyPercentile(50) + "ns"
+                + ", p99=" + getLatencyPercentile(99) + "ns";
+    }
+}
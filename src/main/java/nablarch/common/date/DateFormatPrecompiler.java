@@ -0,0 +1,201 @@
+package nablarch.common.date;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import nablarch.core.repository.initialization.Initializable;
+import nablarch.core.util.ClassTraversal.ClassHandler;
+import nablarch.core.util.ResourcesUtil;
+import nablarch.core.util.ResourcesUtil.Resources;
+
+/**
+ * フォームクラスに指定された日付フォーマットの解析準備を、システムリポジトリの初期化時に行うクラス。
+ * <p/>
+ * 指定されたフォームクラスと、指定されたパッケージ(サブパッケージを含む)に含まれるクラスのフィールドとメソッド
+ * (親クラスから継承したものを含む)から、
+ * 各コンバータの対象アノテーション({@link YYYYMMDD}、{@link YYYYMM}など)を検索し、
+ * 許容するフォーマットの解析準備済みフォーマットをコンバータのキャッシュに格納する。
+ * これにより、デプロイ直後のリクエストでフォーマットの解析準備が行われることを防ぐ。
+ * <p/>
+ * 解析準備を行ったフォーマットと処理時間は、{@link #getPrecompiledFormats()}と{@link #getElapsedMillis()}で取得できる。
+ * <p/>
+ * 本クラスは、システムリポジトリの初期化対象(initializeList)に登録して使用する。
+ * 解析準備を行うコンバータは、バリデーションで使用するコンバータと同じインスタンスを設定すること。
+ *
+ * @author agent
+ */
+public class DateFormatPrecompiler implements Initializable {
+
+    /** 解析準備を行うコンバータ */
+    private List<AbstractDateStringConverter> converters = Collections.emptyList();
+
+    /** 検索対象のフォームクラスの完全修飾名 */
+    private List<String> formClasses = Collections.emptyList();
+
+    /** 検索対象のパッケージ */
+    private List<String> formPackages = Collections.emptyList();
+
+    /** デフォルトロケール以外に解析準備を行う言語 */
+    private List<String> languages = Collections.emptyList();
+
+    /** 解析準備を行ったフォーマット */
+    private List<String> precompiledFormats = Collections.emptyList();
+
+    /** 処理時間(ミリ秒) */
+    private long elapsedMillis;
+
+    /**
+     * 解析準備を行うコンバータを設定する。
+     *
+     * @param converters 解析準備を行うコンバータ
+     */
+    public void setConverters(List<AbstractDateStringConverter> converters) {
+        this.converters = converters;
+    }
+
+    /**
+     * 検索対象のフォームクラスの完全修飾名を設定する。
+     *
+     * @param formClasses 検索対象のフォームクラスの完全修飾名
+     */
+    public void setFormClasses(List<String> formClasses) {
+        this.formClasses = formClasses;
+    }
+
+    /**
+     * 検索対象のパッケージを設定する。
+     * <p/>
+     * サブパッケージに含まれるクラスも検索対象とする。
+     *
+     * @param formPackages 検索対象のパッケージ
+     */
+    public void setFormPackages(List<String> formPackages) {
+        this.formPackages = formPackages;
+    }
+
+    /**
+     * デフォルトロケール以外に解析準備を行う言語を設定する。
+     * <p/>
+     * カスタムタグの国際化機能で使用する言語(ja、enなど)を指定する。
+     *
+     * @param languages 解析準備を行う言語
+     */
+    public void setLanguages(List<String> languages) {
+        this.languages = languages;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * フォームクラスを検索し、日付フォーマットの解析準備を行う。
+     *
+     * @throws IllegalArgumentException フォームクラスが存在しない場合、またはフォーマットが不正な場合
+     */
+    public void initialize() {
+        long start = System.nanoTime();
+        Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
+        for (String formClass : formClasses) {
+            classes.add(loadClass(formClass));
+        }
+        for (String formPackage : formPackages) {
+            classes.addAll(findClasses(formPackage));
+        }
+
+        Set<String> compiled = new LinkedHashSet<String>();
+        for (Class<?> clazz : classes) {
+            for (AccessibleObject member : findMembers(clazz)) {
+                for (AbstractDateStringConverter converter : converters) {
+                    Annotation annotation = member.getAnnotation(converter.getTargetAnnotation());
+                    if (annotation != null) {
+                        for (String format : converter.precompile(annotation, languages)) {
+                            compiled.add(converter.getTargetAnnotation().getSimpleName() + ':' + format);
+                        }
+                    }
+                }
+            }
+        }
+        precompiledFormats = Collections.unmodifiableList(new ArrayList<String>(compiled));
+        elapsedMillis = (System.nanoTime() - start) / 1000000;
+    }
+
+    /**
+     * 解析準備を行ったフォーマットを取得する。
+     * <p/>
+     * "アノテーション名:フォーマット|言語"形式で返す。デフォルトロケールの場合、言語は空となる。
+     *
+     * @return 解析準備を行ったフォーマット
+     */
+    public List<String> getPrecompiledFormats() {
+        return precompiledFormats;
+    }
+
+    /**
+     * 解析準備に要した時間を取得する。
+     *
+     * @return 処理時間(ミリ秒)
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * クラスと、その親クラス({@link Object}を除く)で宣言されたフィールドとメソッドを取得する。
+     * <p/>
+     * エンティティなどの親クラスで宣言されたプロパティ(フィールド、setterメソッド)も解析準備の対象とする。
+     *
+     * @param clazz クラス
+     * @return フィールドとメソッド
+     */
+    private static List<AccessibleObject> findMembers(Class<?> clazz) {
+        List<AccessibleObject> members = new ArrayList<AccessibleObject>();
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            Collections.addAll(members, c.getDeclaredFields());
+            Collections.addAll(members, c.getDeclaredMethods());
+        }
+        return members;
+    }
+
+    /**
+     * パッケージ(サブパッケージを含む)に含まれるクラスを検索する。
+     *
+     * @param packageName パッケージ
+     * @return クラス
+     */
+    private static List<Class<?>> findClasses(String packageName) {
+        final List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (Resources resources : ResourcesUtil.getResourcesTypes(packageName)) {
+            try {
+                resources.forEach(new ClassHandler() {
+                    public void process(String packageName, String shortClassName) {
+                        classes.add(loadClass(packageName + '.' + shortClassName));
+                    }
+                });
+            } finally {
+                resources.close();
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * クラスをロードする。
+     * <p/>
+     * クラスの初期化は行わない。
+     *
+     * @param className クラスの完全修飾名
+     * @return クラス
+     * @throws IllegalArgumentException クラスが存在しない場合
+     */
+    private static Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("form class was not found. className=" + className, e);
+        }
+    }
+}
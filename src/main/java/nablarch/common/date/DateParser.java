@@ -0,0 +1,27 @@
+package nablarch.common.date;
+
+/**
+ * 日付文字列を解析するインタフェース。
+ * <p/>
+ * 解析結果は{@link PackedDateTime}形式のlong値で返す。
+ * 時刻を含まないフォーマットの場合、解析結果は{@link PackedDate}形式のint値と等しい。
+ * 日付文字列は{@link CharSequence}で受け取るため、バイト配列などの範囲を文字列を生成せずに解析できる。
+ * 実装クラスはスレッドセーフでなければならない。
+ * 一度生成したインスタンスは{@link CompiledDateFormatCache}に保持され、複数スレッドから共有される。
+ *
+ * @see SimpleDateFormatParser
+ * @see NumericDateParser
+ */
+interface DateParser {
+
+    /** 解析できなかったことを表す値 */
+    int INVALID = -1;
+
+    /**
+     * 日付文字列を解析する。
+     *
+     * @param value 日付文字列
+     * @return 年月日と時分秒を表すlong値({@link PackedDateTime})。解析できない場合は{@link #INVALID}
+     */
+    long parse(CharSequence value);
+}
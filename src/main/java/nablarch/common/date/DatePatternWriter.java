@@ -0,0 +1,182 @@
+package nablarch.common.date;
+
+import java.nio.ByteBuffer;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+
+/**
+ * 年月日(時刻を含む場合は年月日時分秒)を所定のパターンの文字列に変換するクラス。
+ * <p/>
+ * パターンは生成時に1度だけ解釈する。
+ * 数値のみで構成されるパターン(yyyyMMdd、yyyy-MM-dd、yyyyMMddHHmmなど)は{@link NumericDatePattern}で、
+ * DateやCalendar、フォーマッタを生成せずに、必要な長さの文字配列へ直接書き込む。
+ * それ以外のパターンは、{@link DateThreadResources}でスレッド毎に保持する{@link SimpleDateFormat}で変換する。
+ * スレッドに保持したインスタンスの破棄については{@link DateThreadResources}を参照。
+ * <p/>
+ * 呼び出し元が用意した文字配列、バイト配列、ByteBufferへ書き込むこともできる。
+ * 数値のみで構成されるパターンの場合は、文字列を生成せずに直接書き込む。
+ * バイト列にはASCIIで書き込むため、ASCII以外の文字を含む値は書き込めない。
+ * <p/>
+ * 本クラスのインスタンスはスレッドセーフである。
+ */
+final class DatePatternWriter {
+
+    /** パターン */
+    private final String pattern;
+
+    /** 数値のみで構成されるパターン(それ以外の場合はnull) */
+    private final NumericDatePattern numericPattern;
+
+    /** 数値のみで構成され、区切り文字が全てASCIIのパターンか否か */
+    private final boolean asciiNumeric;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param pattern        パターン
+     * @param numericPattern 数値のみで構成されるパターン(それ以外の場合はnull)
+     */
+    private DatePatternWriter(String pattern, NumericDatePattern numericPattern) {
+        this.pattern = pattern;
+        this.numericPattern = numericPattern;
+        this.asciiNumeric = numericPattern != null && numericPattern.isAscii();
+    }
+
+    /**
+     * パターンを解釈し、インスタンスを生成する。
+     *
+     * @param pattern パターン({@link SimpleDateFormat}の構文)
+     * @return インスタンス
+     * @throws IllegalArgumentException パターンが不正な場合
+     */
+    static DatePatternWriter compile(String pattern) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new IllegalArgumentException("pattern must not be null or empty. pattern=" + pattern);
+        }
+        NumericDatePattern numericPattern = NumericDatePattern.compile(pattern);
+        if (numericPattern == null) {
+            // パターンの構文チェック
+            new SimpleDateFormat(pattern);
+        }
+        return new DatePatternWriter(pattern, numericPattern);
+    }
+
+    /**
+     * 年月日と時分秒をパターンの文字列に変換する。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @return 変換後の文字列
+     */
+    String format(long dateTime) {
+        if (numericPattern != null) {
+            return numericPattern.format(dateTime);
+        }
+        int date = PackedDateTime.date(dateTime);
+        Calendar cal = DateThreadResources.calendar();
+        cal.clear();
+        cal.set(PackedDate.year(date), PackedDate.month(date) - 1, PackedDate.day(date),
+                PackedDateTime.hour(dateTime), PackedDateTime.minute(dateTime), PackedDateTime.second(dateTime));
+        return DateThreadResources.outputFormat(pattern).format(cal.getTime());
+    }
+
+    /**
+     * 年月日と時分秒をパターンの文字列に変換し、文字配列に書き込む。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @param chars    書き込み先
+     * @param offset   書き込み開始位置
+     * @return 書き込み終了位置(書き込んだ最後の文字の次の位置)
+     * @throws IllegalArgumentException 書き込み先の領域が不足する場合
+     */
+    int write(long dateTime, char[] chars, int offset) {
+        if (numericPattern != null) {
+            checkCapacity(offset, numericPattern.formattedLength(dateTime), chars.length);
+            return numericPattern.write(dateTime, chars, offset);
+        }
+        String formatted = format(dateTime);
+        checkCapacity(offset, formatted.length(), chars.length);
+        formatted.getChars(0, formatted.length(), chars, offset);
+        return offset + formatted.length();
+    }
+
+    /**
+     * 年月日と時分秒をパターンの文字列に変換し、バイト配列にASCIIで書き込む。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @param bytes    書き込み先
+     * @param offset   書き込み開始位置
+     * @return 書き込み終了位置(書き込んだ最後のバイトの次の位置)
+     * @throws IllegalArgumentException 書き込み先の領域が不足する場合、または変換後の値にASCII以外の文字が含まれる場合
+     */
+    int write(long dateTime, byte[] bytes, int offset) {
+        if (asciiNumeric) {
+            checkCapacity(offset, numericPattern.formattedLength(dateTime), bytes.length);
+            return numericPattern.write(dateTime, bytes, offset);
+        }
+        String formatted = formatAscii(dateTime);
+        checkCapacity(offset, formatted.length(), bytes.length);
+        for (int i = 0; i < formatted.length(); i++) {
+            bytes[offset + i] = (byte) formatted.charAt(i);
+        }
+        return offset + formatted.length();
+    }
+
+    /**
+     * 年月日と時分秒をパターンの文字列に変換し、ByteBufferにASCIIで書き込む。
+     * <p/>
+     * 書き込み位置はByteBufferの先頭(インデックス0)からの位置で指定し、limitまでの領域に書き込む。
+     * ByteBufferのpositionとlimitは変更しない。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @param buffer   書き込み先
+     * @param offset   書き込み開始位置
+     * @return 書き込み終了位置(書き込んだ最後のバイトの次の位置)
+     * @throws IllegalArgumentException 書き込み先の領域が不足する場合、または変換後の値にASCII以外の文字が含まれる場合
+     */
+    int write(long dateTime, ByteBuffer buffer, int offset) {
+        if (asciiNumeric) {
+            checkCapacity(offset, numericPattern.formattedLength(dateTime), buffer.limit());
+            return numericPattern.write(dateTime, buffer, offset);
+        }
+        String formatted = formatAscii(dateTime);
+        checkCapacity(offset, formatted.length(), buffer.limit());
+        for (int i = 0; i < formatted.length(); i++) {
+            buffer.put(offset + i, (byte) formatted.charAt(i));
+        }
+        return offset + formatted.length();
+    }
+
+    /**
+     * 年月日と時分秒を、ASCIIの文字のみで構成されるパターンの文字列に変換する。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @return 変換後の文字列
+     * @throws IllegalArgumentException 変換後の値にASCII以外の文字が含まれる場合
+     */
+    private String formatAscii(long dateTime) {
+        String formatted = format(dateTime);
+        for (int i = 0; i < formatted.length(); i++) {
+            if (formatted.charAt(i) > 0x7F) {
+                throw new IllegalArgumentException(
+                        "formatted value must consist of ASCII characters. pattern=" + pattern + ", value=" + formatted);
+            }
+        }
+        return formatted;
+    }
+
+    /**
+     * 書き込み先に必要な領域があることを検証する。
+     *
+     * @param offset   書き込み開始位置
+     * @param length   書き込む長さ
+     * @param capacity 書き込み先の容量
+     * @throws IllegalArgumentException 書き込み先の領域が不足する場合
+     */
+    private static void checkCapacity(int offset, int length, int capacity) {
+        if (offset < 0 || offset > capacity - length) {
+            throw new IllegalArgumentException(
+                    "output buffer is too small. offset=" + offset + ", length=" + length + ", capacity=" + capacity);
+        }
+    }
+
+}
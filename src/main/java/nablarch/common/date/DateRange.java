@@ -0,0 +1,250 @@
+package nablarch.common.date;
+
+import java.util.Calendar;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import nablarch.core.date.SystemTimeUtil;
+
+/**
+ * 日付の範囲(下限と上限)を表すクラス。
+ * <p/>
+ * 下限と上限は、日付パターン(yyyyMMdd、yyyyMMなど)の絶対値、またはシステム日付からの相対値で指定する。
+ * 相対値は"today"、"today+7"、"today-30"のように指定し、
+ * 年月日の場合は日数、年月の場合は月数でシステム日付からずらした日付を表す。
+ * <p/>
+ * システム日付は{@link SystemTimeUtil#getDate()}で取得するため、
+ * システムリポジトリにシステム日時プロバイダ(systemTimeProvider)を登録しておく必要がある。
+ * これにより、テストなどでシステム日時プロバイダを差し替えることで、システム日付を固定したりずらしたりできる。
+ * <p/>
+ * 範囲の判定は、解析済みの年月日({@link PackedDate}形式のint値)の整数比較で行う。
+ * 相対値の日付はシステム日付が変わった時にのみ計算し、判定の都度は計算しない。
+ * <p/>
+ * 本クラスのインスタンスはスレッドセーフである。
+ */
+final class DateRange {
+
+    /** 相対値の構文 */
+    private static final Pattern RELATIVE = Pattern.compile("today(?:([+-])(\\d{1,6}))?");
+
+    /** 下限(指定がない場合はnull) */
+    private final Bound min;
+
+    /** 上限(指定がない場合はnull) */
+    private final Bound max;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param min 下限(指定がない場合はnull)
+     * @param max 上限(指定がない場合はnull)
+     */
+    private DateRange(Bound min, Bound max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * 下限と上限の指定から範囲を生成する。
+     *
+     * @param min         下限(指定がない場合はnullまたは空文字)
+     * @param max         上限(指定がない場合はnullまたは空文字)
+     * @param datePattern 絶対値の解析に使用する日付パターン
+     * @param monthly     年月の範囲か否か(相対値を月数で計算する場合はtrue)
+     * @return 範囲。下限と上限のいずれも指定されていない場合はnull
+     * @throws IllegalArgumentException 下限または上限の指定が不正な場合
+     */
+    static DateRange of(String min, String max, NumericDatePattern datePattern, boolean monthly) {
+        Bound minBound = Bound.of(min, datePattern, monthly);
+        Bound maxBound = Bound.of(max, datePattern, monthly);
+        if (minBound == null && maxBound == null) {
+            return null;
+        }
+        return new DateRange(minBound, maxBound);
+    }
+
+    /**
+     * 年月日が範囲内か否かを判定する。
+     *
+     * @param date 年月日を表すint値({@link PackedDate})
+     * @return 範囲内の場合はtrue
+     */
+    boolean contains(int date) {
+        return (min == null || date >= min.resolve()) && (max == null || date <= max.resolve());
+    }
+
+    /**
+     * 下限を取得する。
+     *
+     * @return 下限の年月日を表すint値({@link PackedDate})。指定がない場合は{@link DateParser#INVALID}
+     */
+    int min() {
+        return min == null ? DateParser.INVALID : min.resolve();
+    }
+
+    /**
+     * 上限を取得する。
+     *
+     * @return 上限の年月日を表すint値({@link PackedDate})。指定がない場合は{@link DateParser#INVALID}
+     */
+    int max() {
+        return max == null ? DateParser.INVALID : max.resolve();
+    }
+
+    /** 下限または上限。 */
+    private static final class Bound {
+
+        /** 絶対値の年月日(相対値の場合は使用しない) */
+        private final int absolute;
+
+        /** 相対値か否か */
+        private final boolean relative;
+
+        /** システム日付からの日数または月数 */
+        private final int offset;
+
+        /** 相対値を月数で計算するか否か */
+        private final boolean monthly;
+
+        /** 直近に計算した相対値({システム日付, 年月日}) */
+        private volatile int[] resolved;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param absolute 絶対値の年月日
+         * @param relative 相対値か否か
+         * @param offset   システム日付からの日数または月数
+         * @param monthly  相対値を月数で計算するか否か
+         */
+        private Bound(int absolute, boolean relative, int offset, boolean monthly) {
+            this.absolute = absolute;
+            this.relative = relative;
+            this.offset = offset;
+            this.monthly = monthly;
+        }
+
+        /**
+         * 指定を解析する。
+         *
+         * @param bound       指定
+         * @param datePattern 絶対値の解析に使用する日付パターン
+         * @param monthly     相対値を月数で計算するか否か
+         * @return 解析結果。指定がない場合はnull
+         * @throws IllegalArgumentException 指定が不正な場合
+         */
+        private static Bound of(String bound, NumericDatePattern datePattern, boolean monthly) {
+            if (bound == null || bound.length() == 0) {
+                return null;
+            }
+            Matcher matcher = RELATIVE.matcher(bound);
+            if (matcher.matches()) {
+                int offset = matcher.group(2) == null ? 0 : Integer.parseInt(matcher.group(2));
+                return new Bound(0, true, "-".equals(matcher.group(1)) ? -offset : offset, monthly);
+            }
+            long date = datePattern == null ? DateParser.INVALID : datePattern.parse(bound);
+            if (date < 0) {
+                throw new IllegalArgumentException("invalid date range bound. bound=" + bound);
+            }
+            return new Bound(PackedDateTime.date(date), false, 0, monthly);
+        }
+
+        /**
+         * 年月日を取得する。
+         * <p/>
+         * 相対値の場合は、システム日付が前回の計算時から変わっている場合のみ計算する。
+         *
+         * @return 年月日を表すint値({@link PackedDate})
+         */
+        private int resolve() {
+            if (!relative) {
+                return absolute;
+            }
+            int today = Today.get();
+            int[] current = resolved;
+            if (current == null || current[0] != today) {
+                current = new int[] {today, shift(today)};
+                resolved = current;
+            }
+            return current[1];
+        }
+
+        /**
+         * システム日付を日数または月数でずらす。
+         * <p/>
+         * 月数でずらす場合は、月の1日を返す。
+         *
+         * @param today システム日付
+         * @return ずらした年月日
+         */
+        private int shift(int today) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.clear();
+            calendar.set(PackedDate.year(today), PackedDate.month(today) - 1, monthly ? 1 : PackedDate.day(today));
+            calendar.add(monthly ? Calendar.MONTH : Calendar.DAY_OF_MONTH, offset);
+            return PackedDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                    calendar.get(Calendar.DAY_OF_MONTH));
+        }
+    }
+
+    /**
+     * システム日付を保持するクラス。
+     * <p/>
+     * {@link SystemTimeUtil#getDate()}が返す日時を判定の都度取得し、
+     * 直近に計算した日付の範囲(0時から翌日の0時まで)に含まれる場合は、保持している日付をそのまま使用する。
+     * 範囲外の日時(日付が変わった場合や、システム日時プロバイダが別の日時を返した場合)のみ、年月日を再計算する。
+     */
+    private static final class Today {
+
+        /** 保持しているシステム日付 */
+        private static volatile Today current = new Today(0, Long.MAX_VALUE, Long.MIN_VALUE);
+
+        /** システム日付({@link PackedDate}) */
+        private final int date;
+
+        /** システム日付の開始時刻(エポックミリ秒、この値を含む) */
+        private final long start;
+
+        /** システム日付の終了時刻(エポックミリ秒、この値を含まない) */
+        private final long end;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param date  システム日付
+         * @param start システム日付の開始時刻
+         * @param end   システム日付の終了時刻
+         */
+        private Today(int date, long start, long end) {
+            this.date = date;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * システム日付を取得する。
+         *
+         * @return システム日付を表すint値({@link PackedDate})
+         * @throws IllegalArgumentException システムリポジトリにシステム日時プロバイダが登録されていない場合
+         */
+        static int get() {
+            long now = SystemTimeUtil.getDate().getTime();
+            Today today = current;
+            if (now < today.start || now >= today.end) {
+                Calendar calendar = Calendar.getInstance();
+                calendar.setTimeInMillis(now);
+                int date = PackedDate.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                        calendar.get(Calendar.DAY_OF_MONTH));
+                calendar.set(Calendar.HOUR_OF_DAY, 0);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                calendar.set(Calendar.MILLISECOND, 0);
+                long start = calendar.getTimeInMillis();
+                calendar.add(Calendar.DAY_OF_MONTH, 1);
+                today = new Today(date, start, calendar.getTimeInMillis());
+                current = today;
+            }
+            return today.date;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package nablarch.common.date;
+
+/**
+ * 日付フォーマットから求めた、日付文字列の形状を表すクラス。
+ * <p/>
+ * 日付文字列の長さ、数字の数、区切り文字の並びを1回の走査で検査し、
+ * フォーマットに一致し得ない値(長さが異なる、英字が含まれる、区切り文字が異なるなど)を
+ * パーサを使用せずに除外するために使用する。
+ * <p/>
+ * 検査は、フォーマットに一致する値を除外しない範囲で行う。
+ * そのため、本クラスの検査を通過した値がフォーマットに一致するとは限らない。
+ * <p/>
+ * 本クラスのインスタンスは不変であり、スレッドセーフである。
+ */
+final class DateShape {
+
+    /** 年の数字の最大桁数({@link PackedDate#MAX_YEAR}の桁数) */
+    private static final int MAX_YEAR_DIGITS = String.valueOf(PackedDate.MAX_YEAR).length();
+
+    /** 年以外(月、日、時、分、秒)の数字の最大桁数 */
+    private static final int MAX_FIELD_DIGITS = 2;
+
+    /** 区切り文字(出現順) */
+    private final char[] separators;
+
+    /** 数字の最小数 */
+    private final int minDigits;
+
+    /** 数字の最大数 */
+    private final int maxDigits;
+
+    /** 区切り文字の並びから求めた識別値 */
+    private final int signature;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param separators 区切り文字(出現順)
+     * @param minDigits  数字の最小数
+     * @param maxDigits  数字の最大数
+     */
+    private DateShape(char[] separators, int minDigits, int maxDigits) {
+        this.separators = separators;
+        this.minDigits = minDigits;
+        this.maxDigits = maxDigits;
+        this.signature = signatureOf(new String(separators));
+    }
+
+    /**
+     * 日付フォーマットから形状を求める。
+     * <p/>
+     * パターン文字がy(年)、M(月、2文字以下)、d(日)、H(時)、m(分)、s(秒)のみで構成され、
+     * 区切り文字に数字と引用符を含まないフォーマットのみ対象とする。
+     *
+     * @param format 日付フォーマット
+     * @return 形状。対象外のフォーマットの場合はnull
+     */
+    static DateShape compile(String format) {
+        StringBuilder separators = new StringBuilder();
+        int minDigits = 0;
+        int maxDigits = 0;
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i);
+            int count = 1;
+            while (i + count < format.length() && format.charAt(i + count) == c) {
+                count++;
+            }
+            if (c == 'y') {
+                minDigits += count;
+                maxDigits += Math.max(count, MAX_YEAR_DIGITS);
+            } else if ((c == 'M' && count <= MAX_FIELD_DIGITS) || c == 'd' || c == 'H' || c == 'm' || c == 's') {
+                minDigits += count;
+                maxDigits += Math.max(count, MAX_FIELD_DIGITS);
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '\'' || isDigit(c)) {
+                return null;
+            } else {
+                for (int j = 0; j < count; j++) {
+                    separators.append(c);
+                }
+            }
+            i += count;
+        }
+        return new DateShape(separators.toString().toCharArray(), minDigits, maxDigits);
+    }
+
+    /**
+     * 値が形状に一致するか否かを判定する。
+     *
+     * @param value 値
+     * @return 形状に一致する場合はtrue
+     */
+    boolean accepts(CharSequence value) {
+        int length = value.length();
+        if (!acceptsLength(length)) {
+            return false;
+        }
+        int matched = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                if (matched == separators.length || separators[matched] != c) {
+                    return false;
+                }
+                matched++;
+            }
+        }
+        return matched == separators.length;
+    }
+
+    /**
+     * 区切り文字の並びから求めた識別値を取得する。
+     * <p/>
+     * 形状に一致する値の{@link #signatureOf(CharSequence)}は、この値と等しくなる。
+     *
+     * @return 区切り文字の並びから求めた識別値
+     */
+    int signature() {
+        return signature;
+    }
+
+    /**
+     * 値の長さが形状に一致するか否かを判定する。
+     *
+     * @param length 値の長さ
+     * @return 形状に一致する場合はtrue
+     */
+    boolean acceptsLength(int length) {
+        return length >= minDigits + separators.length && length <= maxDigits + separators.length;
+    }
+
+    /**
+     * 値に含まれる数字以外の文字の並びから識別値を求める。
+     * <p/>
+     * 値を1回走査して求める。異なる並びが同じ識別値となる場合もある。
+     *
+     * @param value 値
+     * @return 識別値
+     */
+    static int signatureOf(CharSequence value) {
+        int hash = 1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                hash = 31 * hash + c;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * 数字か否かを判定する。
+     *
+     * @param c 文字
+     * @return 数字の場合はtrue
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
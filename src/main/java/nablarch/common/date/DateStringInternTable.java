@@ -0,0 +1,181 @@
+package nablarch.common.date;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 変換後の日付文字列を、年月日と時分秒(解析結果)毎に1つのインスタンスで共有するための表。
+ * <p/>
+ * 業務データに含まれる日付の種類は少ないため、同じ日付の変換結果を同じ文字列インスタンスで返すことで、
+ * 大量の変換結果をメモリ上に保持する場合のヒープ使用量を削減する。
+ * 解析結果を検索キーとするため、表に保持している日付は文字列の生成自体を行わない。
+ * <p/>
+ * 保持件数は固定で、同じ格納位置に割り当てられた日付は後から登録されたもので上書き(追い出し)される。
+ * 参照、登録ともにロックを取得しない。
+ * 複数スレッドが同じ日付を同時に登録した場合は、先に登録された文字列を全てのスレッドで使用する。
+ * ただし、追い出された日付を再度登録した場合は、新たに登録した文字列を使用する。
+ * <p/>
+ * 本クラスのインスタンスはスレッドセーフである。
+ */
+final class DateStringInternTable {
+
+    /** 格納領域 */
+    private final AtomicReferenceArray<Entry> entries;
+
+    /** 格納位置を求めるためのマスク */
+    private final int mask;
+
+    /** 保持件数 */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** ヒット件数 */
+    private final StripedCounter hitCount = new StripedCounter();
+
+    /** ミス件数 */
+    private final StripedCounter missCount = new StripedCounter();
+
+    /** 追い出し件数 */
+    private final StripedCounter evictionCount = new StripedCounter();
+
+    /**
+     * コンストラクタ。
+     * <p/>
+     * 保持件数の上限は、指定された値以上の最小の2の累乗となる。
+     *
+     * @param size 保持件数の上限
+     * @throws IllegalArgumentException 保持件数の上限が0以下の場合
+     */
+    DateStringInternTable(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive. size=" + size);
+        }
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        entries = new AtomicReferenceArray<Entry>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * 日付に対応する文字列を取得する。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @return 文字列。保持していない場合はnull
+     */
+    String get(long dateTime) {
+        Entry entry = entries.get(indexOf(dateTime));
+        if (entry != null && entry.dateTime == dateTime) {
+            hitCount.increment();
+            return entry.value;
+        }
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * 日付に対応する文字列を登録する。
+     * <p/>
+     * 同じ日付の文字列が既に登録されている場合は、登録済みの文字列を返す。
+     * 同じ格納位置に別の日付が登録されている場合は、その日付を追い出す。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @param value    文字列
+     * @return 共有する文字列
+     */
+    String put(long dateTime, String value) {
+        int index = indexOf(dateTime);
+        Entry entry = new Entry(dateTime, value);
+        while (true) {
+            Entry current = entries.get(index);
+            if (current != null && current.dateTime == dateTime) {
+                return current.value;
+            }
+            if (entries.compareAndSet(index, current, entry)) {
+                if (current == null) {
+                    size.incrementAndGet();
+                } else {
+                    evictionCount.increment();
+                }
+                return value;
+            }
+        }
+    }
+
+    /**
+     * 保持件数の上限を取得する。
+     *
+     * @return 保持件数の上限
+     */
+    int capacity() {
+        return entries.length();
+    }
+
+    /**
+     * 保持件数を取得する。
+     *
+     * @return 保持件数
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * ヒット件数を取得する。
+     *
+     * @return ヒット件数
+     */
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * ミス件数を取得する。
+     *
+     * @return ミス件数
+     */
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 追い出し件数を取得する。
+     *
+     * @return 追い出し件数
+     */
+    long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 日付の格納位置を求める。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値
+     * @return 格納位置
+     */
+    private int indexOf(long dateTime) {
+        long h = dateTime * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /** 日付と文字列の組。 */
+    private static final class Entry {
+
+        /** 年月日と時分秒を表すlong値 */
+        private final long dateTime;
+
+        /** 文字列 */
+        private final String value;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param dateTime 年月日と時分秒を表すlong値
+         * @param value    文字列
+         */
+        private Entry(long dateTime, String value) {
+            this.dateTime = dateTime;
+            this.value = value;
+        }
+    }
+}
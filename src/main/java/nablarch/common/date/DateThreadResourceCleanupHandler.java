@@ -0,0 +1,34 @@
+package nablarch.common.date;
+
+import nablarch.fw.ExecutionContext;
+import nablarch.fw.Handler;
+
+/**
+ * 後続ハンドラの処理終了時に、日付コンバータがスレッド毎に保持した値を破棄するハンドラ。
+ * <p/>
+ * 日付コンバータは、{@link java.text.SimpleDateFormat}などのスレッドセーフではないオブジェクトと、
+ * 直前の解析結果をスレッド毎に保持する。
+ * アプリケーションサーバのスレッドプールでは、これらがスレッドに残り続け、
+ * 再デプロイ後も古いアプリケーションのクラスローダが解放されなくなる。
+ * <p/>
+ * 本ハンドラは、後続ハンドラの処理結果や例外の有無にかかわらず、
+ * {@link AbstractDateStringConverter#clearThreadResources()}を呼び出して保持した値を破棄する。
+ * 日付コンバータを使用するハンドラよりも前(スレッドコンテキスト変数管理ハンドラの直後など)に配置する。
+ *
+ * @author agent
+ */
+public class DateThreadResourceCleanupHandler implements Handler<Object, Object> {
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 後続ハンドラに処理を委譲し、終了時にスレッド毎に保持した値を破棄する。
+     */
+    public Object handle(Object data, ExecutionContext context) {
+        try {
+            return context.handleNext(data);
+        } finally {
+            AbstractDateStringConverter.clearThreadResources();
+        }
+    }
+}
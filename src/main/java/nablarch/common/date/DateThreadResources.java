@@ -0,0 +1,113 @@
+package nablarch.common.date;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 日付の解析と変換で使用する、スレッドセーフではないオブジェクトをスレッド毎に保持するクラス。
+ * <p/>
+ * {@link SimpleDateFormat}と{@link Calendar}は生成コストが高いため、スレッド毎に1度だけ生成して使い回す。
+ * 本クラスが保持する値はJDKのクラス(Map、String、Locale、SimpleDateFormat、Calendar)のみで構成し、
+ * スレッドローカル変数もサブクラスを作らずに使用するため、アプリケーションのクラスを参照しない。
+ * <p/>
+ * ただし、{@link LastParsedDate}が保持する直前の解析結果は、解析準備済みフォーマットと入力値を参照する。
+ * これらはスレッドプールのスレッドに残ると、再デプロイ後も古いクラスローダが解放されなくなる。
+ * そのため、スレッドに保持した値は、リクエストの処理終了時に{@link #clear()}で全て破棄する。
+ * アプリケーションからは、{@link DateThreadResourceCleanupHandler}をハンドラキューに登録するか、
+ * {@link AbstractDateStringConverter#clearThreadResources()}を呼び出す。
+ */
+final class DateThreadResources {
+
+    /** スレッド毎の解析用{@link SimpleDateFormat}(ロケール、フォーマット毎) */
+    private static final ThreadLocal<Map<Locale, Map<String, SimpleDateFormat>>> PARSE_FORMATS
+            = new ThreadLocal<Map<Locale, Map<String, SimpleDateFormat>>>();
+
+    /** スレッド毎の変換用{@link SimpleDateFormat}(パターン毎) */
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> OUTPUT_FORMATS
+            = new ThreadLocal<Map<String, SimpleDateFormat>>();
+
+    /** スレッド毎の{@link Calendar} */
+    private static final ThreadLocal<Calendar> CALENDAR = new ThreadLocal<Calendar>();
+
+    /** 隠蔽コンストラクタ。 */
+    private DateThreadResources() {
+    }
+
+    /**
+     * 解析用の{@link SimpleDateFormat}を取得する。
+     * <p/>
+     * 厳密な解析(lenient=false)を行うインスタンスを返す。
+     *
+     * @param format 日付フォーマット
+     * @param locale ロケール
+     * @return 現在のスレッドの{@link SimpleDateFormat}
+     */
+    static SimpleDateFormat parseFormat(String format, Locale locale) {
+        Map<Locale, Map<String, SimpleDateFormat>> locales = PARSE_FORMATS.get();
+        if (locales == null) {
+            locales = new HashMap<Locale, Map<String, SimpleDateFormat>>();
+            PARSE_FORMATS.set(locales);
+        }
+        Map<String, SimpleDateFormat> formats = locales.get(locale);
+        if (formats == null) {
+            formats = new HashMap<String, SimpleDateFormat>();
+            locales.put(locale, formats);
+        }
+        SimpleDateFormat sdf = formats.get(format);
+        if (sdf == null) {
+            sdf = new SimpleDateFormat(format, locale);
+            sdf.setLenient(false);
+            formats.put(format, sdf);
+        }
+        return sdf;
+    }
+
+    /**
+     * 変換用の{@link SimpleDateFormat}を取得する。
+     *
+     * @param pattern パターン
+     * @return 現在のスレッドの{@link SimpleDateFormat}
+     */
+    static SimpleDateFormat outputFormat(String pattern) {
+        Map<String, SimpleDateFormat> formats = OUTPUT_FORMATS.get();
+        if (formats == null) {
+            formats = new HashMap<String, SimpleDateFormat>();
+            OUTPUT_FORMATS.set(formats);
+        }
+        SimpleDateFormat sdf = formats.get(pattern);
+        if (sdf == null) {
+            sdf = new SimpleDateFormat(pattern);
+            formats.put(pattern, sdf);
+        }
+        return sdf;
+    }
+
+    /**
+     * {@link Calendar}を取得する。
+     *
+     * @return 現在のスレッドの{@link Calendar}
+     */
+    static Calendar calendar() {
+        Calendar calendar = CALENDAR.get();
+        if (calendar == null) {
+            calendar = Calendar.getInstance();
+            CALENDAR.set(calendar);
+        }
+        return calendar;
+    }
+
+    /**
+     * 現在のスレッドが保持している値を全て破棄する。
+     * <p/>
+     * {@link LastParsedDate}が保持している直前の解析結果も破棄する。
+     */
+    static void clear() {
+        PARSE_FORMATS.remove();
+        OUTPUT_FORMATS.remove();
+        CALENDAR.remove();
+        LastParsedDate.clear();
+    }
+}
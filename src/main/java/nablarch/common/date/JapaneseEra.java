@@ -0,0 +1,134 @@
+package nablarch.common.date;
+
+/**
+ * 和暦の元号を表す列挙型。
+ * <p/>
+ * 元号の開始日は{@link java.util.Locale}「ja_JP_JP」の
+ * {@link java.util.Calendar}(JapaneseImperialCalendar)と同じとする。
+ * 各元号の終了日は次の元号の開始日の前日となる。
+ */
+enum JapaneseEra {
+
+    /** 明治 */
+    MEIJI("明治", 'M', 18680101),
+    /** 大正 */
+    TAISHO("大正", 'T', 19120730),
+    /** 昭和 */
+    SHOWA("昭和", 'S', 19261225),
+    /** 平成 */
+    HEISEI("平成", 'H', 19890108),
+    /** 令和 */
+    REIWA("令和", 'R', 20190501);
+
+    /** 元号の略称(英字)から元号を引くための表(インデックスは大文字の英字) */
+    private static final JapaneseEra[] BY_ABBREVIATION = new JapaneseEra['Z' + 1];
+
+    static {
+        JapaneseEra[] eras = values();
+        for (int i = 0; i < eras.length; i++) {
+            BY_ABBREVIATION[eras[i].abbreviation] = eras[i];
+            eras[i].until = i + 1 < eras.length ? eras[i + 1].since : Integer.MAX_VALUE;
+        }
+    }
+
+    /** 元号名 */
+    private final String eraName;
+
+    /** 元号の略称(英字) */
+    private final char abbreviation;
+
+    /** 開始日(年月日を表すint値) */
+    private final int since;
+
+    /** 次の元号の開始日(年月日を表すint値。次の元号がない場合は{@link Integer#MAX_VALUE}) */
+    private int until;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param eraName      元号名
+     * @param abbreviation 元号の略称(英字)
+     * @param since        開始日(年月日を表すint値)
+     */
+    JapaneseEra(String eraName, char abbreviation, int since) {
+        this.eraName = eraName;
+        this.abbreviation = abbreviation;
+        this.since = since;
+    }
+
+    /**
+     * 元号名を取得する。
+     *
+     * @return 元号名
+     */
+    String getEraName() {
+        return eraName;
+    }
+
+    /**
+     * 和暦の年を西暦の年に変換する。
+     *
+     * @param eraYear 和暦の年(元年は1)
+     * @return 西暦の年
+     */
+    int toGregorianYear(int eraYear) {
+        return PackedDate.year(since) + eraYear - 1;
+    }
+
+    /**
+     * 日付が元号の期間内か否かを判定する。
+     *
+     * @param date 年月日を表すint値
+     * @return 期間内の場合はtrue
+     */
+    boolean contains(int date) {
+        return date >= since && date < until;
+    }
+
+    /**
+     * 指定位置から始まる元号名に対応する元号を取得する。
+     *
+     * @param value  文字列
+     * @param offset 開始位置
+     * @return 元号。対応する元号がない場合はnull
+     */
+    static JapaneseEra ofEraName(CharSequence value, int offset) {
+        for (JapaneseEra era : values()) {
+            if (startsWith(value, offset, era.eraName)) {
+                return era;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 文字列の指定位置が、指定された文字列で始まるか否かを判定する。
+     *
+     * @param value  文字列
+     * @param offset 開始位置
+     * @param prefix 判定する文字列
+     * @return 指定された文字列で始まる場合はtrue
+     */
+    private static boolean startsWith(CharSequence value, int offset, String prefix) {
+        if (offset < 0 || offset + prefix.length() > value.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (value.charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 元号の略称(英字。大文字、小文字を区別しない)に対応する元号を取得する。
+     *
+     * @param c 文字
+     * @return 元号。対応する元号がない場合はnull
+     */
+    static JapaneseEra ofAbbreviation(char c) {
+        char upper = c >= 'a' && c <= 'z' ? (char) (c - 'a' + 'A') : c;
+        return upper < BY_ABBREVIATION.length ? BY_ABBREVIATION[upper] : null;
+    }
+}
@@ -0,0 +1,140 @@
+package nablarch.common.date;
+
+import nablarch.core.util.FormatSpec;
+
+/**
+ * スレッド毎に直前の解析結果を保持するクラス。
+ * <p/>
+ * バリデーションでは、同じ値に対して変換可否の判定と変換が続けて呼び出される。
+ * 変換可否の判定で得た解析結果を保持しておき、変換時に再利用することで、同じ値の解析を1度で済ませる。
+ * <p/>
+ * 解析結果は解析準備済みフォーマットと値のみから決まるため、両者が一致すれば保持した結果をそのまま使用できる。
+ * <p/>
+ * 同様に、変換可否の判定で取得したフォーマット仕様を、ValidationContext、プロパティ名、値と合わせて保持し、
+ * 変換時のフォーマット仕様の取得を省略する。保持したフォーマット仕様は変換時に取得した時点で破棄する。
+ * 変換が呼び出されなかった場合は、次の変換可否の判定か{@link #clear()}の呼び出しまで残る。
+ * <p/>
+ * 保持した解析準備済みフォーマットと値は、{@link #clear()}を呼び出すまでスレッドに残る。
+ * スレッドプールのスレッドでは、アプリケーションの再デプロイ後も古いクラスローダが解放されなくなるため、
+ * リクエストの処理終了時に{@link DateThreadResources#clear()}で破棄する。
+ */
+final class LastParsedDate {
+
+    /** スレッド毎の解析結果 */
+    private static final ThreadLocal<LastParsedDate> HOLDER = new ThreadLocal<LastParsedDate>();
+
+    /** 解析に使用したフォーマット */
+    private CompiledDateFormat format;
+
+    /** 解析した値 */
+    private String value;
+
+    /** 解析結果 */
+    private long date;
+
+    /** フォーマット仕様を取得したValidationContext */
+    private Object context;
+
+    /** フォーマット仕様を取得したプロパティ名 */
+    private String propertyName;
+
+    /** フォーマット仕様を取得した時の値 */
+    private String specValue;
+
+    /** フォーマット仕様 */
+    private FormatSpec formatSpec;
+
+    /** 隠蔽コンストラクタ。 */
+    private LastParsedDate() {
+    }
+
+    /**
+     * 解析結果を保持する。
+     *
+     * @param format 解析に使用したフォーマット
+     * @param value  解析した値
+     * @param date   解析結果
+     */
+    static void set(CompiledDateFormat format, String value, long date) {
+        LastParsedDate last = holder();
+        last.format = format;
+        last.value = value;
+        last.date = date;
+    }
+
+    /**
+     * 保持している解析結果を取得する。
+     *
+     * @param format 解析に使用するフォーマット
+     * @param value  解析する値
+     * @return 解析結果。フォーマットまたは値が一致しない場合は{@link DateParser#INVALID}
+     */
+    static long get(CompiledDateFormat format, String value) {
+        LastParsedDate last = HOLDER.get();
+        if (last != null && last.format == format && value.equals(last.value)) {
+            return last.date;
+        }
+        return DateParser.INVALID;
+    }
+
+    /**
+     * 変換可否の判定で取得したフォーマット仕様を保持する。
+     *
+     * @param context      ValidationContext
+     * @param propertyName プロパティ名
+     * @param value        値
+     * @param formatSpec   フォーマット仕様
+     */
+    static void setFormatSpec(Object context, String propertyName, String value, FormatSpec formatSpec) {
+        LastParsedDate last = holder();
+        last.context = context;
+        last.propertyName = propertyName;
+        last.specValue = value;
+        last.formatSpec = formatSpec;
+    }
+
+    /**
+     * 保持しているフォーマット仕様を取得する。
+     * <p/>
+     * 取得したフォーマット仕様は破棄する。
+     *
+     * @param context      ValidationContext
+     * @param propertyName プロパティ名
+     * @param value        値
+     * @return フォーマット仕様。ValidationContext、プロパティ名、値のいずれかが一致しない場合はnull
+     */
+    static FormatSpec getFormatSpec(Object context, String propertyName, String value) {
+        LastParsedDate last = HOLDER.get();
+        if (last == null || last.context != context
+                || !propertyName.equals(last.propertyName) || !value.equals(last.specValue)) {
+            return null;
+        }
+        FormatSpec formatSpec = last.formatSpec;
+        last.context = null;
+        last.propertyName = null;
+        last.specValue = null;
+        last.formatSpec = null;
+        return formatSpec;
+    }
+
+    /**
+     * 現在のスレッドのインスタンスを取得する。
+     * <p/>
+     * 保持していない場合は生成する。
+     *
+     * @return 現在のスレッドのインスタンス
+     */
+    private static LastParsedDate holder() {
+        LastParsedDate last = HOLDER.get();
+        if (last == null) {
+            last = new LastParsedDate();
+            HOLDER.set(last);
+        }
+        return last;
+    }
+
+    /** 現在のスレッドが保持している解析結果を破棄する。 */
+    static void clear() {
+        HOLDER.remove();
+    }
+}
@@ -0,0 +1,43 @@
+package nablarch.common.date;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import nablarch.core.util.I18NUtil;
+
+/**
+ * 言語からロケールへの変換結果を保持するキャッシュ。
+ * <p/>
+ * ロケールは{@link I18NUtil#createLocale(String)}で生成し、言語毎に1度だけ生成する。
+ * 保持件数が上限に達した場合、以降の言語はキャッシュせずに都度生成する。
+ */
+final class LocaleCache {
+
+    /** 保持件数の上限 */
+    private static final int MAX_SIZE = 128;
+
+    /** 言語毎のロケール */
+    private static final ConcurrentMap<String, Locale> LOCALES = new ConcurrentHashMap<String, Locale>();
+
+    /** 隠蔽コンストラクタ。 */
+    private LocaleCache() {
+    }
+
+    /**
+     * 言語に対応するロケールを取得する。
+     *
+     * @param language 言語
+     * @return ロケール
+     */
+    static Locale getLocale(String language) {
+        Locale locale = LOCALES.get(language);
+        if (locale == null) {
+            locale = I18NUtil.createLocale(language);
+            if (LOCALES.size() < MAX_SIZE) {
+                LOCALES.putIfAbsent(language, locale);
+            }
+        }
+        return locale;
+    }
+}
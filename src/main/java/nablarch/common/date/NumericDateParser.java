@@ -0,0 +1,42 @@
+package nablarch.common.date;
+
+/**
+ * {@link NumericDatePattern}を使用して日付文字列を解析するクラス。
+ * <p/>
+ * {@link NumericDatePattern}で解析できない日付文字列(4桁を超える年)は、
+ * 代替のパーサに解析を委譲する。
+ * <p/>
+ * 時刻を含むパターンでは、夏時間への切り替えなどで代替のパーサのタイムゾーンに存在しない時刻も、
+ * 代替のパーサに解析を委譲する。{@link java.text.SimpleDateFormat}の厳密モードと同じく、解析失敗となる。
+ */
+class NumericDateParser implements DateParser {
+
+    /** 解析済みのパターン */
+    private final NumericDatePattern pattern;
+
+    /** 代替のパーサ */
+    private final SimpleDateFormatParser fallback;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param pattern  解析済みのパターン
+     * @param fallback 代替のパーサ
+     */
+    NumericDateParser(NumericDatePattern pattern, SimpleDateFormatParser fallback) {
+        this.pattern = pattern;
+        this.fallback = fallback;
+    }
+
+    /** {@inheritDoc} */
+    public long parse(CharSequence value) {
+        long date = pattern.parse(value);
+        if (date == NumericDatePattern.UNSUPPORTED) {
+            return fallback.parse(value);
+        }
+        if (date != INVALID && pattern.hasTime() && PackedDateTime.isSkipped(date, fallback.getTimeZone())) {
+            return fallback.parse(value);
+        }
+        return date;
+    }
+}
@@ -0,0 +1,494 @@
+package nablarch.common.date;
+
+import java.nio.ByteBuffer;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 数値のみで構成される日付パターン(yyyy/MM/dd、yyyy/M/d、yyyy/MM/dd HH:mmなど)を解析済みの形式で保持するクラス。
+ * <p/>
+ * パターン文字列を、区切り文字と数値フィールド(年、月、日、時、分、秒)の並びに変換して保持し、
+ * 日付文字列の解析と日付のフォーマットを、DateやCalendarを生成せずに文字単位で行う。
+ * <p/>
+ * 以下の条件を満たすパターンのみ対象とする。
+ * <ul>
+ * <li>パターン文字は、y(年、2文字を除く)、M(月、1～2文字)、d(日)、H(時)、m(分)、s(秒)のみで、
+ * それぞれ1回まで使用されている。</li>
+ * <li>引用符(')を含まない。</li>
+ * </ul>
+ * 解析結果は{@link java.text.SimpleDateFormat}(厳密モード)による解析と、
+ * 解析結果をフォーマットした値が入力値と一致することの確認を行った場合と同じになる。
+ * すなわち、各フィールドの桁数はパターン文字の数(直後に数値フィールドが続く場合)、
+ * またはパターン文字の数以上で余分な先頭0を含まない桁数でなければならない。
+ * <p/>
+ * 時分秒はタイムゾーンに依存しない時刻として解析する。
+ * 夏時間への切り替えなどでタイムゾーンに存在しない時刻の判定は、{@link NumericDateParser}で行う。
+ * <p/>
+ * 本クラスのインスタンスは不変であり、スレッドセーフである。
+ */
+final class NumericDatePattern {
+
+    /** 年フィールドを表す値 */
+    private static final int YEAR = -1;
+
+    /** 月フィールドを表す値 */
+    private static final int MONTH = -2;
+
+    /** 日フィールドを表す値 */
+    private static final int DAY = -3;
+
+    /** 時フィールドを表す値 */
+    private static final int HOUR = -4;
+
+    /** 分フィールドを表す値 */
+    private static final int MINUTE = -5;
+
+    /** 秒フィールドを表す値 */
+    private static final int SECOND = -6;
+
+    /** 本クラスで解析する年フィールドの最大桁数 */
+    private static final int MAX_YEAR_DIGITS = 4;
+
+    /** 本クラスで解析する年以外のフィールドの最大桁数 */
+    private static final int MAX_FIELD_DIGITS = 4;
+
+    /** パターンに年が含まれない場合の年 */
+    private static final int DEFAULT_YEAR = 1970;
+
+    /** 本クラスの解析範囲外であることを表す値 */
+    static final int UNSUPPORTED = -2;
+
+    /** パターン要素。区切り文字の場合は文字コード、フィールドの場合はフィールドを表す負の値 */
+    private final int[] elements;
+
+    /** フィールドの最小桁数(区切り文字の場合は0) */
+    private final int[] widths;
+
+    /** フィールドの桁数が固定か否か(直後に数値フィールドが続く場合はtrue) */
+    private final boolean[] fixed;
+
+    /** 全フィールドが最小桁数の場合の日付文字列の長さ */
+    private final int minLength;
+
+    /** 時分秒のいずれかのフィールドを含むか否か */
+    private final boolean hasTime;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param elements パターン要素
+     * @param widths   フィールドの最小桁数
+     */
+    private NumericDatePattern(int[] elements, int[] widths) {
+        this.elements = elements;
+        this.widths = widths;
+        this.fixed = new boolean[elements.length];
+        int length = 0;
+        boolean time = false;
+        for (int i = 0; i < elements.length; i++) {
+            fixed[i] = elements[i] < 0 && i + 1 < elements.length && elements[i + 1] < 0;
+            length += elements[i] < 0 ? widths[i] : 1;
+            time |= elements[i] == HOUR || elements[i] == MINUTE || elements[i] == SECOND;
+        }
+        this.minLength = length;
+        this.hasTime = time;
+    }
+
+    /**
+     * パターン文字列を解析する。
+     *
+     * @param pattern パターン文字列
+     * @return 解析済みのパターン。本クラスの対象外のパターンの場合はnull
+     */
+    static NumericDatePattern compile(String pattern) {
+        if (pattern == null || pattern.length() == 0) {
+            return null;
+        }
+        List<int[]> elements = new ArrayList<int[]>();
+        boolean hasYear = false;
+        boolean hasMonth = false;
+        boolean hasDay = false;
+        boolean hasHour = false;
+        boolean hasMinute = false;
+        boolean hasSecond = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                return null;
+            }
+            if (!isAsciiLetter(c)) {
+                elements.add(new int[] {c, 0});
+                i++;
+                continue;
+            }
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                count++;
+            }
+            if (c == 'y' && count != 2 && !hasYear) {
+                hasYear = true;
+                elements.add(new int[] {YEAR, count});
+            } else if (c == 'M' && count <= 2 && !hasMonth) {
+                hasMonth = true;
+                elements.add(new int[] {MONTH, count});
+            } else if (c == 'd' && !hasDay) {
+                hasDay = true;
+                elements.add(new int[] {DAY, count});
+            } else if (c == 'H' && !hasHour) {
+                hasHour = true;
+                elements.add(new int[] {HOUR, count});
+            } else if (c == 'm' && !hasMinute) {
+                hasMinute = true;
+                elements.add(new int[] {MINUTE, count});
+            } else if (c == 's' && !hasSecond) {
+                hasSecond = true;
+                elements.add(new int[] {SECOND, count});
+            } else {
+                return null;
+            }
+            i += count;
+        }
+        if (!hasYear && !hasMonth && !hasDay && !hasHour && !hasMinute && !hasSecond) {
+            return null;
+        }
+        int[] types = new int[elements.size()];
+        int[] widths = new int[elements.size()];
+        for (int j = 0; j < types.length; j++) {
+            types[j] = elements.get(j)[0];
+            widths[j] = elements.get(j)[1];
+        }
+        return new NumericDatePattern(types, widths);
+    }
+
+    /**
+     * ロケールが本クラスでの解析に対応しているか否かを判定する。
+     * <p/>
+     * ロケール及びデフォルトロケールの暦がグレゴリオ暦で、数字にASCIIの数字を使用する場合に対応していると判定する。
+     *
+     * @param locale ロケール
+     * @return 対応している場合はtrue
+     */
+    static boolean isSupported(Locale locale) {
+        return Calendar.getInstance(locale).getClass() == GregorianCalendar.class
+                && Calendar.getInstance().getClass() == GregorianCalendar.class
+                && DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+    }
+
+    /**
+     * 日付文字列を解析する。
+     * <p/>
+     * 年フィールドが4桁を超える日付文字列は本クラスでは解析しない。
+     *
+     * @param value 日付文字列
+     * @return 年月日と時分秒を表すlong値({@link PackedDateTime})。
+     *         解析できない場合は{@link DateParser#INVALID}、本クラスの解析範囲外の場合は{@link #UNSUPPORTED}
+     */
+    long parse(CharSequence value) {
+        int length = value.length();
+        if (length < minLength) {
+            return DateParser.INVALID;
+        }
+        int year = DEFAULT_YEAR;
+        int month = 1;
+        int day = 1;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int pos = 0;
+        for (int i = 0; i < elements.length; i++) {
+            int element = elements[i];
+            if (element >= 0) {
+                if (pos >= length || value.charAt(pos) != element) {
+                    return DateParser.INVALID;
+                }
+                pos++;
+                continue;
+            }
+            int digits = fixed[i] ? widths[i] : countDigits(value, pos);
+            if (digits < widths[i] || pos + digits > length) {
+                return DateParser.INVALID;
+            }
+            if (digits > widths[i] && value.charAt(pos) == '0') {
+                // フォーマット時に付与されない先頭0
+                return DateParser.INVALID;
+            }
+            if (digits > (element == YEAR ? MAX_YEAR_DIGITS : MAX_FIELD_DIGITS)) {
+                return element == YEAR ? UNSUPPORTED : DateParser.INVALID;
+            }
+            int number = parseDigits(value, pos, digits);
+            if (number < 0) {
+                return DateParser.INVALID;
+            }
+            pos += digits;
+            if (element == YEAR) {
+                if (widths[i] == 1 && digits == 2) {
+                    // 2桁の年は世紀を補完して解釈されるため、1文字のパターンでは一致しない
+                    return DateParser.INVALID;
+                }
+                year = number;
+            } else if (element == MONTH) {
+                month = number;
+            } else if (element == DAY) {
+                day = number;
+            } else if (element == HOUR) {
+                hour = number;
+            } else if (element == MINUTE) {
+                minute = number;
+            } else {
+                second = number;
+            }
+        }
+        if (pos != length || !PackedDate.isValid(year, month, day)
+                || !PackedDateTime.isValidTime(hour, minute, second)) {
+            return DateParser.INVALID;
+        }
+        return PackedDateTime.of(PackedDate.of(year, month, day), hour, minute, second);
+    }
+
+    /**
+     * 日付をフォーマットする。
+     *
+     * @param date 年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @return フォーマットした文字列
+     */
+    String format(long date) {
+        char[] chars = new char[formattedLength(date)];
+        write(date, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 日付をフォーマットした場合の文字数を取得する。
+     *
+     * @param date 年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @return フォーマットした場合の文字数
+     */
+    int formattedLength(long date) {
+        int length = 0;
+        for (int i = 0; i < elements.length; i++) {
+            length += elements[i] >= 0 ? 1 : Math.max(widths[i], digitCount(valueOf(elements[i], date)));
+        }
+        return length;
+    }
+
+    /**
+     * 日付をフォーマットし、文字配列に書き込む。
+     * <p/>
+     * 書き込み先には、書き込み開始位置から{@link #formattedLength(long)}以上の領域が必要である。
+     *
+     * @param date   年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @param chars  書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込み終了位置(書き込んだ最後の文字の次の位置)
+     */
+    int write(long date, char[] chars, int offset) {
+        int pos = offset;
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] >= 0) {
+                chars[pos++] = (char) elements[i];
+            } else {
+                int number = valueOf(elements[i], date);
+                pos = writeDigits(chars, pos, number, Math.max(widths[i], digitCount(number)));
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * 日付をフォーマットし、バイト配列にASCIIで書き込む。
+     * <p/>
+     * 書き込み先には、書き込み開始位置から{@link #formattedLength(long)}以上の領域が必要である。
+     * 区切り文字がASCII以外のパターン({@link #isAscii()}がfalse)では使用できない。
+     *
+     * @param date   年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @param bytes  書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込み終了位置(書き込んだ最後のバイトの次の位置)
+     */
+    int write(long date, byte[] bytes, int offset) {
+        int pos = offset;
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] >= 0) {
+                bytes[pos++] = (byte) elements[i];
+            } else {
+                int number = valueOf(elements[i], date);
+                int digits = Math.max(widths[i], digitCount(number));
+                for (int j = pos + digits - 1; j >= pos; j--) {
+                    bytes[j] = (byte) ('0' + number % 10);
+                    number /= 10;
+                }
+                pos += digits;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * 日付をフォーマットし、ByteBufferにASCIIで書き込む。
+     * <p/>
+     * 書き込み位置はByteBufferの先頭(インデックス0)からの位置で指定し、ByteBufferのpositionは変更しない。
+     * 書き込み先には、書き込み開始位置からlimitまでに{@link #formattedLength(long)}以上の領域が必要である。
+     * 区切り文字がASCII以外のパターン({@link #isAscii()}がfalse)では使用できない。
+     *
+     * @param date   年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @param buffer 書き込み先
+     * @param offset 書き込み開始位置
+     * @return 書き込み終了位置(書き込んだ最後のバイトの次の位置)
+     */
+    int write(long date, ByteBuffer buffer, int offset) {
+        int pos = offset;
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] >= 0) {
+                buffer.put(pos++, (byte) elements[i]);
+            } else {
+                int number = valueOf(elements[i], date);
+                int digits = Math.max(widths[i], digitCount(number));
+                for (int j = pos + digits - 1; j >= pos; j--) {
+                    buffer.put(j, (byte) ('0' + number % 10));
+                    number /= 10;
+                }
+                pos += digits;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * 時分秒のいずれかのフィールドを含むか否かを判定する。
+     *
+     * @return 時分秒のいずれかのフィールドを含む場合はtrue
+     */
+    boolean hasTime() {
+        return hasTime;
+    }
+
+    /**
+     * 区切り文字が全てASCIIか否かを判定する。
+     *
+     * @return 区切り文字が全てASCIIの場合はtrue
+     */
+    boolean isAscii() {
+        for (int element : elements) {
+            if (element > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * フィールドに対応する値を取得する。
+     *
+     * @param field フィールド
+     * @param date  年月日と時分秒を表すlong値({@link PackedDateTime})
+     * @return フィールドの値
+     */
+    private static int valueOf(int field, long date) {
+        switch (field) {
+            case YEAR:
+                return PackedDate.year(PackedDateTime.date(date));
+            case MONTH:
+                return PackedDate.month(PackedDateTime.date(date));
+            case DAY:
+                return PackedDate.day(PackedDateTime.date(date));
+            case HOUR:
+                return PackedDateTime.hour(date);
+            case MINUTE:
+                return PackedDateTime.minute(date);
+            default:
+                return PackedDateTime.second(date);
+        }
+    }
+
+    /**
+     * 指定位置から連続する数字の数を取得する。
+     *
+     * @param value  文字列
+     * @param offset 開始位置
+     * @return 連続する数字の数
+     */
+    private static int countDigits(CharSequence value, int offset) {
+        int i = offset;
+        while (i < value.length() && isDigit(value.charAt(i))) {
+            i++;
+        }
+        return i - offset;
+    }
+
+    /**
+     * 文字列の指定位置から数値を取得する。
+     *
+     * @param value  文字列
+     * @param offset 開始位置
+     * @param digits 桁数
+     * @return 数値。数字以外が含まれる場合は-1
+     */
+    private static int parseDigits(CharSequence value, int offset, int digits) {
+        int result = 0;
+        for (int i = offset; i < offset + digits; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * 数値を指定された桁数で書き込む。
+     *
+     * @param chars  書き込み先
+     * @param offset 書き込み開始位置
+     * @param value  数値
+     * @param digits 桁数
+     * @return 書き込み後の位置
+     */
+    private static int writeDigits(char[] chars, int offset, int value, int digits) {
+        int v = value;
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        return offset + digits;
+    }
+
+    /**
+     * 数値の桁数を取得する。
+     *
+     * @param value 数値
+     * @return 桁数
+     */
+    private static int digitCount(int value) {
+        int count = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * ASCIIの数字か否かを判定する。
+     *
+     * @param c 文字
+     * @return ASCIIの数字の場合はtrue
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * ASCIIの英字か否かを判定する。
+     *
+     * @param c 文字
+     * @return ASCIIの英字の場合はtrue
+     */
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,193 @@
+package nablarch.common.date;
+
+/**
+ * 年月日を1つのint値(年 * 10000 + 月 * 100 + 日)で表すためのユーティリティ。
+ * <p/>
+ * 例えば2011年9月9日は{@code 20110909}となる。
+ * 日付の解析結果をDateやCalendarを生成せずに受け渡すために使用する。
+ * <p/>
+ * 日付の妥当性は{@link java.util.GregorianCalendar}(厳密モード)と同じ規則で判定する。
+ * すなわち1582年10月15日より前はユリウス暦の閏年規則を適用し、
+ * 1582年10月5日から14日までは存在しない日付とする。
+ * <p/>
+ * 妥当性の判定は、月の日数表と1年から9999年までの閏年表を参照して行う。
+ * 閏年表は初回の参照時に生成する。
+ */
+final class PackedDate {
+
+    /** グレゴリオ暦へ切り替わった年 */
+    private static final int CUTOVER_YEAR = 1582;
+
+    /** グレゴリオ暦へ切り替わった月 */
+    private static final int CUTOVER_MONTH = 10;
+
+    /** ユリウス暦最終日の翌日(存在しない日付の先頭) */
+    private static final int CUTOVER_GAP_START = 5;
+
+    /** グレゴリオ暦初日 */
+    private static final int CUTOVER_GAP_END = 15;
+
+    /** 1970年1月1日のユリウス通日 */
+    private static final long EPOCH_JULIAN_DAY = 2440588L;
+
+    /** 閏年表で保持する年の最大値 */
+    private static final int TABLE_MAX_YEAR = 9999;
+
+    /** 月の日数(閏年以外。インデックスは月) */
+    private static final byte[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /** 表現可能な年の最大値 */
+    static final int MAX_YEAR = Integer.MAX_VALUE / 10000 - 1;
+
+    /** 隠蔽コンストラクタ。 */
+    private PackedDate() {
+    }
+
+    /**
+     * 年月日をint値に変換する。
+     *
+     * @param year  年
+     * @param month 月
+     * @param day   日
+     * @return 年月日を表すint値
+     */
+    static int of(int year, int month, int day) {
+        return year * 10000 + month * 100 + day;
+    }
+
+    /**
+     * 年を取得する。
+     *
+     * @param date 年月日を表すint値
+     * @return 年
+     */
+    static int year(int date) {
+        return date / 10000;
+    }
+
+    /**
+     * 月を取得する。
+     *
+     * @param date 年月日を表すint値
+     * @return 月
+     */
+    static int month(int date) {
+        return date / 100 % 100;
+    }
+
+    /**
+     * 日を取得する。
+     *
+     * @param date 年月日を表すint値
+     * @return 日
+     */
+    static int day(int date) {
+        return date % 100;
+    }
+
+    /**
+     * 年月日が存在する日付か否かを判定する。
+     *
+     * @param year  年
+     * @param month 月
+     * @param day   日
+     * @return 存在する日付の場合はtrue
+     */
+    static boolean isValid(int year, int month, int day) {
+        if (year < 1 || year > MAX_YEAR || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        if (year == CUTOVER_YEAR && month == CUTOVER_MONTH
+                && day >= CUTOVER_GAP_START && day < CUTOVER_GAP_END) {
+            return false;
+        }
+        return day <= daysInMonth(year, month);
+    }
+
+    /**
+     * 月の日数を取得する。
+     *
+     * @param year  年
+     * @param month 月
+     * @return 月の日数
+     */
+    static int daysInMonth(int year, int month) {
+        if (month == 2 && isLeapYear(year)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month];
+    }
+
+    /**
+     * 閏年か否かを判定する。
+     *
+     * @param year 年
+     * @return 閏年の場合はtrue
+     */
+    static boolean isLeapYear(int year) {
+        if (year < 1 || year > TABLE_MAX_YEAR) {
+            return calculateLeapYear(year);
+        }
+        return (LeapYearTable.BITS[year >>> 6] & (1L << year)) != 0;
+    }
+
+    /**
+     * 閏年か否かを計算する。
+     *
+     * @param year 年
+     * @return 閏年の場合はtrue
+     */
+    private static boolean calculateLeapYear(int year) {
+        if (year <= CUTOVER_YEAR) {
+            return year % 4 == 0;
+        }
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 閏年表。
+     * <p/>
+     * 初回の参照時にクラスが初期化され、表が生成される。
+     */
+    private static final class LeapYearTable {
+
+        /** 閏年のビット集合(年をビット位置とする) */
+        private static final long[] BITS = new long[(TABLE_MAX_YEAR >>> 6) + 1];
+
+        static {
+            for (int year = 1; year <= TABLE_MAX_YEAR; year++) {
+                if (calculateLeapYear(year)) {
+                    BITS[year >>> 6] |= 1L << year;
+                }
+            }
+        }
+    }
+
+    /**
+     * 1970年1月1日からの経過日数を取得する。
+     * <p/>
+     * {@link java.util.GregorianCalendar}と同様に、1582年10月15日以降はグレゴリオ暦、
+     * それより前はユリウス暦の日付として計算する。
+     * 1970年1月1日より前の日付は負数となる。
+     *
+     * @param date 年月日を表すint値
+     * @return 1970年1月1日からの経過日数
+     */
+    static long epochDay(int date) {
+        int year = year(date);
+        int month = month(date);
+        int day = day(date);
+        // 3月始まりの年に変換し、ユリウス通日を求める
+        int a = (14 - month) / 12;
+        long y = year + 4800L - a;
+        int m = month + 12 * a - 3;
+        long julianDay = day + (153 * m + 2) / 5 + 365 * y + y / 4;
+        if (year > CUTOVER_YEAR || (year == CUTOVER_YEAR
+                && (month > CUTOVER_MONTH || (month == CUTOVER_MONTH && day >= CUTOVER_GAP_END)))) {
+            julianDay += -y / 100 + y / 400 - 32045;
+        } else {
+            julianDay -= 32083;
+        }
+        return julianDay - EPOCH_JULIAN_DAY;
+    }
+}
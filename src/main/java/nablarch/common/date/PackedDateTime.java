@@ -0,0 +1,125 @@
+package nablarch.common.date;
+
+import java.util.TimeZone;
+
+/**
+ * 年月日と時分秒を1つのlong値で表すためのユーティリティ。
+ * <p/>
+ * 下位32ビットに年月日({@link PackedDate}形式のint値)、
+ * 上位32ビットに時分秒(時 * 10000 + 分 * 100 + 秒)を格納する。
+ * 例えば2011年9月9日12時34分56秒は{@code (123456L << 32) | 20110909}となる。
+ * <p/>
+ * 時分秒が0時0分0秒の場合は{@link PackedDate}形式のint値と等しくなるため、
+ * 年月日のみの解析結果と年月日時分秒の解析結果を同じ経路で受け渡すことができる。
+ */
+final class PackedDateTime {
+
+    /** 時分秒を格納する位置 */
+    private static final int TIME_SHIFT = 32;
+
+    /** 年月日を取り出すためのマスク */
+    private static final long DATE_MASK = 0xFFFFFFFFL;
+
+    /** 1日のミリ秒数 */
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    /** 隠蔽コンストラクタ。 */
+    private PackedDateTime() {
+    }
+
+    /**
+     * 年月日と時分秒をlong値に変換する。
+     *
+     * @param date   年月日を表すint値({@link PackedDate})
+     * @param hour   時
+     * @param minute 分
+     * @param second 秒
+     * @return 年月日と時分秒を表すlong値
+     */
+    static long of(int date, int hour, int minute, int second) {
+        return ((long) (hour * 10000 + minute * 100 + second) << TIME_SHIFT) | date;
+    }
+
+    /**
+     * 年月日を取得する。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値
+     * @return 年月日を表すint値({@link PackedDate})
+     */
+    static int date(long dateTime) {
+        return (int) (dateTime & DATE_MASK);
+    }
+
+    /**
+     * 時を取得する。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値
+     * @return 時
+     */
+    static int hour(long dateTime) {
+        return time(dateTime) / 10000;
+    }
+
+    /**
+     * 分を取得する。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値
+     * @return 分
+     */
+    static int minute(long dateTime) {
+        return time(dateTime) / 100 % 100;
+    }
+
+    /**
+     * 秒を取得する。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値
+     * @return 秒
+     */
+    static int second(long dateTime) {
+        return time(dateTime) % 100;
+    }
+
+    /**
+     * 時分秒が存在する時刻か否かを判定する。
+     *
+     * @param hour   時
+     * @param minute 分
+     * @param second 秒
+     * @return 存在する時刻の場合はtrue
+     */
+    static boolean isValidTime(int hour, int minute, int second) {
+        return hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59 && second >= 0 && second <= 59;
+    }
+
+    /**
+     * 年月日と時分秒が、タイムゾーンで存在しない時刻(夏時間への切り替えなどで飛ばされる時刻)か否かを判定する。
+     * <p/>
+     * 年月日と時分秒をUTCとみなした時点の前後のオフセットのいずれを適用しても、
+     * 適用後の時点のオフセットと一致しない場合に、存在しない時刻と判定する。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値
+     * @param zone     タイムゾーン
+     * @return 存在しない時刻の場合はtrue
+     */
+    static boolean isSkipped(long dateTime, TimeZone zone) {
+        long local = PackedDate.epochDay(date(dateTime)) * MILLIS_PER_DAY
+                + (hour(dateTime) * 3600L + minute(dateTime) * 60L + second(dateTime)) * 1000L;
+        int offset = zone.getOffset(local);
+        int actual = zone.getOffset(local - offset);
+        if (actual == offset) {
+            return false;
+        }
+        return zone.getOffset(local - actual) != actual;
+    }
+
+    /**
+     * 時分秒を取得する。
+     *
+     * @param dateTime 年月日と時分秒を表すlong値
+     * @return 時 * 10000 + 分 * 100 + 秒
+     */
+    private static int time(long dateTime) {
+        return (int) (dateTime >>> TIME_SHIFT);
+    }
+}
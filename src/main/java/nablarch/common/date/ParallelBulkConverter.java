@@ -0,0 +1,193 @@
+package nablarch.common.date;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import nablarch.core.util.FormatSpec;
+
+/**
+ * 大量の値を複数スレッドで並列に変換するクラス。
+ * <p/>
+ * 入力値を一定件数毎のチャンクに分割し、指定された並列度の数のタスクが
+ * チャンクを1つずつ取得しながら{@link ExecutorService}上で変換する。
+ * 変換結果は入力値と同じ順序で格納され、{@link AbstractDateStringConverter#convertAll(String[], FormatSpec)}
+ * メソッドと同じ結果となる。
+ * <p/>
+ * 日付の解析には、スレッド間で共有可能な解析準備済みフォーマットを使用する。
+ * {@link java.text.SimpleDateFormat}を使用する場合も、インスタンスはスレッド毎に保持されスレッド間で共有されない。
+ * <p/>
+ * {@link ExecutorService}のライフサイクルは本クラスの利用者が管理する。
+ * 変換のためにスレッド毎に保持した値({@link DateThreadResources})は、
+ * 呼び出し元と異なるスレッドで実行したタスクの変換終了時に破棄する。
+ * 呼び出し元のスレッドで実行されたタスク({@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy}など)では、
+ * 呼び出し元の処理で使用中の値を破棄しないよう、破棄はリクエストの処理終了時
+ * ({@link DateThreadResourceCleanupHandler})に委ねる。
+ * 並列度は{@link ExecutorService}のスレッド数以下とすること。
+ * <p/>
+ * 本クラスのインスタンスはスレッドセーフである。
+ *
+ * @author agent
+ */
+public class ParallelBulkConverter {
+
+    /** チャンクの件数のデフォルト値 */
+    private static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    /** 変換に使用するコンバータ */
+    private final AbstractDateStringConverter converter;
+
+    /** 変換を実行する{@link ExecutorService} */
+    private final ExecutorService executor;
+
+    /** 並列度 */
+    private final int parallelism;
+
+    /** チャンクの件数 */
+    private volatile int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param converter   変換に使用するコンバータ
+     * @param executor    変換を実行する{@link ExecutorService}
+     * @param parallelism 並列度(同時に実行するタスクの数)
+     */
+    public ParallelBulkConverter(AbstractDateStringConverter converter, ExecutorService executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive. parallelism=" + parallelism);
+        }
+        this.converter = converter;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * チャンクの件数を設定する。
+     * <p/>
+     * デフォルトは8192件。
+     *
+     * @param chunkSize チャンクの件数
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive. chunkSize=" + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 指定された許容フォーマットで複数の値を並列に変換する。
+     * <p/>
+     * allowFormatから生成したフォーマット仕様で、{@link #convertAll(String[], FormatSpec)}メソッドに処理を委譲する。
+     *
+     * @param values      値
+     * @param allowFormat 入力値として許容するフォーマット
+     * @return 変換結果
+     */
+    public BulkConversionResult convertAll(String[] values, String allowFormat) {
+        return convertAll(values, converter.getDefaultFormatSpec(allowFormat));
+    }
+
+    /**
+     * 指定されたフォーマット仕様で複数の値を並列に変換する。
+     * <p/>
+     * 全てのチャンクの変換が完了するまで呼び出し元のスレッドは待機する。
+     * 変換中に割り込まれた場合は、未完了のタスクを取り消し{@link IllegalStateException}を送出する。
+     * <p/>
+     * タスクの数は並列度とチャンクの数の小さい方となる。
+     * 変換できなかった値のインデックスはチャンク毎に保持し、全てのタスクの完了後に1つにまとめる。
+     *
+     * @param values     値
+     * @param formatSpec フォーマット仕様
+     * @return 変換結果
+     * @throws IllegalArgumentException 値がnullの場合
+     */
+    public BulkConversionResult convertAll(final String[] values, FormatSpec formatSpec) {
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null.");
+        }
+        final CompiledDateFormat compiled = converter.getCompiledFormat(formatSpec);
+        final String[] converted = new String[values.length];
+        final int size = chunkSize;
+        final int chunkCount = (int) ((values.length + (long) size - 1) / size);
+        final BitSet[] chunkFailures = new BitSet[chunkCount];
+        final AtomicInteger nextChunk = new AtomicInteger();
+        final Thread caller = Thread.currentThread();
+
+        int taskCount = Math.min(parallelism, chunkCount);
+        List<Future<?>> futures = new ArrayList<Future<?>>(taskCount);
+        try {
+            for (int i = 0; i < taskCount; i++) {
+                futures.add(executor.submit(new Runnable() {
+                    public void run() {
+                        BitSet failures = new BitSet(Math.min(size, values.length));
+                        try {
+                            int chunk;
+                            while ((chunk = nextChunk.getAndIncrement()) < chunkCount) {
+                                int from = chunk * size;
+                                converter.convertRange(compiled, values, from,
+                                        Math.min(from + size, values.length), converted, failures);
+                                if (!failures.isEmpty()) {
+                                    chunkFailures[chunk] = (BitSet) failures.clone();
+                                    failures.clear();
+                                }
+                            }
+                        } finally {
+                            if (Thread.currentThread() != caller) {
+                                // 利用者のスレッドプールに解析結果などを残さない
+                                DateThreadResources.clear();
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return new BulkConversionResult(converted, merge(chunkFailures, size));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("bulk conversion was interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * チャンク毎の変換できなかった値のインデックスを、入力値全体のインデックスにまとめる。
+     *
+     * @param chunkFailures チャンク毎の変換できなかった値のインデックス(チャンクの先頭からの位置。存在しない場合はnull)
+     * @param chunkSize     チャンクの件数
+     * @return 変換できなかった値のインデックス
+     */
+    private static BitSet merge(BitSet[] chunkFailures, int chunkSize) {
+        BitSet failures = new BitSet();
+        for (int chunk = 0; chunk < chunkFailures.length; chunk++) {
+            BitSet chunkFailure = chunkFailures[chunk];
+            if (chunkFailure == null) {
+                continue;
+            }
+            int offset = chunk * chunkSize;
+            for (int i = chunkFailure.nextSetBit(0); i >= 0; i = chunkFailure.nextSetBit(i + 1)) {
+                failures.set(offset + i);
+            }
+        }
+        return failures;
+    }
+}
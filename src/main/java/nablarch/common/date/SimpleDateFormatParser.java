@@ -0,0 +1,106 @@
+package nablarch.common.date;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import nablarch.core.util.DateUtil;
+
+/**
+ * {@link SimpleDateFormat}を使用して日付文字列を解析するクラス。
+ * <p/>
+ * 解析仕様は{@link DateUtil#getParsedDate(String, String, Locale)}と同じである。
+ * 厳密な解析(lenient=false)を行い、解析結果をフォーマットした値が入力値と一致しない場合は解析失敗とする。
+ * <p/>
+ * 解析結果の年月日は、デフォルトロケールの{@link Calendar}で取得する。
+ * フォーマットに時刻のパターン文字(H、k、K、h、m、s)が含まれる場合は、時分秒も取得する。
+ * 年が{@link PackedDate#MAX_YEAR}より後の場合は、年月日をint値で表現できないため解析失敗とする。
+ * <p/>
+ * {@link SimpleDateFormat}はスレッドセーフではないため、{@link DateThreadResources}でスレッド毎にインスタンスを保持する。
+ * パターンの解釈はスレッド毎に1度だけ行われる。
+ * スレッドに保持したインスタンスの破棄については{@link DateThreadResources}を参照。
+ */
+class SimpleDateFormatParser implements DateParser {
+
+    /** 日付フォーマット */
+    private final String format;
+
+    /** ロケール */
+    private final Locale locale;
+
+    /** フォーマットに時刻のパターン文字が含まれるか否か */
+    private final boolean hasTime;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param format 日付フォーマット
+     * @param locale ロケール
+     */
+    SimpleDateFormatParser(String format, Locale locale) {
+        this.format = format;
+        this.locale = locale;
+        this.hasTime = hasTimeField(format);
+    }
+
+    /**
+     * フォーマットに時刻のパターン文字が含まれるか否かを判定する。
+     * <p/>
+     * 引用符(')で囲まれた文字列は判定の対象外とする。
+     *
+     * @param format 日付フォーマット
+     * @return 時刻のパターン文字が含まれる場合はtrue
+     */
+    private static boolean hasTimeField(String format) {
+        boolean quoted = false;
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && "HkKhms".indexOf(c) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析に使用するタイムゾーンを取得する。
+     * <p/>
+     * 現在のスレッドの{@link SimpleDateFormat}のタイムゾーン(インスタンス生成時のデフォルトタイムゾーン)を返す。
+     *
+     * @return タイムゾーン
+     */
+    TimeZone getTimeZone() {
+        return DateThreadResources.parseFormat(format, locale).getTimeZone();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * {@link SimpleDateFormat}で解析するため、値は文字列に変換してから解析する。
+     */
+    public long parse(CharSequence value) {
+        String string = value.toString();
+        SimpleDateFormat sdf = DateThreadResources.parseFormat(format, locale);
+        Date date = sdf.parse(string, new ParsePosition(0));
+        if (date == null || !sdf.format(date).equals(string)) {
+            return INVALID;
+        }
+        Calendar calendar = DateThreadResources.calendar();
+        calendar.setTime(date);
+        int year = calendar.get(Calendar.YEAR);
+        if (year > PackedDate.MAX_YEAR) {
+            return INVALID;
+        }
+        int packedDate = PackedDate.of(year, calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_MONTH));
+        if (!hasTime) {
+            return packedDate;
+        }
+        return PackedDateTime.of(packedDate, calendar.get(Calendar.HOUR_OF_DAY),
+                calendar.get(Calendar.MINUTE), calendar.get(Calendar.SECOND));
+    }
+}
@@ -0,0 +1,78 @@
+package nablarch.common.date;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 複数スレッドから同時に加算される件数を、ロックを取得せずに集計するカウンタ。
+ * <p/>
+ * スレッド毎に異なる領域(ストライプ)に加算し、参照時に全領域を合計する。
+ * 各領域は別のキャッシュラインに配置し、スレッド間の競合を避ける。
+ */
+final class StripedCounter {
+
+    /** ストライプ数 */
+    static final int STRIPES = stripes();
+
+    /** 1ストライプあたりの要素数(キャッシュライン64バイト分) */
+    private static final int PADDING = 8;
+
+    /** 件数 */
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    /**
+     * 件数を加算する。
+     *
+     * @param delta 加算する値
+     */
+    void add(long delta) {
+        cells.getAndAdd(stripe() * PADDING, delta);
+    }
+
+    /** 件数に1を加算する。 */
+    void increment() {
+        add(1);
+    }
+
+    /**
+     * 件数の合計を取得する。
+     *
+     * @return 件数の合計
+     */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * 現在のスレッドが使用するストライプを取得する。
+     *
+     * @return ストライプ
+     */
+    static int stripe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32));
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h & (STRIPES - 1);
+    }
+
+    /**
+     * ストライプ数を求める。
+     * <p/>
+     * 利用可能なプロセッサ数の2倍以上の最小の2の累乗とし、最大64とする。
+     *
+     * @return ストライプ数
+     */
+    private static int stripes() {
+        int target = Math.min(Runtime.getRuntime().availableProcessors() * 2, 64);
+        int stripes = 1;
+        while (stripes < target) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+}
@@ -0,0 +1,58 @@
+package nablarch.common.date;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 処理時間(ナノ秒)の分布を、ロックを取得せずに集計するヒストグラム。
+ * <p/>
+ * i番目の区間には、2<sup>i</sup>ナノ秒以上2<sup>i+1</sup>ナノ秒未満の件数を集計する(0番目は2ナノ秒未満)。
+ * {@link StripedCounter}と同様に、スレッド毎に異なる領域に加算する。
+ */
+final class StripedHistogram {
+
+    /** 区間数 */
+    static final int BUCKETS = 40;
+
+    /** 1ストライプあたりの要素数(キャッシュライン単位に切り上げた区間数) */
+    private static final int ROW = 48;
+
+    /** 区間毎の件数 */
+    private final AtomicLongArray cells = new AtomicLongArray(StripedCounter.STRIPES * ROW);
+
+    /**
+     * 処理時間を記録する。
+     *
+     * @param nanos 処理時間(ナノ秒)
+     */
+    void record(long nanos) {
+        cells.getAndIncrement(StripedCounter.stripe() * ROW + bucketOf(nanos));
+    }
+
+    /**
+     * 区間毎の件数を取得する。
+     *
+     * @return 区間毎の件数
+     */
+    long[] snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int stripe = 0; stripe < StripedCounter.STRIPES; stripe++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts[bucket] += cells.get(stripe * ROW + bucket);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 処理時間が属する区間を求める。
+     *
+     * @param nanos 処理時間(ナノ秒)
+     * @return 区間
+     */
+    static int bucketOf(long nanos) {
+        if (nanos < 2) {
+            return 0;
+        }
+        return Math.min(63 - Long.numberOfLeadingZeros(nanos), BUCKETS - 1);
+    }
+}
@@ -0,0 +1,47 @@
+package nablarch.common.date;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import nablarch.core.util.annotation.Published;
+import nablarch.core.validation.ConversionFormat;
+
+/**
+ * {@link WarekiConvertor}で許容する和暦の年月日フォーマットを指定するアノテーション。
+ *
+ * @author agent
+ */
+@ConversionFormat
+@Target({ ElementType.FIELD, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Published
+public @interface Wareki {
+
+    /**
+     * 入力値として許容する和暦の年月日フォーマット。
+     * <p/>
+     * {@link java.text.SimpleDateFormat}の構文に準じて指定すること。
+     * パターン文字は、G(元号)、y(和暦の年)、M(月)、d(月における日)を1回ずつ指定する。
+     * Gは4文字以上の場合は元号名(令和など)、3文字以下の場合は英字の略称(Rなど)となる。
+     * <p/>
+     * 例:「GGGGy年M月d日」(令和5年9月9日)、「Gyy.MM.dd」(R05.09.09)
+     */
+    String allowFormat() default "";
+
+    /**
+     * 入力値として許容する和暦の年月日フォーマット(複数指定)。
+     * <p/>
+     * 複数のフォーマットを許容する場合に指定する。
+     * allowFormatと併せて指定した場合は、allowFormat、allowFormatsの順に全てのフォーマットを許容する。
+     */
+    String[] allowFormats() default { };
+
+    /**
+     * 変換失敗時のメッセージID。
+     * <p/>
+     * 指定がない場合は{@link WarekiConvertor}に設定されたメッセージIDを使用する。
+     */
+    String messageId() default "";
+}
@@ -0,0 +1,77 @@
+package nablarch.common.date;
+
+import java.lang.annotation.Annotation;
+import java.util.Locale;
+
+/**
+ * 和暦で入力された値を年月日を表す文字列(yyyyMMdd)に変換するクラス。
+ * <p/>
+ * 本クラスで変換するプロパティには、必ず{@link Wareki}アノテーションを付与しておく必要がある。
+ * <p/>
+ * 元号名と英字の略称は、元号の開始日の表を使用して解析する。
+ * {@link java.text.SimpleDateFormat}とJapaneseImperialCalendarは使用しない。
+ * <p/>
+ * <b>バリデーション仕様</b>
+ * <p/>
+ * {@code @Wareki(allowFormat="GGGGy年M月d日")}を設定したプロパティに対するバリデーション例を以下に示す。
+ * <p/>
+ * <pre>
+ *     「令和5年9月9日」  :有効。20230909に変換する。
+ *     「令和元年5月1日」 :有効。元年は「元」とも記述できる。
+ *     「令和599」        :有効。年月日の区切り文字を取り除いたフォーマット(GGGGyMd)も有効となる。
+ *     「平成31年4月30日」:有効。
+ *     「平成31年5月1日」 :無効。元号の期間外の日付。
+ *     「令和元年4月30日」:無効。元号の期間外の日付。
+ *     「令和5年2月29日」 :無効。存在しない日付。
+ * </pre>
+ * 変換後の値のパターンは{@link #setOutputPattern(String)}で変更できる。
+ *
+ * @author agent
+ */
+public class WarekiConvertor extends AbstractDateStringConverter {
+
+    /** コンストラクタ。 */
+    public WarekiConvertor() {
+        super("yyyyMMdd", "wareki");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * ロケールに関わらず、和暦のフォーマットを解析する{@link WarekiDateParser}を生成する。
+     */
+    @Override
+    DateParser createParser(String format, Locale locale, boolean numericSupported) {
+        return WarekiDateParser.compile(format);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 元号(G)を残し、年月日の区切り文字を取り除いたフォーマットを返す。
+     */
+    @Override
+    protected String getNumbersOnlyFormat(String format) {
+        String numbersOnlyFormat = format.replaceAll("[^GyMd]", "");
+        return numbersOnlyFormat.equals(format) ? null : numbersOnlyFormat;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected AnnotationData getAnnotationDataFrom(Annotation annotation) {
+        if (!(annotation instanceof Wareki)) {
+            return null;
+        }
+        Wareki wareki = (Wareki) annotation;
+        AnnotationData data = new AnnotationData();
+        data.allowFormat = wareki.allowFormat();
+        data.allowFormats = wareki.allowFormats();
+        data.messageId = wareki.messageId();
+        return data;
+    }
+
+    /** {@inheritDoc} */
+    public Class<? extends Annotation> getTargetAnnotation() {
+        return Wareki.class;
+    }
+}
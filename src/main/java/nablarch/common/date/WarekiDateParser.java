@@ -0,0 +1,286 @@
+package nablarch.common.date;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 和暦の日付文字列を解析するクラス。
+ * <p/>
+ * パターンは{@link java.text.SimpleDateFormat}の構文に準じ、以下のパターン文字を使用できる。
+ * 各パターン文字は1回ずつ使用すること。引用符(')は使用できない。
+ * <ul>
+ * <li>G:元号。4文字以上の場合は元号名(令和など)、3文字以下の場合は英字の略称(R、rなど)。</li>
+ * <li>y:和暦の年。元年は「元」とも記述できる。</li>
+ * <li>M:月。</li>
+ * <li>d:日。</li>
+ * </ul>
+ * 年月日のパターン文字が1文字の場合は余分な先頭0を含まない数字(年は1～3桁、月日は1～2桁)、
+ * 2文字の場合は2桁の数字とする。
+ * ただし、直後に年月日のフィールドが続く場合は、パターン文字の数と同じ桁数の数字とする(GGGGyyMMddなど)。
+ * <p/>
+ * 元号の開始日と終了日は{@link JapaneseEra}の表を参照して判定し、
+ * 元号の期間外の日付(平成31年5月1日など)は解析不可とする。
+ * 解析は文字単位で行い、DateやCalendarを生成しない。
+ * <p/>
+ * 本クラスのインスタンスは不変であり、スレッドセーフである。
+ */
+final class WarekiDateParser implements DateParser {
+
+    /** 元号名を表す値 */
+    private static final int ERA_NAME = -1;
+
+    /** 元号の略称を表す値 */
+    private static final int ERA_ABBREVIATION = -2;
+
+    /** 年フィールドを表す値 */
+    private static final int YEAR = -3;
+
+    /** 月フィールドを表す値 */
+    private static final int MONTH = -4;
+
+    /** 日フィールドを表す値 */
+    private static final int DAY = -5;
+
+    /** 元年を表す文字 */
+    private static final char FIRST_YEAR = '元';
+
+    /** 年フィールドの最大桁数 */
+    private static final int MAX_YEAR_DIGITS = 3;
+
+    /** 月、日フィールドの最大桁数 */
+    private static final int MAX_MONTH_DAY_DIGITS = 2;
+
+    /** 元号名の文字数とみなすパターン文字数 */
+    private static final int ERA_NAME_PATTERN_LENGTH = 4;
+
+    /** パターン要素。区切り文字の場合は文字コード、フィールドの場合はフィールドを表す負の値 */
+    private final int[] elements;
+
+    /** フィールドの桁数(パターン文字の数) */
+    private final int[] widths;
+
+    /** フィールドの桁数が固定か否か(直後に年月日のフィールドが続く場合はtrue) */
+    private final boolean[] fixed;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param elements パターン要素
+     * @param widths   フィールドの桁数
+     */
+    private WarekiDateParser(int[] elements, int[] widths) {
+        this.elements = elements;
+        this.widths = widths;
+        this.fixed = new boolean[elements.length];
+        for (int i = 0; i + 1 < elements.length; i++) {
+            fixed[i] = isNumericField(elements[i]) && isNumericField(elements[i + 1]);
+        }
+    }
+
+    /**
+     * 年月日のフィールドか否かを判定する。
+     *
+     * @param element パターン要素
+     * @return 年月日のフィールドの場合はtrue
+     */
+    private static boolean isNumericField(int element) {
+        return element == YEAR || element == MONTH || element == DAY;
+    }
+
+    /**
+     * パターンを解析し、インスタンスを生成する。
+     *
+     * @param pattern パターン
+     * @return インスタンス
+     * @throws IllegalArgumentException 対応していないパターンの場合
+     */
+    static WarekiDateParser compile(String pattern) {
+        List<int[]> elements = new ArrayList<int[]>();
+        String fields = "";
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                throw new IllegalArgumentException("unsupported wareki format. format=" + pattern);
+            }
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+                elements.add(new int[] {c, 0});
+                i++;
+                continue;
+            }
+            int count = 1;
+            while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                count++;
+            }
+            if (fields.indexOf(c) >= 0 || (c != 'G' && count > 2)) {
+                throw new IllegalArgumentException("unsupported wareki format. format=" + pattern);
+            }
+            switch (c) {
+                case 'G':
+                    elements.add(new int[] {count >= ERA_NAME_PATTERN_LENGTH ? ERA_NAME : ERA_ABBREVIATION, 0});
+                    break;
+                case 'y':
+                    elements.add(new int[] {YEAR, count});
+                    break;
+                case 'M':
+                    elements.add(new int[] {MONTH, count});
+                    break;
+                case 'd':
+                    elements.add(new int[] {DAY, count});
+                    break;
+                default:
+                    throw new IllegalArgumentException("unsupported wareki format. format=" + pattern);
+            }
+            fields += c;
+            i += count;
+        }
+        if (fields.length() != 4) {
+            throw new IllegalArgumentException("unsupported wareki format. format=" + pattern);
+        }
+        int[] elementArray = new int[elements.size()];
+        int[] widthArray = new int[elements.size()];
+        for (int j = 0; j < elementArray.length; j++) {
+            elementArray[j] = elements.get(j)[0];
+            widthArray[j] = elements.get(j)[1];
+        }
+        return new WarekiDateParser(elementArray, widthArray);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 解析結果は西暦の年月日となる。
+     */
+    public long parse(CharSequence value) {
+        int length = value.length();
+        int pos = 0;
+        JapaneseEra era = null;
+        int eraYear = 0;
+        int month = 0;
+        int day = 0;
+        for (int i = 0; i < elements.length; i++) {
+            int element = elements[i];
+            if (element >= 0) {
+                if (pos >= length || value.charAt(pos) != element) {
+                    return INVALID;
+                }
+                pos++;
+                continue;
+            }
+            if (element == ERA_NAME) {
+                era = JapaneseEra.ofEraName(value, pos);
+                if (era == null) {
+                    return INVALID;
+                }
+                pos += era.getEraName().length();
+                continue;
+            }
+            if (element == ERA_ABBREVIATION) {
+                era = pos < length ? JapaneseEra.ofAbbreviation(value.charAt(pos)) : null;
+                if (era == null) {
+                    return INVALID;
+                }
+                pos++;
+                continue;
+            }
+            if (element == YEAR && pos < length && value.charAt(pos) == FIRST_YEAR) {
+                eraYear = 1;
+                pos++;
+                continue;
+            }
+            int digits = fixed[i]
+                    ? fixedDigitCount(value, pos, widths[i])
+                    : digitCount(value, pos, widths[i], element == YEAR ? MAX_YEAR_DIGITS : MAX_MONTH_DAY_DIGITS);
+            if (digits < 0) {
+                return INVALID;
+            }
+            int number = toNumber(value, pos, digits);
+            pos += digits;
+            if (element == YEAR) {
+                eraYear = number;
+            } else if (element == MONTH) {
+                month = number;
+            } else {
+                day = number;
+            }
+        }
+        if (pos != length || eraYear < 1) {
+            return INVALID;
+        }
+        int year = era.toGregorianYear(eraYear);
+        if (!PackedDate.isValid(year, month, day)) {
+            return INVALID;
+        }
+        int date = PackedDate.of(year, month, day);
+        return era.contains(date) ? date : INVALID;
+    }
+
+    /**
+     * 指定位置から始まる数値フィールドの桁数を求める。
+     * <p/>
+     * パターン文字が1文字の場合は余分な先頭0を含まない最大桁数までの桁数、2文字の場合は2桁とする。
+     *
+     * @param value     文字列
+     * @param pos       開始位置
+     * @param width     パターン文字の数
+     * @param maxDigits パターン文字が1文字の場合の最大桁数
+     * @return 桁数。数値フィールドとして不正な場合は-1
+     */
+    private static int digitCount(CharSequence value, int pos, int width, int maxDigits) {
+        int limit = width == 1 ? maxDigits : width;
+        int count = 0;
+        while (pos + count < value.length() && count < limit && isDigit(value.charAt(pos + count))) {
+            count++;
+        }
+        if (count == 0 || count < width || (width == 1 && count > 1 && value.charAt(pos) == '0')) {
+            return -1;
+        }
+        return count;
+    }
+
+    /**
+     * 指定位置から始まる固定桁数の数値フィールドの桁数を求める。
+     *
+     * @param value 文字列
+     * @param pos   開始位置
+     * @param width パターン文字の数
+     * @return 桁数。数値フィールドとして不正な場合は-1
+     */
+    private static int fixedDigitCount(CharSequence value, int pos, int width) {
+        if (pos + width > value.length()) {
+            return -1;
+        }
+        for (int i = pos; i < pos + width; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return -1;
+            }
+        }
+        return width;
+    }
+
+    /**
+     * 数字の並びを数値に変換する。
+     *
+     * @param value  文字列
+     * @param pos    開始位置
+     * @param digits 桁数
+     * @return 数値
+     */
+    private static int toNumber(CharSequence value, int pos, int digits) {
+        int number = 0;
+        for (int i = pos; i < pos + digits; i++) {
+            number = number * 10 + value.charAt(i) - '0';
+        }
+        return number;
+    }
+
+    /**
+     * 数字か否かを判定する。
+     *
+     * @param c 文字
+     * @return 数字の場合はtrue
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
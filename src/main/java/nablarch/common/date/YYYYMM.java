@@ -27,6 +27,48 @@ public @interface YYYYMM {
      */
     String allowFormat() default "";
 
+    /**
+     * 入力値として許容する年月フォーマット(複数指定)。
+     * <p/>
+     * yyyy/MM/dd、yyyy-MM-ddのように複数のフォーマットを許容する場合に指定する。
+     * allowFormatと併せて指定した場合は、allowFormat、allowFormatsの順に全てのフォーマットを許容する。
+     * 構文はallowFormatと同じ。各フォーマットから区切り文字を取り除いたフォーマットも有効となる。
+     * <p/>
+     * 入力値は区切り文字の並びによって解析に使用するフォーマットが振り分けられるため、
+     * フォーマットの数が増えても変換処理の性能は低下しない。
+     * <p/>
+     * カスタムタグで国際化機能を使用した場合は、カスタムタグで指定されたフォーマットのみを使用する。
+     */
+    String[] allowFormats() default { };
+
+    /**
+     * 入力値として許容する年月の下限(この値を含む)。
+     * <p/>
+     * yyyyMM形式の絶対値(201101など)、またはシステム日付からの相対値で指定する。
+     * 相対値は"today"、"today+N"、"today-N"の形式で指定し、Nはシステム日付からの月数を表す(today-12など)。
+     * 相対値の基準となるシステム日付は{@link nablarch.core.date.SystemTimeUtil#getDate()}で取得するため、
+     * システムリポジトリにシステム日時プロバイダ(systemTimeProvider)の登録が必要となる。
+     * 相対値の日付は、システム日付が変わった後の最初の判定時に1度だけ求める。
+     * <p/>
+     * 範囲の判定は、解析済みの年月の整数比較で行う。指定がない場合は下限を設けない。
+     */
+    String min() default "";
+
+    /**
+     * 入力値として許容する年月の上限(この値を含む)。
+     * <p/>
+     * 構文はminと同じ。未来日付を許容しない場合は"today"を指定する。指定がない場合は上限を設けない。
+     */
+    String max() default "";
+
+    /**
+     * 年月が範囲(min、max)外の場合のメッセージID。
+     * <p/>
+     * 指定がない場合は{@link YYYYMMConvertor}に設定された範囲外の場合のメッセージID、
+     * それも指定がない場合は変換失敗時のメッセージIDを使用する。
+     */
+    String rangeMessageId() default "";
+
     /**
      * 変換失敗時のメッセージID。
      * <p/>
@@ -41,7 +41,11 @@ public class YYYYMMConvertor extends AbstractDateStringConverter {
         YYYYMM yyyyMm = (YYYYMM) annotation;
         AnnotationData data = new AnnotationData();
         data.allowFormat = yyyyMm.allowFormat();
+        data.allowFormats = yyyyMm.allowFormats();
         data.messageId = yyyyMm.messageId();
+        data.min = yyyyMm.min();
+        data.max = yyyyMm.max();
+        data.rangeMessageId = yyyyMm.rangeMessageId();
         return data;
     }
 
@@ -42,7 +42,11 @@ public class YYYYMMDDConvertor extends AbstractDateStringConverter {
         YYYYMMDD yyyyMm = (YYYYMMDD) annotation;
         AnnotationData data = new AnnotationData();
         data.allowFormat = yyyyMm.allowFormat();
+        data.allowFormats = yyyyMm.allowFormats();
         data.messageId = yyyyMm.messageId();
+        data.min = yyyyMm.min();
+        data.max = yyyyMm.max();
+        data.rangeMessageId = yyyyMm.rangeMessageId();
         return data;
     }
 
@@ -0,0 +1,50 @@
+package nablarch.common.date;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import nablarch.core.util.annotation.Published;
+import nablarch.core.validation.ConversionFormat;
+
+/**
+ * {@link YYYYMMDDHHMMConvertor}で許容する年月日時分フォーマットを指定するアノテーション。
+ * <p/>
+ * {@link YYYYMMDD}、{@link YYYYMM}と異なり、範囲を指定する属性(min、max、rangeMessageId)は持たない。
+ * 範囲の判定は年月日の単位で行っており、時刻を含む値に対する境界の意味が定まらないためである。
+ * 範囲のチェックが必要な場合は、変換後の値を使用して業務ロジックで行うこと。
+ *
+ * @author agent
+ */
+@ConversionFormat
+@Target({ ElementType.FIELD, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Published
+public @interface YYYYMMDDHHMM {
+
+    /**
+     * 入力値として許容する年月日時分フォーマット。
+     * <p/>
+     * {@link java.text.SimpleDateFormat}が規定している構文で指定すること(yyyy/MM/dd HH:mmなど)。
+     * パターン文字は、y(年)、M(月)、d(月における日)、H(時)、m(分)のみ指定可能。
+     */
+    String allowFormat() default "";
+
+    /**
+     * 入力値として許容する年月日時分フォーマット(複数指定)。
+     * <p/>
+     * allowFormatと併せて指定した場合は、allowFormat、allowFormatsの順に全てのフォーマットを許容する。
+     * 構文はallowFormatと同じ。各フォーマットから区切り文字を取り除いたフォーマットも有効となる。
+     * <p/>
+     * カスタムタグで国際化機能を使用した場合は、カスタムタグで指定されたフォーマットのみを使用する。
+     */
+    String[] allowFormats() default { };
+
+    /**
+     * 変換失敗時のメッセージID。
+     * <p/>
+     * 指定がない場合は{@link YYYYMMDDHHMMConvertor}に設定されたメッセージIDを使用する。
+     */
+    String messageId() default "";
+}
@@ -0,0 +1,65 @@
+package nablarch.common.date;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * 入力値を年月日時分を表す文字列(yyyyMMddHHmm)に変換するクラス。
+ * <p/>
+ * 本クラスで変換するプロパティには、必ず{@link YYYYMMDDHHMM}アノテーションを付与しておく必要がある。
+ * <p/>
+ * 値の解析は、{@link YYYYMMDDConvertor}と同じ解析準備済みフォーマットのキャッシュと数値のみのパターンの解析処理で行う。
+ * <p/>
+ * <b>バリデーション仕様</b>
+ * <p/>
+ * {@code @YYYYMMDDHHMM(allowFormat="yyyy/MM/dd HH:mm")}を設定したプロパティに対するバリデーション例を以下に示す。
+ * <p/>
+ * <pre>
+ *     「2011/09/28 09:30」:有効。201109280930に変換する。
+ *     「201109280930」    :有効。区切り文字を取り除いたフォーマット(yyyyMMddHHmm)も有効となる。
+ *     「2011/09/28 24:00」:無効。存在しない時刻。
+ *     「2011/02/29 09:30」:無効。存在しない日付(閏年以外の年の2/29)。
+ *     「2011/09/28 9:30」 :無効。時の桁数が異なる。
+ * </pre>
+ * 変換後の値のパターンは{@link #setOutputPattern(String)}で変更できる。
+ * <p/>
+ * {@link YYYYMMDDHHMM}は範囲の指定に対応していないため、本クラスでは範囲のチェックを行わない。
+ *
+ * @author agent
+ */
+public class YYYYMMDDHHMMConvertor extends AbstractDateStringConverter {
+
+    /** コンストラクタ。 */
+    public YYYYMMDDHHMMConvertor() {
+        super("yyyyMMddHHmm", "yyyymmddhhmm");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 時分のパターン文字(H、m)を残し、区切り文字を取り除いたフォーマットを返す。
+     */
+    @Override
+    protected String getNumbersOnlyFormat(String format) {
+        String numbersOnlyFormat = format.replaceAll("[^yMdHm]", "");
+        return numbersOnlyFormat.equals(format) ? null : numbersOnlyFormat;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected AnnotationData getAnnotationDataFrom(Annotation annotation) {
+        if (!(annotation instanceof YYYYMMDDHHMM)) {
+            return null;
+        }
+        YYYYMMDDHHMM yyyyMmDdHhMm = (YYYYMMDDHHMM) annotation;
+        AnnotationData data = new AnnotationData();
+        data.allowFormat = yyyyMmDdHhMm.allowFormat();
+        data.allowFormats = yyyyMmDdHhMm.allowFormats();
+        data.messageId = yyyyMmDdHhMm.messageId();
+        return data;
+    }
+
+    /** {@inheritDoc} */
+    public Class<? extends Annotation> getTargetAnnotation() {
+        return YYYYMMDDHHMM.class;
+    }
+}
@@ -0,0 +1,64 @@
+package nablarch.common.date;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * 入力値を年月日時分秒を表す文字列(yyyyMMddHHmmss)に変換するクラス。
+ * <p/>
+ * 本クラスで変換するプロパティには、必ず{@link YYYYMMDDHHMMSS}アノテーションを付与しておく必要がある。
+ * <p/>
+ * 値の解析は、{@link YYYYMMDDConvertor}と同じ解析準備済みフォーマットのキャッシュと数値のみのパターンの解析処理で行う。
+ * <p/>
+ * <b>バリデーション仕様</b>
+ * <p/>
+ * {@code @YYYYMMDDHHMMSS(allowFormat="yyyy/MM/dd HH:mm:ss")}を設定したプロパティに対するバリデーション例を以下に示す。
+ * <p/>
+ * <pre>
+ *     「2011/09/28 09:30:15」:有効。20110928093015に変換する。
+ *     「20110928093015」     :有効。区切り文字を取り除いたフォーマット(yyyyMMddHHmmss)も有効となる。
+ *     「2011/09/28 09:30:60」:無効。存在しない時刻。
+ *     「2011/09/28 09:30」   :無効。秒が指定されていない。
+ * </pre>
+ * 変換後の値のパターンは{@link #setOutputPattern(String)}で変更できる。
+ * <p/>
+ * {@link YYYYMMDDHHMMSS}は範囲の指定に対応していないため、本クラスでは範囲のチェックを行わない。
+ *
+ * @author agent
+ */
+public class YYYYMMDDHHMMSSConvertor extends AbstractDateStringConverter {
+
+    /** コンストラクタ。 */
+    public YYYYMMDDHHMMSSConvertor() {
+        super("yyyyMMddHHmmss", "yyyymmddhhmmss");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * 時分秒のパターン文字(H、m、s)を残し、区切り文字を取り除いたフォーマットを返す。
+     */
+    @Override
+    protected String getNumbersOnlyFormat(String format) {
+        String numbersOnlyFormat = format.replaceAll("[^yMdHms]", "");
+        return numbersOnlyFormat.equals(format) ? null : numbersOnlyFormat;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected AnnotationData getAnnotationDataFrom(Annotation annotation) {
+        if (!(annotation instanceof YYYYMMDDHHMMSS)) {
+            return null;
+        }
+        YYYYMMDDHHMMSS yyyyMmDdHhMmSs = (YYYYMMDDHHMMSS) annotation;
+        AnnotationData data = new AnnotationData();
+        data.allowFormat = yyyyMmDdHhMmSs.allowFormat();
+        data.allowFormats = yyyyMmDdHhMmSs.allowFormats();
+        data.messageId = yyyyMmDdHhMmSs.messageId();
+        return data;
+    }
+
+    /** {@inheritDoc} */
+    public Class<? extends Annotation> getTargetAnnotation() {
+        return YYYYMMDDHHMMSS.class;
+    }
+}
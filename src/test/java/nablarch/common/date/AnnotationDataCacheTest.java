@@ -0,0 +1,70 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.annotation.Annotation;
+
+import nablarch.common.date.AbstractDateStringConverter.AnnotationData;
+
+import org.junit.Test;
+
+/**
+ * {@link AnnotationDataCache}のテスト。
+ */
+public class AnnotationDataCacheTest {
+
+    /** 登録したデータがアノテーションのインスタンス毎に取得できること。 */
+    @Test
+    public void testGetAndPut() {
+        AnnotationDataCache cache = new AnnotationDataCache(16);
+        YYYYMMDD annotation = yyyymmdd("yyyy/MM/dd");
+        YYYYMMDD other = yyyymmdd("yyyy/MM/dd");
+        AnnotationData data = new AnnotationData();
+
+        assertNull(cache.get(annotation));
+        cache.put(annotation, data);
+        assertSame(data, cache.get(annotation));
+        assertNull(cache.get(other));
+    }
+
+    /** 格納位置が重複した場合は後から登録したデータで上書きされること。 */
+    @Test
+    public void testOverwrite() {
+        AnnotationDataCache cache = new AnnotationDataCache(1);
+        YYYYMMDD first = yyyymmdd("yyyy/MM/dd");
+        YYYYMMDD second = yyyymmdd("yyyy-MM-dd");
+        AnnotationData secondData = new AnnotationData();
+
+        cache.put(first, new AnnotationData());
+        cache.put(second, secondData);
+
+        assertNull(cache.get(first));
+        assertSame(secondData, cache.get(second));
+    }
+
+    /** 保持件数に0以下を指定した場合は例外が発生すること。 */
+    @Test
+    public void testInvalidSize() {
+        try {
+            new AnnotationDataCache(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("size must be positive. size=0", e.getMessage());
+        }
+    }
+
+    private static YYYYMMDD yyyymmdd(final String allowFormat) {
+        return new YYYYMMDD() {
+            public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
+            public String allowFormat() { return allowFormat; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
+            public String messageId() { return ""; }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * {@link AsciiByteSequence}のテスト。
+ */
+public class AsciiByteSequenceTest {
+
+    /** バイト配列の範囲を文字の並びとして参照できること。 */
+    @Test
+    public void testBytes() throws Exception {
+        byte[] bytes = "ab2011/09/09cd".getBytes("US-ASCII");
+        AsciiByteSequence sequence = new AsciiByteSequence(bytes, 2, 10);
+        assertEquals(10, sequence.length());
+        assertEquals('2', sequence.charAt(0));
+        assertEquals('9', sequence.charAt(9));
+        assertEquals("2011/09/09", sequence.toString());
+        assertEquals("09/09", sequence.subSequence(5, 10).toString());
+        assertEquals("", sequence.subSequence(10, 10).toString());
+
+        // 参照先の変更が反映されること
+        bytes[2] = '3';
+        assertEquals("3011/09/09", sequence.toString());
+    }
+
+    /** ByteBufferのlimitまでの範囲を、positionに関わらず参照できること。 */
+    @Test
+    public void testByteBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(12);
+        buffer.put("ab20110909cd".getBytes("US-ASCII"));
+        buffer.position(4);
+        buffer.limit(10);
+        AsciiByteSequence sequence = new AsciiByteSequence(buffer, 2, 8);
+        assertEquals("20110909", sequence.toString());
+        assertEquals("0909", sequence.subSequence(4, 8).toString());
+        assertEquals(4, buffer.position());
+        assertEquals(10, buffer.limit());
+        try {
+            new AsciiByteSequence(buffer, 2, 9);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("range is out of bounds. offset=2, length=9, capacity=10", e.getMessage());
+        }
+    }
+
+    /** ASCII以外のバイトは数字とも区切り文字とも一致しない文字となること。 */
+    @Test
+    public void testNonAscii() throws Exception {
+        byte[] bytes = "２０/1ｱ".getBytes("MS932");
+        AsciiByteSequence sequence = new AsciiByteSequence(bytes, 0, bytes.length);
+        assertEquals(7, sequence.length());
+        assertEquals(AsciiByteSequence.NON_ASCII, sequence.charAt(0));
+        // 全角文字の2バイト目はASCIIの範囲となる場合がある(２は0x82 0x51)
+        assertEquals('Q', sequence.charAt(1));
+        assertEquals(AsciiByteSequence.NON_ASCII, sequence.charAt(2));
+        assertEquals('/', sequence.charAt(4));
+        assertEquals('1', sequence.charAt(5));
+        assertEquals(AsciiByteSequence.NON_ASCII, sequence.charAt(6));
+    }
+
+    /** 範囲外を指定した場合は例外が送出されること。 */
+    @Test
+    public void testOutOfBounds() {
+        byte[] bytes = new byte[10];
+        for (int[] range : new int[][] {{-1, 1}, {0, -1}, {5, 6}, {11, 0}, {Integer.MAX_VALUE, 1}}) {
+            try {
+                new AsciiByteSequence(bytes, range[0], range[1]);
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertEquals("range is out of bounds. offset=" + range[0] + ", length=" + range[1] + ", capacity=10",
+                        e.getMessage());
+            }
+        }
+        AsciiByteSequence sequence = new AsciiByteSequence(bytes, 2, 5);
+        try {
+            sequence.charAt(5);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("index=5, length=5", e.getMessage());
+        }
+        try {
+            sequence.subSequence(3, 6);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("start=3, end=6, length=5", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * {@link CompiledDateFormatCache}のテスト。
+ */
+public class CompiledDateFormatCacheTest {
+
+    /** 登録したフォーマットがフォーマットとロケールの組み合わせ毎に取得できること。 */
+    @Test
+    public void testGetAndPut() {
+        CompiledDateFormatCache cache = new CompiledDateFormatCache(10);
+        CompiledDateFormat ja = compiled("yyyy/MM/dd", Locale.JAPANESE);
+        CompiledDateFormat en = compiled("yyyy/MM/dd", Locale.ENGLISH);
+
+        assertNull(cache.get("yyyy/MM/dd", Locale.JAPANESE));
+        assertSame(ja, cache.put("yyyy/MM/dd", Locale.JAPANESE, ja));
+        assertSame(en, cache.put("yyyy/MM/dd", Locale.ENGLISH, en));
+
+        assertSame(ja, cache.get("yyyy/MM/dd", Locale.JAPANESE));
+        assertSame(en, cache.get("yyyy/MM/dd", Locale.ENGLISH));
+        assertNull(cache.get("yyyy-MM-dd", Locale.ENGLISH));
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    /** 登録済みのフォーマットがある場合は、登録済みのフォーマットが返されること。 */
+    @Test
+    public void testPutAlreadyRegistered() {
+        CompiledDateFormatCache cache = new CompiledDateFormatCache(10);
+        CompiledDateFormat first = compiled("yyyy/MM", Locale.JAPANESE);
+        CompiledDateFormat second = compiled("yyyy/MM", Locale.JAPANESE);
+
+        assertSame(first, cache.put("yyyy/MM", Locale.JAPANESE, first));
+        assertSame(first, cache.put("yyyy/MM", Locale.JAPANESE, second));
+        assertEquals(1, cache.size());
+    }
+
+    /** 保持件数の上限を超えた場合はキャッシュされないこと。 */
+    @Test
+    public void testMaxSize() {
+        CompiledDateFormatCache cache = new CompiledDateFormatCache(1);
+        CompiledDateFormat first = compiled("yyyy/MM", Locale.JAPANESE);
+        CompiledDateFormat second = compiled("yyyy-MM", Locale.JAPANESE);
+
+        assertSame(first, cache.put("yyyy/MM", Locale.JAPANESE, first));
+        assertSame(second, cache.put("yyyy-MM", Locale.JAPANESE, second));
+
+        assertSame(first, cache.get("yyyy/MM", Locale.JAPANESE));
+        assertNull(cache.get("yyyy-MM", Locale.JAPANESE));
+        assertEquals(1, cache.size());
+    }
+
+    /** 複数スレッドから同時に参照しても、ヒット件数とミス件数が漏れなく集計されること。 */
+    @Test
+    public void testConcurrentCount() throws Exception {
+        final CompiledDateFormatCache cache = new CompiledDateFormatCache(10);
+        cache.put("yyyy/MM/dd", Locale.JAPANESE, compiled("yyyy/MM/dd", Locale.JAPANESE));
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 10000; i++) {
+                        cache.get("yyyy/MM/dd", Locale.JAPANESE);
+                        cache.get("yyyy-MM-dd", Locale.JAPANESE);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40000, cache.getHitCount());
+        assertEquals(40000, cache.getMissCount());
+    }
+
+    /** 保持件数の上限に負数を指定した場合は例外が発生すること。 */
+    @Test
+    public void testNegativeMaxSize() {
+        try {
+            new CompiledDateFormatCache(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("maxSize must not be negative. maxSize=-1", e.getMessage());
+        }
+    }
+
+    private static CompiledDateFormat compiled(String format, Locale locale) {
+        return new CompiledDateFormat(format + "|" + locale, new SimpleDateFormatParser(format, locale), null);
+    }
+}
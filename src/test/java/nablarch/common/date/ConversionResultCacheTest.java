@@ -0,0 +1,90 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * {@link ConversionResultCache}のテスト。
+ */
+public class ConversionResultCacheTest {
+
+    private static final CompiledDateFormat SLASH = compile("yyyy/MM/dd");
+
+    private static final CompiledDateFormat HYPHEN = compile("yyyy-MM-dd");
+
+    private static CompiledDateFormat compile(String format) {
+        YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+        return convertor.getCompiledFormat(convertor.getDefaultFormatSpec(format));
+    }
+
+    /** 登録したデータが解析準備済みフォーマットと入力値の組み合わせ毎に取得でき、件数が集計されること。 */
+    @Test
+    public void testGetAndPut() {
+        ConversionResultCache cache = new ConversionResultCache(100);
+        assertEquals(128, cache.capacity());
+
+        assertNull(cache.get(SLASH, "2011/09/09"));
+        ConversionResultCache.Entry entry = cache.put(SLASH, "2011/09/09", 20110909);
+        assertEquals(20110909L, entry.getDate());
+        assertNull(entry.getOutput());
+        entry.setOutput("20110909");
+
+        assertSame(entry, cache.get(SLASH, new String("2011/09/09")));
+        assertEquals("20110909", cache.get(SLASH, "2011/09/09").getOutput());
+        assertSame(entry, cache.put(SLASH, "2011/09/09", 20110909));
+        assertNull(cache.get(HYPHEN, "2011/09/09"));
+
+        // 解析できなかった入力値も保持すること
+        cache.put(HYPHEN, "2011/09/09", DateParser.INVALID);
+        assertEquals((long) DateParser.INVALID, cache.get(HYPHEN, "2011/09/09").getDate());
+
+        assertEquals(2, cache.size());
+        assertEquals(3L, cache.getHitCount());
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(0L, cache.getEvictionCount());
+    }
+
+    /** 保持件数の上限を超える入力値を登録しても、保持件数は上限を超えないこと。 */
+    @Test
+    public void testBounded() {
+        ConversionResultCache cache = new ConversionResultCache(64);
+        for (int i = 0; i < 10000; i++) {
+            cache.put(SLASH, String.valueOf(i), i);
+        }
+        assertEquals(64, cache.size());
+        assertEquals(10000L - 64, cache.getEvictionCount());
+    }
+
+    /** 頻繁に参照される入力値は、一度しか参照されない入力値を大量に登録しても追い出されないこと。 */
+    @Test
+    public void testHotEntriesSurvive() {
+        ConversionResultCache cache = new ConversionResultCache(ConversionResultCache.WAYS);
+        cache.put(SLASH, "today", 20111010);
+        cache.put(SLASH, "month-end", 20111031);
+        for (int i = 0; i < 1000; i++) {
+            assertNotNull(cache.get(SLASH, "today"));
+            assertNotNull(cache.get(SLASH, "month-end"));
+            cache.put(SLASH, "once" + i, i);
+        }
+        assertEquals(ConversionResultCache.WAYS, cache.size());
+        assertTrue(cache.getEvictionCount() >= 1000 - ConversionResultCache.WAYS);
+        assertNull(cache.get(SLASH, "once0"));
+    }
+
+    /** 保持件数の上限に0以下を指定した場合は例外が送出されること。 */
+    @Test
+    public void testInvalidSize() {
+        try {
+            new ConversionResultCache(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("size must be positive. size=0", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import nablarch.core.ThreadContext;
+import nablarch.core.repository.ObjectLoader;
+import nablarch.core.repository.SystemRepository;
+import nablarch.core.util.FormatSpec;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.convertor.TestTarget;
+import nablarch.core.validation.creator.ReflectionFormCreator;
+import nablarch.test.support.message.MockStringResourceHolder;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * 変換1回あたりのメモリ割り当て量が上限を超えないことを確認するテスト。
+ * <p/>
+ * com.sun.management.ThreadMXBean#getThreadAllocatedBytesで、ウォームアップ後の定常状態での
+ * 割り当て量を計測する。SimpleDateFormatやCalendarを変換の都度生成するような変更が入ると失敗する。
+ * JITコンパイルの途中の計測値を除くため、計測は複数回行い最小値を採用する。
+ * <p/>
+ * 上限(バイト)は以下のシステムプロパティで変更できる。
+ * <ul>
+ * <li>nablarch.date.allocation.validation:変換可否の判定と変換の1回あたり(デフォルト640)</li>
+ * <li>nablarch.date.allocation.check:変換可否の判定の1回あたり(デフォルト512)</li>
+ * <li>nablarch.date.allocation.failure:解析失敗の1回あたり(デフォルト64)</li>
+ * <li>nablarch.date.allocation.bytes:バイト列の範囲の変換の1回あたり(デフォルト64)</li>
+ * </ul>
+ * 変換可否の判定では、リクエストパラメータからフォーマット仕様を取得する際に、パラメータ名の文字列が生成される。
+ * JITコンパイルの結果によってはこの文字列が除去されないため、デフォルトの上限は除去されない場合の計測値
+ * (変換可否の判定と変換で448バイト、変換可否の判定で367バイト)に余裕を持たせた値としている。
+ * <p/>
+ * 計測に対応していない実行環境ではスキップする。
+ */
+public class ConvertorAllocationTest {
+
+    /** 変換可否の判定と変換の1回あたりの上限 */
+    private static final long VALIDATION_BUDGET = Long.getLong("nablarch.date.allocation.validation", 640L);
+
+    /** 変換可否の判定の1回あたりの上限 */
+    private static final long CHECK_BUDGET = Long.getLong("nablarch.date.allocation.check", 512L);
+
+    /** 解析失敗の1回あたりの上限 */
+    private static final long FAILURE_BUDGET = Long.getLong("nablarch.date.allocation.failure", 64L);
+
+    /** バイト列の範囲の変換の1回あたりの上限 */
+    private static final long BYTES_BUDGET = Long.getLong("nablarch.date.allocation.bytes", 64L);
+
+    /** ウォームアップの回数 */
+    private static final int WARMUP = 100000;
+
+    /** 計測1回あたりの呼び出し回数 */
+    private static final int CALLS = 10000;
+
+    /** 計測の回数 */
+    private static final int ROUNDS = 50;
+
+    private static final String[][] MESSAGES = {
+        {"MSG00002", "ja", "{0}がフォーマット通りではありません。", "en", "value if input is not well-formatted."}
+    };
+
+    private static com.sun.management.ThreadMXBean threadBean;
+
+    @BeforeClass
+    public static void setUpClass() {
+        final MockStringResourceHolder resource = new MockStringResourceHolder();
+        resource.setMessages(MESSAGES);
+        SystemRepository.clear();
+        SystemRepository.load(new ObjectLoader() {
+            public Map<String, Object> load() {
+                Map<String, Object> result = new HashMap<String, Object>();
+                result.put("stringResourceHolder", resource);
+                result.put("systemTimeProvider", new FixedSystemTimeProvider("20110909120000"));
+                return result;
+            }
+        });
+        ThreadContext.setLanguage(Locale.JAPANESE);
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+                threadBean = sunBean;
+            }
+        }
+    }
+
+    /** {@link YYYYMMDDConvertor}の変換で上限を超えるメモリ割り当てが発生しないこと。 */
+    @Test
+    public void testYYYYMMDDConvertor() {
+        Assume.assumeTrue(threadBean != null);
+        YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+        convertor.setParseFailedMessageId("MSG00002");
+
+        String[] values = {"2011/09/09", "20110909", "2000/02/29", "1999/12/31"};
+        assertBudget("yyyy/MM/dd validation", VALIDATION_BUDGET,
+                new Validation(convertor, yyyyMMdd("yyyy/MM/dd", new String[0], ""), values, true));
+        assertBudget("yyyy/MM/dd check", CHECK_BUDGET,
+                new Validation(convertor, yyyyMMdd("yyyy/MM/dd", new String[0], ""), values, false));
+
+        String[] multiValues = {"2011/09/09", "2011-09-09", "09.09.2011", "20110909"};
+        assertBudget("allowFormats validation", VALIDATION_BUDGET, new Validation(convertor,
+                yyyyMMdd("yyyy/MM/dd", new String[] {"yyyy-MM-dd", "dd.MM.yyyy"}, ""), multiValues, true));
+
+        assertBudget("range validation", VALIDATION_BUDGET,
+                new Validation(convertor, yyyyMMdd("yyyy/MM/dd", new String[0], "today"), values, true));
+    }
+
+    /** {@link YYYYMMConvertor}の変換で上限を超えるメモリ割り当てが発生しないこと。 */
+    @Test
+    public void testYYYYMMConvertor() {
+        Assume.assumeTrue(threadBean != null);
+        YYYYMMConvertor convertor = new YYYYMMConvertor();
+        convertor.setParseFailedMessageId("MSG00002");
+
+        YYYYMM annotation = new YYYYMM() {
+            public Class<? extends Annotation> annotationType() { return YYYYMM.class; }
+            public String allowFormat() { return "yyyy/MM"; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
+            public String messageId() { return ""; }
+        };
+        String[] values = {"2011/09", "201109", "2000/02"};
+        assertBudget("yyyy/MM validation", VALIDATION_BUDGET, new Validation(convertor, annotation, values, true));
+        assertBudget("yyyy/MM check", CHECK_BUDGET, new Validation(convertor, annotation, values, false));
+    }
+
+    /** 解析できない値の判定で上限を超えるメモリ割り当てが発生しないこと。 */
+    @Test
+    public void testParseFailure() {
+        Assume.assumeTrue(threadBean != null);
+        final YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+        final CompiledDateFormat compiled = convertor.getCompiledFormat(convertor.getDefaultFormatSpec("yyyy/MM/dd"));
+        final String[] values = {"2011/02/29", "2011-09-09", "2011/9/9", "abc", "201109091"};
+        assertBudget("parse failure", FAILURE_BUDGET, new Runnable() {
+            private int index;
+            public void run() {
+                convertor.convertOrNull(compiled, values[index++ % values.length]);
+            }
+        });
+    }
+
+    /** バイト列の範囲の変換で上限を超えるメモリ割り当てが発生しないこと。 */
+    @Test
+    public void testConvertBytes() {
+        Assume.assumeTrue(threadBean != null);
+        final YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+        final FormatSpec formatSpec = convertor.getDefaultFormatSpec("yyyy/MM/dd");
+        final byte[] record = "A2011/09/092000/02/291999/12/3120110909Z".getBytes();
+        final byte[] array = new byte[8];
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        final ByteBuffer recordBuffer = ByteBuffer.allocateDirect(record.length);
+        recordBuffer.put(record);
+        assertBudget("byte[] conversion", BYTES_BUDGET, new Runnable() {
+            private int index;
+            public void run() {
+                int offset = 1 + index++ % 4 * 10;
+                convertor.convertTo(record, offset, offset == 31 ? 8 : 10, formatSpec, array, 0);
+            }
+        });
+        assertBudget("ByteBuffer conversion", BYTES_BUDGET, new Runnable() {
+            private int index;
+            public void run() {
+                int offset = 1 + index++ % 4 * 10;
+                convertor.convertTo(recordBuffer, offset, offset == 31 ? 8 : 10, formatSpec, buffer, 0);
+            }
+        });
+    }
+
+    /**
+     * 処理1回あたりのメモリ割り当て量が上限以下であることを確認する。
+     *
+     * @param name   処理の名前
+     * @param budget 上限(バイト)
+     * @param task   処理
+     */
+    private static void assertBudget(String name, long budget, Runnable task) {
+        long id = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long perCall = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threadBean.getThreadAllocatedBytes(id);
+            for (int i = 0; i < CALLS; i++) {
+                task.run();
+            }
+            perCall = Math.min(perCall, (threadBean.getThreadAllocatedBytes(id) - before) / CALLS);
+        }
+        assertTrue(name + ": " + perCall + " bytes/call exceeds budget " + budget, perCall <= budget);
+    }
+
+    private static YYYYMMDD yyyyMMdd(final String allowFormat, final String[] allowFormats, final String max) {
+        return new YYYYMMDD() {
+            public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
+            public String allowFormat() { return allowFormat; }
+            public String[] allowFormats() { return allowFormats; }
+            public String min() { return ""; }
+            public String max() { return max; }
+            public String rangeMessageId() { return ""; }
+            public String messageId() { return ""; }
+        };
+    }
+
+    /** バリデーションと同じ手順(変換可否の判定後に変換)で値を変換する処理。 */
+    private static final class Validation implements Runnable {
+
+        private final AbstractDateStringConverter convertor;
+
+        private final Annotation annotation;
+
+        private final String[] values;
+
+        private final boolean convert;
+
+        private final ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(), new HashMap<String, String[]>(), "");
+
+        private int index;
+
+        private Validation(AbstractDateStringConverter convertor, Annotation annotation, String[] values,
+                boolean convert) {
+            this.convertor = convertor;
+            this.annotation = annotation;
+            this.values = values;
+            this.convert = convert;
+        }
+
+        public void run() {
+            String value = values[index++ % values.length];
+            if (convertor.isConvertible(context, "param", "param", value, annotation) && convert) {
+                convertor.convert(context, "param", value, annotation);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import nablarch.core.ThreadContext;
+import nablarch.core.repository.ObjectLoader;
+import nablarch.core.repository.SystemRepository;
+import nablarch.core.validation.ValidationContext;
+import nablarch.core.validation.convertor.TestTarget;
+import nablarch.core.validation.creator.ReflectionFormCreator;
+import nablarch.test.support.message.MockStringResourceHolder;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * 共有した{@link YYYYMMDDConvertor}を複数スレッドから同時に使用するテスト。
+ * <p/>
+ * 各スレッドの変換結果が逐次実行の結果と一致すること、
+ * ウォームアップ後の変換でモニタロックの競合が発生しないことを確認する。
+ */
+public class ConvertorConcurrencyTest {
+
+    /** 1スレッドあたりの変換件数 */
+    private static final int VALUE_COUNT = 20000;
+
+    /** 変換不可を表す結果 */
+    private static final String INVALID = "(invalid)";
+
+    private static final String[][] MESSAGES = {
+        {"MSG00002", "ja", "{0}がフォーマット通りではありません。", "en", "value if input is not well-formatted."}
+    };
+
+    private static final YYYYMMDD SINGLE_FORMAT = new YYYYMMDD() {
+        public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
+        public String allowFormat() { return "yyyy/MM/dd"; }
+        public String[] allowFormats() { return new String[0]; }
+        public String min() { return ""; }
+        public String max() { return ""; }
+        public String rangeMessageId() { return ""; }
+        public String messageId() { return ""; }
+    };
+
+    private static final YYYYMMDD MULTI_FORMAT = new YYYYMMDD() {
+        public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
+        public String allowFormat() { return "yyyy/M/d"; }
+        public String[] allowFormats() { return new String[] {"yyyy-MM-dd", "dd.MM.yyyy"}; }
+        public String min() { return ""; }
+        public String max() { return ""; }
+        public String rangeMessageId() { return ""; }
+        public String messageId() { return ""; }
+    };
+
+    private static final YYYYMMDD[] ANNOTATIONS = {SINGLE_FORMAT, MULTI_FORMAT};
+
+    private static YYYYMMDDConvertor convertor;
+
+    private static String[] values;
+
+    /** アノテーション毎の逐次実行での変換結果 */
+    private static String[][] expected;
+
+    @BeforeClass
+    public static void setUpClass() {
+        final MockStringResourceHolder resource = new MockStringResourceHolder();
+        resource.setMessages(MESSAGES);
+        SystemRepository.clear();
+        SystemRepository.load(new ObjectLoader() {
+            public Map<String, Object> load() {
+                Map<String, Object> result = new HashMap<String, Object>();
+                result.put("stringResourceHolder", resource);
+                return result;
+            }
+        });
+        ThreadContext.setLanguage(Locale.JAPANESE);
+
+        convertor = new YYYYMMDDConvertor();
+        convertor.setParseFailedMessageId("MSG00002");
+        values = createValues(VALUE_COUNT);
+        expected = new String[ANNOTATIONS.length][];
+        for (int i = 0; i < ANNOTATIONS.length; i++) {
+            expected[i] = new String[VALUE_COUNT];
+            for (int j = 0; j < VALUE_COUNT; j++) {
+                expected[i][j] = convert(ANNOTATIONS[i], values[j]);
+            }
+        }
+    }
+
+    private static String[] createValues(int size) {
+        Random random = new Random(20111011L);
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            int year = 1 + random.nextInt(2100);
+            int month = random.nextInt(14);
+            int day = random.nextInt(33);
+            switch (random.nextInt(6)) {
+                case 0:
+                    result[i] = String.format("%04d%02d%02d", year, month, day);
+                    break;
+                case 1:
+                    result[i] = String.format("%04d-%02d-%02d", year, month, day);
+                    break;
+                case 2:
+                    result[i] = String.format("%02d.%02d.%04d", day, month, year);
+                    break;
+                case 3:
+                    result[i] = String.format("%04d/%d/%d", year, month, day);
+                    break;
+                default:
+                    result[i] = String.format("%04d/%02d/%02d", year, month, day);
+                    break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * バリデーションと同じ手順(変換可否の判定後に変換)で値を変換する。
+     *
+     * @return 変換結果。変換不可の場合は{@link #INVALID}
+     */
+    private static String convert(YYYYMMDD annotation, String value) {
+        ValidationContext<TestTarget> context = new ValidationContext<TestTarget>(
+                "", TestTarget.class, new ReflectionFormCreator(), new HashMap<String, String[]>(), "");
+        if (!convertor.isConvertible(context, "param", "param", value, annotation)) {
+            return INVALID;
+        }
+        return (String) convertor.convert(context, "param", value, annotation);
+    }
+
+    /** プラットフォームスレッドで同時に変換しても、逐次実行と同じ結果となりロックの競合が発生しないこと。 */
+    @Test
+    public void testPlatformThreads() throws Exception {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        boolean monitorContention = threadBean.isThreadContentionMonitoringSupported();
+        if (monitorContention) {
+            threadBean.setThreadContentionMonitoringEnabled(true);
+        }
+        try {
+            int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                try {
+                    long blocked = run(executor, threads, monitorContention);
+                    assertEquals("blocked count. threads=" + threads, 0L, blocked);
+                } finally {
+                    executor.shutdownNow();
+                }
+            }
+        } finally {
+            if (monitorContention) {
+                threadBean.setThreadContentionMonitoringEnabled(false);
+            }
+        }
+    }
+
+    /**
+     * 仮想スレッドで同時に変換しても、逐次実行と同じ結果となること。
+     * <p/>
+     * 仮想スレッドを使用できない実行環境(Java 21未満)ではスキップする。
+     */
+    @Test
+    public void testVirtualThreads() throws Exception {
+        Method factory;
+        try {
+            factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            factory = null;
+        }
+        Assume.assumeTrue(factory != null);
+
+        for (int threads = 1; threads <= 256; threads *= 4) {
+            ExecutorService executor = (ExecutorService) factory.invoke(null);
+            try {
+                run(executor, threads, false);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * 指定されたスレッド数で全ての値を変換し、結果を検証する。
+     * <p/>
+     * 各スレッドは開始位置をずらして全ての値を変換する。
+     *
+     * @return ロックの競合によりブロックされた回数の合計
+     */
+    private static long run(ExecutorService executor, int threads, final boolean monitorContention)
+            throws Exception {
+        final CountDownLatch ready = new CountDownLatch(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<Future<Long>>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = VALUE_COUNT / threads * t;
+            futures.add(executor.submit(new Callable<Long>() {
+                public Long call() throws Exception {
+                    ThreadContext.setLanguage(Locale.JAPANESE);
+                    ready.countDown();
+                    start.await();
+                    long blockedBefore = blockedCount(monitorContention);
+                    for (int i = 0; i < VALUE_COUNT; i++) {
+                        int index = (offset + i) % VALUE_COUNT;
+                        for (int a = 0; a < ANNOTATIONS.length; a++) {
+                            String actual = convert(ANNOTATIONS[a], values[index]);
+                            assertEquals(values[index], expected[a][index], actual);
+                        }
+                    }
+                    return blockedCount(monitorContention) - blockedBefore;
+                }
+            }));
+        }
+        assertTrue(ready.await(30, TimeUnit.SECONDS));
+        start.countDown();
+        long blocked = 0;
+        for (Future<Long> future : futures) {
+            blocked += future.get(60, TimeUnit.SECONDS);
+        }
+        return blocked;
+    }
+
+    /**
+     * 現在のスレッドがモニタロックの競合によりブロックされた回数を取得する。
+     *
+     * @return ブロックされた回数。計測しない場合は0
+     */
+    private static long blockedCount(boolean monitorContention) {
+        if (!monitorContention) {
+            return 0;
+        }
+        ThreadInfo info = ManagementFactory.getThreadMXBean().getThreadInfo(Thread.currentThread().getId());
+        return info == null ? 0 : info.getBlockedCount();
+    }
+}
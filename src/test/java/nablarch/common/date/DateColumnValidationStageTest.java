@@ -0,0 +1,145 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+/**
+ * {@link DateColumnValidationStage}のテスト。
+ */
+public class DateColumnValidationStageTest {
+
+    private static Map<String, String> record(String... keyValues) {
+        Map<String, String> record = new LinkedHashMap<String, String>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            record.put(keyValues[i], keyValues[i + 1]);
+        }
+        return record;
+    }
+
+    private static DateColumnValidationStage createStage() {
+        Map<String, String> dateColumns = new LinkedHashMap<String, String>();
+        dateColumns.put("date", "yyyy/MM/dd");
+        dateColumns.put("startDate", "yyyy-MM-dd");
+        return new DateColumnValidationStage(new YYYYMMDDConvertor(), dateColumns);
+    }
+
+    /** 日付項目が検証、変換されること。 */
+    @Test
+    public void testProcess() {
+        Map<String, String> input = record("id", "1", "date", "2011/09/09", "startDate", "2011-09-01");
+        Iterator<DateColumnValidationResult> results = createStage().process(Arrays.asList(
+                input,
+                record("id", "2", "date", "20110229", "startDate", ""),
+                record("id", "3", "date", "2011-09-09", "startDate", "2011-13-01")).iterator());
+
+        DateColumnValidationResult result = results.next();
+        assertEquals(1L, result.getRecordNumber());
+        assertTrue(result.isValid());
+        assertEquals(record("date", "20110909", "startDate", "20110901"), result.getConvertedValues());
+        assertEquals("20110909", result.getValue("date"));
+        assertEquals("1", result.getValue("id"));
+        assertSame(input.get("date"), result.getSourceRecord().get("date"));
+        assertEquals("2011/09/09", input.get("date"));
+
+        result = results.next();
+        assertEquals(2L, result.getRecordNumber());
+        assertFalse(result.isValid());
+        assertEquals(Collections.singletonList("date"), result.getInvalidColumns());
+        assertTrue(result.getConvertedValues().isEmpty());
+        assertEquals("20110229", result.getValue("date"));
+        assertEquals("", result.getValue("startDate"));
+
+        result = results.next();
+        assertEquals(3L, result.getRecordNumber());
+        assertEquals(Arrays.asList("date", "startDate"), result.getInvalidColumns());
+        assertTrue(result.getConvertedValues().isEmpty());
+
+        assertFalse(results.hasNext());
+        try {
+            results.next();
+            fail();
+        } catch (NoSuchElementException e) {
+            // 入力元の終端
+        }
+    }
+
+    /** 結果は入力元のレコードを複製せずに参照し、変更できないこと。 */
+    @Test
+    public void testResultReferencesSourceRecord() {
+        Map<String, String> input = record("id", "1", "date", "2011/09/09", "startDate", "2011-13-01");
+        DateColumnValidationResult result = createStage().process(
+                Collections.singletonList(input).iterator()).next();
+
+        input.put("id", "2");
+        assertEquals("2", result.getSourceRecord().get("id"));
+        assertEquals(Collections.singletonMap("date", "20110909"), result.getConvertedValues());
+        assertEquals(Collections.singletonList("startDate"), result.getInvalidColumns());
+        try {
+            result.getSourceRecord().put("id", "3");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // 変更不可
+        }
+        try {
+            result.getConvertedValues().put("date", "20110910");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // 変更不可
+        }
+    }
+
+    /** 結果の取得要求に応じて入力元から1件ずつ読み込むこと。 */
+    @Test
+    public void testProcessIncrementally() {
+        final int[] read = new int[1];
+        Iterator<Map<String, String>> records = new Iterator<Map<String, String>>() {
+            public boolean hasNext() {
+                return read[0] < 1000000;
+            }
+            public Map<String, String> next() {
+                read[0]++;
+                return record("date", "2011/09/09");
+            }
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        Iterator<DateColumnValidationResult> results = createStage().process(records);
+        assertEquals(0, read[0]);
+        results.next();
+        results.next();
+        assertEquals(2, read[0]);
+
+        long count = 2;
+        while (results.hasNext()) {
+            assertTrue(results.next().isValid());
+            count++;
+        }
+        assertEquals(1000000L, count);
+    }
+
+    /** 日付項目が指定されていない場合は例外が発生すること。 */
+    @Test
+    public void testEmptyDateColumns() {
+        try {
+            new DateColumnValidationStage(new YYYYMMDDConvertor(), new HashMap<String, String>());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("dateColumns must not be empty.", e.getMessage());
+        }
+    }
+}
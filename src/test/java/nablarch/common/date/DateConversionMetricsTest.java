@@ -0,0 +1,141 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import nablarch.core.util.FormatSpec;
+
+import org.junit.Test;
+
+/**
+ * {@link DateConversionMetrics}のテスト。
+ */
+public class DateConversionMetricsTest {
+
+    /** 成功、区切り文字なしで成功、失敗の件数がフォーマット毎に集計されること。 */
+    @Test
+    public void testRecord() {
+        YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+        DateConversionMetrics metrics = new DateConversionMetrics();
+        convertor.setConversionMetrics(metrics);
+        assertSame(metrics, convertor.getConversionMetrics());
+
+        FormatSpec slash = FormatSpec.valueOf("yyyymmdd{yyyy/MM/dd|ja}", "|");
+        FormatSpec hyphen = FormatSpec.valueOf("yyyymmdd{yyyy-MM-dd|ja}", "|");
+        assertTrue(convertor.isConvertible("2011/09/09", slash));
+        assertTrue(convertor.isConvertible("20110909", slash));
+        assertFalse(convertor.isConvertible("2011/02/29", slash));
+        assertTrue(convertor.isConvertible("2011-09-09", hyphen));
+        // isConvertibleの解析結果を再利用するため集計されない
+        assertEquals("20110909", convertor.convert("2011-09-09", hyphen));
+
+        DateConversionStatistics total = metrics.getTotal();
+        assertEquals(2, total.getSuccessCount());
+        assertEquals(1, total.getFallbackCount());
+        assertEquals(1, total.getFailureCount());
+        assertEquals(4, total.getCount());
+
+        DateConversionStatistics slashStatistics = metrics.getStatistics().get("yyyy/MM/dd|ja");
+        assertEquals(1, slashStatistics.getSuccessCount());
+        assertEquals(1, slashStatistics.getFallbackCount());
+        assertEquals(1, slashStatistics.getFailureCount());
+        DateConversionStatistics hyphenStatistics = metrics.getStatistics().get("yyyy-MM-dd|ja");
+        assertEquals(1, hyphenStatistics.getSuccessCount());
+        assertEquals(2, metrics.getStatistics().size());
+
+        long histogramTotal = 0;
+        for (long count : total.getLatencyHistogram()) {
+            histogramTotal += count;
+        }
+        assertEquals(4, histogramTotal);
+        assertTrue(total.getLatencyPercentile(50) <= total.getLatencyPercentile(100));
+    }
+
+    /** 言語を指定しない場合は、デフォルトロケールの文字列表現をキーとして集計されること。 */
+    @Test
+    public void testDefaultLocaleKey() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.JAPAN);
+        try {
+            YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+            DateConversionMetrics metrics = new DateConversionMetrics();
+            convertor.setConversionMetrics(metrics);
+            assertTrue(convertor.isConvertible("2011/09/09", FormatSpec.valueOf("yyyymmdd{yyyy/MM/dd}", "|")));
+
+            assertEquals(1, metrics.getStatistics().get("yyyy/MM/dd|ja_JP").getSuccessCount());
+            assertEquals(1, metrics.getStatistics().size());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    /** 集計先を設定しない場合は集計されないこと。 */
+    @Test
+    public void testDisabled() {
+        YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+        assertNull(convertor.getConversionMetrics());
+        assertTrue(convertor.isConvertible("2011/09/09", FormatSpec.valueOf("yyyymmdd{yyyy/MM/dd}", "|")));
+    }
+
+    /** 複数スレッドから同時に集計しても件数が失われないこと。 */
+    @Test
+    public void testConcurrentRecord() throws Exception {
+        final YYYYMMConvertor convertor = new YYYYMMConvertor();
+        final DateConversionMetrics metrics = new DateConversionMetrics();
+        convertor.setConversionMetrics(metrics);
+        final FormatSpec formatSpec = FormatSpec.valueOf("yyyymm{yyyy/MM}", "|");
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        convertor.isConvertible(j % 2 == 0 ? "2011/09" : "2011/13", formatSpec);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(4000, metrics.getTotal().getSuccessCount());
+        assertEquals(4000, metrics.getTotal().getFailureCount());
+        assertEquals(8000, metrics.getStatistics().get("yyyy/MM|" + Locale.getDefault()).getCount());
+    }
+
+    /** 区間の算出とパーセンタイルの範囲チェック。 */
+    @Test
+    public void testHistogram() {
+        assertEquals(0, StripedHistogram.bucketOf(0));
+        assertEquals(0, StripedHistogram.bucketOf(1));
+        assertEquals(1, StripedHistogram.bucketOf(2));
+        assertEquals(1, StripedHistogram.bucketOf(3));
+        assertEquals(10, StripedHistogram.bucketOf(1024));
+        assertEquals(StripedHistogram.BUCKETS - 1, StripedHistogram.bucketOf(Long.MAX_VALUE));
+
+        DateConversionStatistics statistics = new DateConversionStatistics();
+        assertEquals(0, statistics.getLatencyPercentile(99));
+        statistics.record(DateConversionStatistics.SUCCESS, 100);
+        statistics.record(DateConversionStatistics.SUCCESS, 5000);
+        assertEquals(128, statistics.getLatencyPercentile(50));
+        assertEquals(8192, statistics.getLatencyPercentile(100));
+        try {
+            statistics.getLatencyPercentile(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("percentile must be in (0, 100]. percentile=0.0", e.getMessage());
+        }
+    }
+}
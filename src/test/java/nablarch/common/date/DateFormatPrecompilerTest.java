@@ -0,0 +1,100 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import nablarch.core.util.FormatSpec;
+
+import org.junit.Test;
+
+/**
+ * {@link DateFormatPrecompiler}のテスト。
+ */
+public class DateFormatPrecompilerTest {
+
+    /** フォームクラスに指定されたフォーマットの解析準備が行われること。 */
+    @Test
+    public void testInitializeFormClasses() {
+        YYYYMMDDConvertor yyyymmdd = new YYYYMMDDConvertor();
+        YYYYMMConvertor yyyymm = new YYYYMMConvertor();
+        DateFormatPrecompiler target = new DateFormatPrecompiler();
+        target.setConverters(Arrays.<AbstractDateStringConverter>asList(yyyymmdd, yyyymm));
+        target.setFormClasses(Collections.singletonList("nablarch.common.date.form.PrecompileTestForm"));
+        target.setLanguages(Collections.singletonList("en"));
+        target.initialize();
+
+        List<String> formats = target.getPrecompiledFormats();
+        assertTrue(formats.toString(), formats.contains("YYYYMMDD:yyyy/MM/dd|"));
+        assertTrue(formats.toString(), formats.contains("YYYYMMDD:yyyy/MM/dd|en"));
+        assertTrue(formats.toString(), formats.contains("YYYYMMDD:[yyyy-MM-dd, yyyy.MM.dd]|"));
+        assertTrue(formats.toString(), formats.contains("YYYYMM:yyyy/MM|"));
+        assertTrue(formats.toString(), formats.contains("YYYYMM:yyyy/MM|en"));
+        assertEquals(5, formats.size());
+        assertTrue(target.getElapsedMillis() >= 0);
+
+        // 解析準備済みのフォーマットはキャッシュから取得されること
+        long misses = yyyymmdd.getFormatCacheMissCount();
+        assertTrue(yyyymmdd.isConvertible("20110909", FormatSpec.valueOf("yyyymmdd{yyyy/MM/dd}", "|")));
+        assertTrue(yyyymmdd.isConvertible("2011/09/09", FormatSpec.valueOf("yyyymmdd{yyyy/MM/dd|en}", "|")));
+        assertEquals(misses, yyyymmdd.getFormatCacheMissCount());
+    }
+
+    /** 親クラスで宣言されたフィールドとsetterメソッドのフォーマットも解析準備が行われること。 */
+    @Test
+    public void testInitializeInheritedMembers() {
+        YYYYMMDDConvertor yyyymmdd = new YYYYMMDDConvertor();
+        YYYYMMConvertor yyyymm = new YYYYMMConvertor();
+        DateFormatPrecompiler target = new DateFormatPrecompiler();
+        target.setConverters(Arrays.<AbstractDateStringConverter>asList(yyyymmdd, yyyymm));
+        target.setFormClasses(Collections.singletonList("nablarch.common.date.entity.PrecompileTestEntityForm"));
+        target.initialize();
+
+        List<String> formats = target.getPrecompiledFormats();
+        assertTrue(formats.toString(), formats.contains("YYYYMMDD:yyyy/MM/dd|"));
+        assertTrue(formats.toString(), formats.contains("YYYYMMDD:yyyy年MM月dd日|"));
+        assertTrue(formats.toString(), formats.contains("YYYYMM:yyyy.MM|"));
+        assertEquals(3, formats.size());
+
+        long misses = yyyymm.getFormatCacheMissCount();
+        assertTrue(yyyymm.isConvertible("2011.09", FormatSpec.valueOf("yyyymm{yyyy.MM}", "|")));
+        assertEquals(misses, yyyymm.getFormatCacheMissCount());
+    }
+
+    /** パッケージ(サブパッケージを含む)に含まれるフォームクラスが検索されること。 */
+    @Test
+    public void testInitializeFormPackages() {
+        DateFormatPrecompiler target = new DateFormatPrecompiler();
+        target.setConverters(Collections.<AbstractDateStringConverter>singletonList(new YYYYMMDDConvertor()));
+        target.setFormPackages(Collections.singletonList("nablarch.common.date.form"));
+        target.initialize();
+
+        assertEquals(Arrays.asList("YYYYMMDD:yyyy/MM/dd|", "YYYYMMDD:[yyyy-MM-dd, yyyy.MM.dd]|", "YYYYMMDD:dd.MM.yyyy|"),
+                sorted(target.getPrecompiledFormats()));
+    }
+
+    /** フォームクラスが存在しない場合は例外が発生すること。 */
+    @Test
+    public void testClassNotFound() {
+        DateFormatPrecompiler target = new DateFormatPrecompiler();
+        target.setFormClasses(Collections.singletonList("nablarch.common.date.form.NotFoundForm"));
+        try {
+            target.initialize();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("form class was not found. className=nablarch.common.date.form.NotFoundForm", e.getMessage());
+        }
+    }
+
+    private static List<String> sorted(List<String> formats) {
+        List<String> expectedOrder = Arrays.asList(
+                "YYYYMMDD:yyyy/MM/dd|", "YYYYMMDD:[yyyy-MM-dd, yyyy.MM.dd]|", "YYYYMMDD:dd.MM.yyyy|");
+        assertEquals(expectedOrder.size(), formats.size());
+        assertTrue(formats.containsAll(expectedOrder));
+        return expectedOrder;
+    }
+}
@@ -0,0 +1,132 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import nablarch.core.repository.ObjectLoader;
+import nablarch.core.repository.SystemRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@link DateRange}のテスト。
+ */
+public class DateRangeTest {
+
+    private final FixedSystemTimeProvider provider = new FixedSystemTimeProvider("20110909120000");
+
+    @Before
+    public void setUp() {
+        SystemRepository.clear();
+        SystemRepository.load(new ObjectLoader() {
+            public Map<String, Object> load() {
+                Map<String, Object> result = new HashMap<String, Object>();
+                result.put("systemTimeProvider", provider);
+                return result;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        SystemRepository.clear();
+    }
+
+    /** 絶対値の範囲が判定できること。 */
+    @Test
+    public void testAbsolute() {
+        DateRange range = DateRange.of("20110101", "20111231", NumericDatePattern.compile("yyyyMMdd"), false);
+        assertTrue(range.contains(20110101));
+        assertTrue(range.contains(20111231));
+        assertFalse(range.contains(20101231));
+        assertFalse(range.contains(20120101));
+        assertEquals(20110101, range.min());
+        assertEquals(20111231, range.max());
+
+        range = DateRange.of("", "201112", NumericDatePattern.compile("yyyyMM"), true);
+        assertTrue(range.contains(10101));
+        assertTrue(range.contains(20111201));
+        assertFalse(range.contains(20120101));
+        assertEquals(DateParser.INVALID, range.min());
+
+        assertNull(DateRange.of("", null, NumericDatePattern.compile("yyyyMMdd"), false));
+    }
+
+    /** システム日付からの相対値の範囲が判定できること。 */
+    @Test
+    public void testRelative() {
+        provider.setDateTime("20110909120000");
+
+        DateRange range = DateRange.of("today-30", "today", NumericDatePattern.compile("yyyyMMdd"), false);
+        assertEquals(20110810, range.min());
+        assertEquals(20110909, range.max());
+        assertTrue(range.contains(20110909));
+        assertTrue(range.contains(20110810));
+        assertFalse(range.contains(20110910));
+        assertFalse(range.contains(20110809));
+
+        range = DateRange.of("today", "today+12", NumericDatePattern.compile("yyyyMM"), true);
+        assertEquals(20110901, range.min());
+        assertEquals(20120901, range.max());
+
+        // 月末日からの月数の相対値は月の1日となること
+        provider.setDateTime("20120331000000");
+        range = DateRange.of("today-1", "today+11", NumericDatePattern.compile("yyyyMM"), true);
+        assertEquals(20120201, range.min());
+        assertEquals(20130201, range.max());
+    }
+
+    /** システム日時プロバイダが返す日付が変わった場合は、相対値が再計算されること。 */
+    @Test
+    public void testSystemDateChanged() {
+        provider.setDateTime("20111231000000");
+        DateRange range = DateRange.of("", "today+1", NumericDatePattern.compile("yyyyMMdd"), false);
+        assertEquals(20120101, range.max());
+
+        // 同じ日付の間は同じ値
+        provider.setDateTime("20111231235959");
+        assertEquals(20120101, range.max());
+
+        provider.setDateTime("20120101000000");
+        assertEquals(20120102, range.max());
+        assertFalse(range.contains(20120103));
+
+        // 過去の日付に戻した場合も再計算されること
+        provider.setDateTime("20110909120000");
+        assertEquals(20110910, range.max());
+    }
+
+    /** システム日時プロバイダが登録されていない場合は例外が発生すること。 */
+    @Test
+    public void testSystemTimeProviderNotRegistered() {
+        SystemRepository.clear();
+        DateRange range = DateRange.of("today", "", NumericDatePattern.compile("yyyyMMdd"), false);
+        try {
+            range.min();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("specified systemTimeProvider is not registered in SystemRepository.", e.getMessage());
+        }
+    }
+
+    /** 不正な指定の場合は例外が発生すること。 */
+    @Test
+    public void testInvalidBound() {
+        for (String bound : new String[] {"2011/01/01", "20110230", "yesterday", "today+", "today*2"}) {
+            try {
+                DateRange.of(bound, "", NumericDatePattern.compile("yyyyMMdd"), false);
+                fail(bound);
+            } catch (IllegalArgumentException e) {
+                assertEquals("invalid date range bound. bound=" + bound, e.getMessage());
+            }
+        }
+    }
+}
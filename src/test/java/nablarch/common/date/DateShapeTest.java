@@ -0,0 +1,85 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * {@link DateShape}のテスト。
+ */
+public class DateShapeTest {
+
+    /** 対象外のフォーマットの場合はnullとなること。 */
+    @Test
+    public void testCompileUnsupported() {
+        assertNull(DateShape.compile("yyyy/MMM/dd"));
+        assertNull(DateShape.compile("yyyy/MM/dd E"));
+        assertNull(DateShape.compile("yyyy'年'MM'月'"));
+        assertNull(DateShape.compile("yyyy0MM"));
+    }
+
+    /** 形状に一致しない値が除外されること。 */
+    @Test
+    public void testAccepts() {
+        DateShape shape = DateShape.compile("yyyy/MM/dd");
+        assertTrue(shape.accepts("2011/09/09"));
+        assertTrue(shape.accepts("10000/01/01"));
+        assertTrue(shape.accepts("2011/99/99"));
+        assertFalse(shape.accepts("20110909"));
+        assertFalse(shape.accepts("2011-09-09"));
+        assertFalse(shape.accepts("2011/09/0a"));
+        assertFalse(shape.accepts("2011/09/09/"));
+        assertFalse(shape.accepts("2011/9/9"));
+        assertFalse(shape.accepts("20111/009/009"));
+        assertFalse(shape.accepts(""));
+
+        shape = DateShape.compile("yyyyMMdd");
+        assertTrue(shape.accepts("20110909"));
+        assertFalse(shape.accepts("2011/09/09"));
+        assertFalse(shape.accepts("2011090"));
+
+        shape = DateShape.compile("yyyy年M月d日");
+        assertTrue(shape.accepts("2011年9月9日"));
+        assertTrue(shape.accepts("2011年12月31日"));
+        assertFalse(shape.accepts("2011年9月9"));
+    }
+
+    /** SimpleDateFormatで解析できる値が除外されないこと。 */
+    @Test
+    public void testAcceptsSameAsSimpleDateFormat() {
+        String[] formats = {"yyyy/MM/dd", "yyyy/M/d", "yyyyMMdd", "yy/MM/dd", "d.M.y", "yyyyMM", "yyyy-MM"};
+        String chars = "0123456789/-.9";
+        Random random = new Random(20111010L);
+        for (String format : formats) {
+            DateShape shape = DateShape.compile(format);
+            SimpleDateFormatParser parser = new SimpleDateFormatParser(format, Locale.JAPANESE);
+            for (int i = 0; i < 20000; i++) {
+                StringBuilder value = new StringBuilder();
+                int length = 1 + random.nextInt(12);
+                for (int j = 0; j < length; j++) {
+                    value.append(chars.charAt(random.nextInt(chars.length())));
+                }
+                if (parser.parse(value.toString()) != DateParser.INVALID) {
+                    assertTrue(format + " " + value, shape.accepts(value.toString()));
+                }
+            }
+            SimpleDateFormat dateFormat = new SimpleDateFormat(format, Locale.JAPANESE);
+            for (int i = 0; i < 20000; i++) {
+                Calendar calendar = Calendar.getInstance();
+                calendar.clear();
+                calendar.set(1 + random.nextInt(12000), random.nextInt(12), 1 + random.nextInt(28));
+                String value = dateFormat.format(calendar.getTime());
+                if (parser.parse(value) != DateParser.INVALID) {
+                    assertTrue(format + " " + value, shape.accepts(value));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * {@link DateStringInternTable}のテスト。
+ */
+public class DateStringInternTableTest {
+
+    /** 登録した文字列が日付毎に取得でき、件数が集計されること。 */
+    @Test
+    public void testGetAndPut() {
+        DateStringInternTable table = new DateStringInternTable(100);
+        assertEquals(128, table.capacity());
+
+        assertNull(table.get(20110909));
+        String value = new String("20110909");
+        assertSame(value, table.put(20110909, value));
+        assertSame(value, table.get(20110909));
+        assertSame(value, table.put(20110909, new String("20110909")));
+        assertNull(table.get(PackedDateTime.of(20110909, 12, 0, 0)));
+
+        assertEquals(1, table.size());
+        assertEquals(1L, table.getHitCount());
+        assertEquals(2L, table.getMissCount());
+        assertEquals(0L, table.getEvictionCount());
+    }
+
+    /** 格納位置が重複した場合は後から登録した日付で追い出されること。 */
+    @Test
+    public void testEviction() {
+        DateStringInternTable table = new DateStringInternTable(1);
+        table.put(20110909, "20110909");
+        table.put(20110910, "20110910");
+        assertNull(table.get(20110909));
+        assertEquals("20110910", table.get(20110910));
+        assertEquals(1, table.size());
+        assertEquals(1L, table.getEvictionCount());
+    }
+
+    /** 保持件数の上限を超える種類の日付を登録しても、保持件数は上限を超えないこと。 */
+    @Test
+    public void testBounded() {
+        DateStringInternTable table = new DateStringInternTable(64);
+        for (int date = PackedDate.of(2000, 1, 1); date < PackedDate.of(2000, 1, 1) + 10000; date++) {
+            table.put(date, String.valueOf(date));
+        }
+        assertEquals(64, table.size());
+        assertEquals(10000L - 64, table.getEvictionCount());
+    }
+
+    /** 複数スレッドから同じ日付を同時に登録しても、同じ文字列が共有されること。 */
+    @Test
+    public void testConcurrentPut() throws Exception {
+        final DateStringInternTable table = new DateStringInternTable(16);
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> futures = new ArrayList<Future<String>>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(new Callable<String>() {
+                    public String call() throws Exception {
+                        start.await();
+                        String result = table.put(20110909, new String("20110909"));
+                        for (int i = 0; i < 10000; i++) {
+                            String value = table.get(20110909);
+                            assertSame(result, value != null ? value : table.put(20110909, new String("20110909")));
+                        }
+                        return result;
+                    }
+                }));
+            }
+            start.countDown();
+            String expected = futures.get(0).get();
+            for (Future<String> future : futures) {
+                assertSame(expected, future.get());
+            }
+            assertEquals(1, table.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** 保持件数の上限に0以下を指定した場合は例外が送出されること。 */
+    @Test
+    public void testInvalidSize() {
+        try {
+            new DateStringInternTable(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("size must be positive. size=0", e.getMessage());
+        }
+    }
+}
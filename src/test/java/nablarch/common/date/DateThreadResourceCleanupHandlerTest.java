@@ -0,0 +1,63 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+import nablarch.fw.ExecutionContext;
+import nablarch.fw.Handler;
+
+import org.junit.Test;
+
+/**
+ * {@link DateThreadResourceCleanupHandler}のテスト。
+ */
+public class DateThreadResourceCleanupHandlerTest {
+
+    private static final CompiledDateFormat FORMAT = new CompiledDateFormat("yyyy/MM/dd|ja",
+            new SimpleDateFormatParser("yyyy/MM/dd", Locale.JAPANESE), null);
+
+    /** 後続ハンドラの処理結果を返し、スレッド毎に保持した値が破棄されること。 */
+    @Test
+    public void testHandle() {
+        final Calendar[] used = new Calendar[1];
+        ExecutionContext context = new ExecutionContext()
+                .addHandler(new DateThreadResourceCleanupHandler())
+                .addHandler(new Handler<String, String>() {
+                    public String handle(String data, ExecutionContext context) {
+                        used[0] = DateThreadResources.calendar();
+                        LastParsedDate.set(FORMAT, data, 20110909);
+                        return "result:" + data;
+                    }
+                });
+
+        assertEquals("result:2011/09/09", context.handleNext("2011/09/09"));
+        assertEquals(DateParser.INVALID, LastParsedDate.get(FORMAT, "2011/09/09"));
+        assertNotSame(used[0], DateThreadResources.calendar());
+        DateThreadResources.clear();
+    }
+
+    /** 後続ハンドラで例外が発生した場合も、スレッド毎に保持した値が破棄されること。 */
+    @Test
+    public void testHandleError() {
+        ExecutionContext context = new ExecutionContext()
+                .addHandler(new DateThreadResourceCleanupHandler())
+                .addHandler(new Handler<String, String>() {
+                    public String handle(String data, ExecutionContext context) {
+                        LastParsedDate.set(FORMAT, data, 20110909);
+                        throw new IllegalStateException("error");
+                    }
+                });
+
+        try {
+            context.handleNext("2011/09/09");
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("error", e.getMessage());
+        }
+        assertEquals(DateParser.INVALID, LastParsedDate.get(FORMAT, "2011/09/09"));
+    }
+}
@@ -0,0 +1,58 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * {@link DateThreadResources}のテスト。
+ */
+public class DateThreadResourcesTest {
+
+    @After
+    public void tearDown() {
+        DateThreadResources.clear();
+    }
+
+    /** 同じスレッドでは、同じフォーマットとロケールに対して同じインスタンスが返されること。 */
+    @Test
+    public void testReuse() {
+        SimpleDateFormat ja = DateThreadResources.parseFormat("yyyy/MM/dd", Locale.JAPANESE);
+        assertFalse(ja.isLenient());
+        assertSame(ja, DateThreadResources.parseFormat("yyyy/MM/dd", Locale.JAPANESE));
+        assertNotSame(ja, DateThreadResources.parseFormat("yyyy/MM/dd", Locale.ENGLISH));
+        assertNotSame(ja, DateThreadResources.parseFormat("yyyy-MM-dd", Locale.JAPANESE));
+
+        SimpleDateFormat output = DateThreadResources.outputFormat("yyyy年M月d日");
+        assertEquals("yyyy年M月d日", output.toPattern());
+        assertSame(output, DateThreadResources.outputFormat("yyyy年M月d日"));
+
+        assertSame(DateThreadResources.calendar(), DateThreadResources.calendar());
+    }
+
+    /** 破棄した後は、新しいインスタンスが生成され、直前の解析結果も破棄されること。 */
+    @Test
+    public void testClear() {
+        SimpleDateFormat parse = DateThreadResources.parseFormat("yyyy/MM/dd", Locale.JAPANESE);
+        SimpleDateFormat output = DateThreadResources.outputFormat("yyyy年M月d日");
+        Calendar calendar = DateThreadResources.calendar();
+        CompiledDateFormat format = new CompiledDateFormat("yyyy/MM/dd|ja",
+                new SimpleDateFormatParser("yyyy/MM/dd", Locale.JAPANESE), null);
+        LastParsedDate.set(format, "2011/09/09", 20110909);
+
+        DateThreadResources.clear();
+
+        assertNotSame(parse, DateThreadResources.parseFormat("yyyy/MM/dd", Locale.JAPANESE));
+        assertNotSame(output, DateThreadResources.outputFormat("yyyy年M月d日"));
+        assertNotSame(calendar, DateThreadResources.calendar());
+        assertEquals(DateParser.INVALID, LastParsedDate.get(format, "2011/09/09"));
+    }
+}
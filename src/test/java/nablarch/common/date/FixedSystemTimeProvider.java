@@ -0,0 +1,51 @@
+package nablarch.common.date;
+
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import nablarch.core.date.SystemTimeProvider;
+
+/**
+ * 指定された日時を返す{@link SystemTimeProvider}。
+ * <p/>
+ * 相対値の範囲(min="today"など)のテストで、システム日付を固定するために使用する。
+ */
+public class FixedSystemTimeProvider implements SystemTimeProvider {
+
+    /** 返す日時 */
+    private volatile Date date;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param dateTime 返す日時(yyyyMMddHHmmss形式)
+     */
+    public FixedSystemTimeProvider(String dateTime) {
+        setDateTime(dateTime);
+    }
+
+    /**
+     * 返す日時を設定する。
+     *
+     * @param dateTime 返す日時(yyyyMMddHHmmss形式)
+     */
+    public void setDateTime(String dateTime) {
+        try {
+            date = new SimpleDateFormat("yyyyMMddHHmmss").parse(dateTime);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    public Date getDate() {
+        return date;
+    }
+
+    /** {@inheritDoc} */
+    public Timestamp getTimestamp() {
+        return new Timestamp(date.getTime());
+    }
+}
@@ -0,0 +1,84 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Locale;
+
+import nablarch.core.util.FormatSpec;
+
+import org.junit.Test;
+
+/**
+ * {@link LastParsedDate}のテスト。
+ */
+public class LastParsedDateTest {
+
+    /** フォーマットと値が一致する場合のみ、保持した解析結果が取得できること。 */
+    @Test
+    public void testGet() {
+        CompiledDateFormat format = new CompiledDateFormat("yyyy/MM/dd|ja",
+                new SimpleDateFormatParser("yyyy/MM/dd", Locale.JAPANESE), null);
+        CompiledDateFormat other = new CompiledDateFormat("yyyy/MM/dd|ja",
+                new SimpleDateFormatParser("yyyy/MM/dd", Locale.JAPANESE), null);
+
+        LastParsedDate.set(format, "2011/09/09", 20110909);
+
+        assertEquals(20110909, LastParsedDate.get(format, "2011/09/09"));
+        assertEquals(20110909, LastParsedDate.get(format, new String("2011/09/09")));
+        assertEquals(DateParser.INVALID, LastParsedDate.get(format, "2011/09/10"));
+        assertEquals(DateParser.INVALID, LastParsedDate.get(other, "2011/09/09"));
+    }
+
+    /** 破棄した後は、保持した解析結果が取得できないこと。 */
+    @Test
+    public void testClear() {
+        CompiledDateFormat format = new CompiledDateFormat("yyyy/MM/dd|ja",
+                new SimpleDateFormatParser("yyyy/MM/dd", Locale.JAPANESE), null);
+        LastParsedDate.set(format, "2011/09/09", 20110909);
+
+        LastParsedDate.clear();
+
+        assertEquals(DateParser.INVALID, LastParsedDate.get(format, "2011/09/09"));
+        LastParsedDate.clear();
+    }
+
+    /** ValidationContext、プロパティ名、値が一致する場合のみ、保持したフォーマット仕様が1度だけ取得できること。 */
+    @Test
+    public void testFormatSpec() {
+        Object context = new Object();
+        FormatSpec formatSpec = FormatSpec.valueOf("yyyymmdd{yyyy/MM/dd}", "|");
+
+        LastParsedDate.setFormatSpec(context, "param", "2011/09/09", formatSpec);
+        assertNull(LastParsedDate.getFormatSpec(new Object(), "param", "2011/09/09"));
+        assertNull(LastParsedDate.getFormatSpec(context, "other", "2011/09/09"));
+        assertNull(LastParsedDate.getFormatSpec(context, "param", "2011/09/10"));
+        assertSame(formatSpec, LastParsedDate.getFormatSpec(context, "param", new String("2011/09/09")));
+        assertNull(LastParsedDate.getFormatSpec(context, "param", "2011/09/09"));
+
+        LastParsedDate.setFormatSpec(context, "param", "2011/09/09", formatSpec);
+        LastParsedDate.clear();
+        assertNull(LastParsedDate.getFormatSpec(context, "param", "2011/09/09"));
+    }
+
+    /** 解析結果はスレッド毎に保持されること。 */
+    @Test
+    public void testThreadLocal() throws Exception {
+        final CompiledDateFormat format = new CompiledDateFormat("yyyy/MM|ja",
+                new SimpleDateFormatParser("yyyy/MM", Locale.JAPANESE), null);
+        LastParsedDate.set(format, "2011/09", 20110901);
+
+        final long[] result = new long[1];
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                result[0] = LastParsedDate.get(format, "2011/09");
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(DateParser.INVALID, result[0]);
+        assertEquals(20110901, LastParsedDate.get(format, "2011/09"));
+    }
+}
@@ -0,0 +1,35 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * {@link LocaleCache}のテスト。
+ */
+public class LocaleCacheTest {
+
+    /** 言語に対応するロケールが取得でき、同じ言語では同じインスタンスが返されること。 */
+    @Test
+    public void testGetLocale() {
+        Locale en = LocaleCache.getLocale("en");
+        assertEquals(Locale.ENGLISH, en);
+        assertSame(en, LocaleCache.getLocale("en"));
+        assertEquals(new Locale("ja", "JP"), LocaleCache.getLocale("ja_JP"));
+    }
+
+    /** 不正な言語の場合は{@link nablarch.core.util.I18NUtil#createLocale(String)}と同じ例外が発生すること。 */
+    @Test
+    public void testInvalidLanguage() {
+        try {
+            LocaleCache.getLocale("ja-JP");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // OK
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package nablarch.common.date;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import nablarch.core.log.LogSettings;
+import nablarch.core.log.Logger;
+import nablarch.core.log.LoggerFactory;
+
+/**
+ * ログを出力しない{@link LoggerFactory}。
+ * <p/>
+ * ハンドラのテストで{@link nablarch.fw.ExecutionContext}を使用するために、log.propertiesで指定する。
+ */
+public class NopLoggerFactory implements LoggerFactory {
+
+    /** ログを出力しない{@link Logger} */
+    private static final Logger LOGGER = (Logger) Proxy.newProxyInstance(
+            NopLoggerFactory.class.getClassLoader(), new Class<?>[] {Logger.class}, new InvocationHandler() {
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                }
+            });
+
+    /** {@inheritDoc} */
+    public void initialize(LogSettings settings) {
+    }
+
+    /** {@inheritDoc} */
+    public void terminate() {
+    }
+
+    /** {@inheritDoc} */
+    public Logger get(String name) {
+        return LOGGER;
+    }
+}
@@ -0,0 +1,211 @@
+package nablarch.common.date;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * {@link NumericDatePattern}のテスト。
+ */
+public class NumericDatePatternTest {
+
+    /** 対象外のパターンの場合はnullが返されること。 */
+    @Test
+    public void testCompileUnsupported() {
+        String[] patterns = {
+                null, "", "/", "yy/MM/dd", "yyyy/MMM/dd", "yyyy/MMMM/dd", "yyyy/MM/dd hh",
+                "yyyy'/'MM'/'dd", "yyyyMMddyyyy", "yyyy/MM/dd/MM", "yyyy/MM/dd/dd", "Gyyyy/MM/dd",
+                "yyyy/MM/dd HH:mm:ss.SSS", "yyyy/MM/dd HH:mm/mm"
+        };
+        for (String pattern : patterns) {
+            assertThat(pattern, NumericDatePattern.compile(pattern), is(nullValue()));
+        }
+    }
+
+    /** 日付文字列が解析できること。 */
+    @Test
+    public void testParse() {
+        assertEquals(20110909, NumericDatePattern.compile("yyyy/MM/dd").parse("2011/09/09"));
+        assertEquals(20110928, NumericDatePattern.compile("MM/dd/yyyy").parse("09/28/2011"));
+        assertEquals(20110928, NumericDatePattern.compile("MMddyyyy").parse("09282011"));
+        assertEquals(20110901, NumericDatePattern.compile("yyyy/MM").parse("2011/09"));
+        assertEquals(20110901, NumericDatePattern.compile("yyyy年MM月").parse("2011年09月"));
+        assertEquals(19700928, NumericDatePattern.compile("MM/dd").parse("09/28"));
+        assertEquals(20110909, NumericDatePattern.compile("yyyy/M/d").parse("2011/9/9"));
+        assertEquals(20111210, NumericDatePattern.compile("yyyy年M月d日").parse("2011年12月10日"));
+        assertEquals(DateParser.INVALID, NumericDatePattern.compile("yyyy/M/d").parse("2011/09/09"));
+
+        NumericDatePattern pattern = NumericDatePattern.compile("yyyy/MM/dd");
+        assertEquals(DateParser.INVALID, pattern.parse("2011/02/29"));
+        assertEquals(DateParser.INVALID, pattern.parse("2011-09-09"));
+        assertEquals(DateParser.INVALID, pattern.parse("2011/9/09"));
+        assertEquals(DateParser.INVALID, pattern.parse("2011/09/0a"));
+        assertEquals(DateParser.INVALID, pattern.parse("0000/01/01"));
+        assertEquals(NumericDatePattern.UNSUPPORTED, NumericDatePattern.compile("MM/dd/yyyy").parse("09/28/20111"));
+        assertEquals(DateParser.INVALID, NumericDatePattern.compile("yyyyMMdd").parse("201109091"));
+    }
+
+    /** 時分秒を含む日付文字列が解析できること。 */
+    @Test
+    public void testParseDateTime() {
+        NumericDatePattern pattern = NumericDatePattern.compile("yyyy/MM/dd HH:mm:ss");
+        assertEquals(PackedDateTime.of(20110909, 12, 34, 56), pattern.parse("2011/09/09 12:34:56"));
+        assertEquals(20110909L, pattern.parse("2011/09/09 00:00:00"));
+        assertEquals(PackedDateTime.of(20110909, 23, 59, 59), pattern.parse("2011/09/09 23:59:59"));
+        assertEquals(DateParser.INVALID, pattern.parse("2011/09/09 24:00:00"));
+        assertEquals(DateParser.INVALID, pattern.parse("2011/09/09 12:60:00"));
+        assertEquals(DateParser.INVALID, pattern.parse("2011/09/09 12:34:60"));
+        assertEquals(DateParser.INVALID, pattern.parse("2011/09/09 12:34"));
+        assertEquals(PackedDateTime.of(19700101, 9, 5, 0), NumericDatePattern.compile("H:m").parse("9:5"));
+        assertEquals(PackedDateTime.of(20110909, 12, 34, 0), NumericDatePattern.compile("yyyyMMddHHmm").parse("201109091234"));
+    }
+
+    /** 解析範囲内の日付文字列は{@link SimpleDateFormatParser}と同じ解析結果となること。 */
+    @Test
+    public void testParseSameAsSimpleDateFormat() {
+        String[] patterns = {"yyyy/MM/dd", "yyyyMMdd", "dd.MM.yyyy", "yyyy/MM", "MMyyyy"};
+        String[] values = {
+                "2011/09/09", "20110909", "09.09.2011", "2011/09", "092011",
+                "2000/02/29", "1900/02/29", "1500/02/29", "1582/10/04", "1582/10/05", "1582/10/14", "1582/10/15",
+                "0001/01/01", "9999/12/31", "2011/00/01", "2011/13/01", "2011/04/31", "2011/01/00",
+                "2011/1/01", "2011/+1/01", "２０１１/０９/０９", " 2011/09/09", "2011/09/09 ", "201113", "000001",
+                "01.13.2011", "29.02.2012", "29.02.2013", "31122011", "2011-09", "2011/09/", "2011"
+        };
+        for (String format : patterns) {
+            NumericDatePattern pattern = NumericDatePattern.compile(format);
+            SimpleDateFormatParser expected = new SimpleDateFormatParser(format, Locale.JAPANESE);
+            for (String value : values) {
+                long actual = pattern.parse(value);
+                if (actual != NumericDatePattern.UNSUPPORTED) {
+                    assertEquals(format + " " + value, expected.parse(value), actual);
+                }
+                assertEquals(format + " " + value, expected.parse(value),
+                        new NumericDateParser(pattern, expected).parse(value));
+            }
+        }
+    }
+
+    /** ランダムに生成した日付文字列に対して{@link SimpleDateFormatParser}と同じ解析結果となること。 */
+    @Test
+    public void testParseRandomSameAsSimpleDateFormat() {
+        String[] patterns = {
+                "yyyy/M/d", "yyyy年M月d日", "d.M.yyyy", "y/MM/dd", "yyy-MM-dd", "yyyyMd", "MMddyyyy",
+                "ddMMyyyy", "yyyy/MM", "M/yyyy", "yyyyMMdd", "dd/MM/yyyy", "yyyy-MM-ddd", "yyyyy/MM/dd",
+                "yyyy/MM/dd HH:mm", "yyyyMMddHHmmss", "yyyy/M/d H:m:s"
+        };
+        Random random = new Random(20110909L);
+        for (String format : patterns) {
+            NumericDatePattern pattern = NumericDatePattern.compile(format);
+            SimpleDateFormatParser expected = new SimpleDateFormatParser(format, Locale.JAPANESE);
+            DateParser actual = new NumericDateParser(pattern, expected);
+            int validCount = 0;
+            for (int i = 0; i < 3000; i++) {
+                String value = randomValue(format, random);
+                long date = expected.parse(value);
+                assertEquals(format + " " + value, date, actual.parse(value));
+                if (date != DateParser.INVALID) {
+                    validCount++;
+                }
+            }
+            assertTrue(format, validCount > 100);
+        }
+    }
+
+    /**
+     * パターンを元に日付文字列を生成する。
+     * <p/>
+     * パターン文字は0～5桁のランダムな数字に、区切り文字はまれに別の文字に置き換える。
+     */
+    private static String randomValue(String format, Random random) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i);
+            int count = 1;
+            while (i + count < format.length() && format.charAt(i + count) == c) {
+                count++;
+            }
+            if ("yMdHms".indexOf(c) >= 0) {
+                int digits = random.nextInt(10) < 7 ? count : random.nextInt(6);
+                int max = c == 'y' ? 3000 : c == 'M' ? 14 : c == 'd' ? 33 : c == 'H' ? 26 : 62;
+                String number = String.valueOf(random.nextInt(max));
+                while (number.length() < digits) {
+                    number = "0" + number;
+                }
+                sb.append(random.nextInt(10) < 8 ? number : number.substring(0, Math.min(digits, number.length())));
+            } else {
+                sb.append(random.nextInt(20) == 0 ? "-/. 0".charAt(random.nextInt(5)) : c);
+                count = 1;
+            }
+            i += count;
+        }
+        if (random.nextInt(30) == 0) {
+            sb.append(random.nextInt(10));
+        }
+        return sb.toString();
+    }
+
+    /** 日付がフォーマットできること。 */
+    @Test
+    public void testFormat() {
+        assertEquals("20110909", NumericDatePattern.compile("yyyyMMdd").format(20110909));
+        assertEquals("201109", NumericDatePattern.compile("yyyyMM").format(20110901));
+        assertEquals("0001-01-01", NumericDatePattern.compile("yyyy-MM-dd").format(10101));
+        assertEquals("100000101", NumericDatePattern.compile("yyyyMMdd").format(PackedDate.of(10000, 1, 1)));
+        assertEquals("2011/9/9", NumericDatePattern.compile("yyyy/M/d").format(20110909));
+        assertEquals("2011/12/10", NumericDatePattern.compile("yyyy/M/d").format(20111210));
+        assertEquals("20110909123456", NumericDatePattern.compile("yyyyMMddHHmmss").format(PackedDateTime.of(20110909, 12, 34, 56)));
+        assertEquals("2011/9/9 0:05", NumericDatePattern.compile("yyyy/M/d H:mm").format(PackedDateTime.of(20110909, 0, 5, 0)));
+    }
+
+    /** 指定位置から日付が書き込めること。 */
+    @Test
+    public void testWrite() {
+        NumericDatePattern pattern = NumericDatePattern.compile("yyyy/M/d");
+        assertEquals(8, pattern.formattedLength(20110909));
+        assertEquals(10, pattern.formattedLength(20111210));
+        char[] chars = "[----------]".toCharArray();
+        assertEquals(11, pattern.write(20111210, chars, 1));
+        assertEquals("[2011/12/10]", new String(chars));
+    }
+
+    /** 指定位置からASCIIで日付が書き込めること。 */
+    @Test
+    public void testWriteBytes() throws Exception {
+        NumericDatePattern pattern = NumericDatePattern.compile("yyyy/M/d H:mm");
+        long date = PackedDateTime.of(20111210, 9, 5, 0);
+        byte[] bytes = "[---------------]".getBytes("US-ASCII");
+        assertEquals(16, pattern.write(date, bytes, 1));
+        assertEquals("[2011/12/10 9:05]", new String(bytes, "US-ASCII"));
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(17);
+        buffer.put("[---------------]".getBytes("US-ASCII"));
+        assertEquals(16, pattern.write(date, buffer, 1));
+        assertEquals(17, buffer.position());
+        buffer.flip();
+        byte[] written = new byte[17];
+        buffer.get(written);
+        assertEquals("[2011/12/10 9:05]", new String(written, "US-ASCII"));
+
+        assertTrue(pattern.isAscii());
+        assertFalse(NumericDatePattern.compile("yyyy年MM月dd日").isAscii());
+    }
+
+    /** グレゴリオ暦以外の暦を使用するロケールは対象外となること。 */
+    @Test
+    public void testIsSupported() {
+        assertTrue(NumericDatePattern.isSupported(Locale.JAPANESE));
+        assertTrue(NumericDatePattern.isSupported(Locale.ENGLISH));
+        assertFalse(NumericDatePattern.isSupported(new Locale("ja", "JP", "JP")));
+        assertFalse(NumericDatePattern.isSupported(new Locale("th", "TH")));
+    }
+}
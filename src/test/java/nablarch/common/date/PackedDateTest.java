@@ -0,0 +1,53 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.junit.Test;
+
+/**
+ * {@link PackedDate}のテスト。
+ */
+public class PackedDateTest {
+
+    /** 閏年と月の日数がGregorianCalendarと一致すること。 */
+    @Test
+    public void testDaysInMonthSameAsGregorianCalendar() {
+        GregorianCalendar calendar = new GregorianCalendar();
+        for (int year = 1; year <= 10001; year++) {
+            assertEquals(String.valueOf(year), calendar.isLeapYear(year), PackedDate.isLeapYear(year));
+            for (int month = 1; month <= 12; month++) {
+                if (year == 1582 && month == 10) {
+                    continue;
+                }
+                calendar.clear();
+                calendar.set(year, month - 1, 1);
+                assertEquals(year + "/" + month,
+                        calendar.getActualMaximum(Calendar.DAY_OF_MONTH), PackedDate.daysInMonth(year, month));
+            }
+        }
+        assertTrue(PackedDate.isLeapYear(10400));
+        assertFalse(PackedDate.isLeapYear(10100));
+    }
+
+    /** 存在する日付か否かが判定できること。 */
+    @Test
+    public void testIsValid() {
+        assertTrue(PackedDate.isValid(2012, 2, 29));
+        assertFalse(PackedDate.isValid(2011, 2, 29));
+        assertTrue(PackedDate.isValid(1500, 2, 29));
+        assertTrue(PackedDate.isValid(1582, 10, 4));
+        assertFalse(PackedDate.isValid(1582, 10, 5));
+        assertFalse(PackedDate.isValid(1582, 10, 14));
+        assertTrue(PackedDate.isValid(1582, 10, 15));
+        assertTrue(PackedDate.isValid(9999, 12, 31));
+        assertFalse(PackedDate.isValid(0, 1, 1));
+        assertFalse(PackedDate.isValid(2011, 13, 1));
+        assertFalse(PackedDate.isValid(2011, 0, 1));
+        assertFalse(PackedDate.isValid(2011, 4, 31));
+    }
+}
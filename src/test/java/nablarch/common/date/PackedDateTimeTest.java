@@ -0,0 +1,61 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+/**
+ * {@link PackedDateTime}のテスト。
+ */
+public class PackedDateTimeTest {
+
+    /** 年月日と時分秒が取得できること。 */
+    @Test
+    public void testOf() {
+        long dateTime = PackedDateTime.of(20110909, 12, 34, 56);
+        assertEquals(20110909, PackedDateTime.date(dateTime));
+        assertEquals(12, PackedDateTime.hour(dateTime));
+        assertEquals(34, PackedDateTime.minute(dateTime));
+        assertEquals(56, PackedDateTime.second(dateTime));
+
+        // 0時0分0秒の場合は年月日のint値と等しい
+        assertEquals(20110909L, PackedDateTime.of(20110909, 0, 0, 0));
+
+        // 表現可能な最大の日時は50ビット未満に収まる
+        long max = PackedDateTime.of(PackedDate.of(PackedDate.MAX_YEAR, 12, 31), 23, 59, 59);
+        assertTrue(max < (1L << 50));
+        assertEquals(PackedDate.of(PackedDate.MAX_YEAR, 12, 31), PackedDateTime.date(max));
+    }
+
+    /** 存在する時刻か否かを判定できること。 */
+    @Test
+    public void testIsValidTime() {
+        assertTrue(PackedDateTime.isValidTime(0, 0, 0));
+        assertTrue(PackedDateTime.isValidTime(23, 59, 59));
+        assertFalse(PackedDateTime.isValidTime(24, 0, 0));
+        assertFalse(PackedDateTime.isValidTime(0, 60, 0));
+        assertFalse(PackedDateTime.isValidTime(0, 0, 60));
+        assertFalse(PackedDateTime.isValidTime(-1, 0, 0));
+    }
+
+    /** タイムゾーンに存在しない時刻が判定できること。 */
+    @Test
+    public void testIsSkipped() {
+        TimeZone saoPaulo = TimeZone.getTimeZone("America/Sao_Paulo");
+        assertTrue(PackedDateTime.isSkipped(PackedDateTime.of(20181104, 0, 0, 0), saoPaulo));
+        assertTrue(PackedDateTime.isSkipped(PackedDateTime.of(20181104, 0, 59, 59), saoPaulo));
+        assertFalse(PackedDateTime.isSkipped(PackedDateTime.of(20181103, 23, 59, 59), saoPaulo));
+        assertFalse(PackedDateTime.isSkipped(PackedDateTime.of(20181104, 1, 0, 0), saoPaulo));
+        // 夏時間の終了で重複する時刻
+        assertFalse(PackedDateTime.isSkipped(PackedDateTime.of(20190216, 23, 30, 0), saoPaulo));
+
+        TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+        assertTrue(PackedDateTime.isSkipped(PackedDateTime.of(20110313, 2, 30, 0), newYork));
+        assertFalse(PackedDateTime.isSkipped(PackedDateTime.of(20111106, 1, 30, 0), newYork));
+        assertFalse(PackedDateTime.isSkipped(PackedDateTime.of(20110313, 2, 30, 0), TimeZone.getTimeZone("UTC")));
+    }
+}
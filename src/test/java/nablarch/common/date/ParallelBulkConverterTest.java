@@ -0,0 +1,193 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import nablarch.core.util.FormatSpec;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * {@link ParallelBulkConverter}のテスト。
+ */
+public class ParallelBulkConverterTest {
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void setUpClass() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        executor.shutdownNow();
+    }
+
+    private static String[] createValues(int size) {
+        Random random = new Random(20111010L);
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    values[i] = String.format("%04d%02d%02d", 1 + random.nextInt(2100), random.nextInt(14), random.nextInt(33));
+                    break;
+                case 1:
+                    values[i] = random.nextBoolean() ? null : "";
+                    break;
+                default:
+                    values[i] = String.format("%04d/%d/%02d", 1 + random.nextInt(2100), 1 + random.nextInt(12), 1 + random.nextInt(30));
+                    break;
+            }
+        }
+        return values;
+    }
+
+    /** 逐次変換と同じ順序、同じ結果となること。 */
+    @Test
+    public void testConvertAllSameAsSequential() {
+        YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+        String[] values = createValues(50000);
+        BulkConversionResult expected = convertor.convertAll(values, "yyyy/M/dd");
+
+        for (int parallelism : new int[] {1, 3, 4}) {
+            for (int chunkSize : new int[] {1, 999, 8192, 100000}) {
+                ParallelBulkConverter target = new ParallelBulkConverter(convertor, executor, parallelism);
+                target.setChunkSize(chunkSize);
+                BulkConversionResult actual = target.convertAll(values, "yyyy/M/dd");
+                assertArrayEquals(expected.getValues(), actual.getValues());
+                assertEquals(expected.getFailedIndexes(), actual.getFailedIndexes());
+            }
+        }
+    }
+
+    /** 入力値が空の場合は空の結果となること。 */
+    @Test
+    public void testConvertAllEmpty() {
+        BulkConversionResult result = new ParallelBulkConverter(new YYYYMMDDConvertor(), executor, 4)
+                .convertAll(new String[0], "yyyy/MM/dd");
+        assertEquals(0, result.size());
+        assertFalse(result.hasFailure());
+    }
+
+    /** 入力値がnullの場合は例外が送出されること。 */
+    @Test
+    public void testConvertAllNull() {
+        try {
+            new ParallelBulkConverter(new YYYYMMDDConvertor(), executor, 4).convertAll(null, "yyyy/MM/dd");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("values must not be null.", e.getMessage());
+        }
+    }
+
+    /** 並列度がチャンクの数より大きい場合は、チャンクの数のタスクで変換されること。 */
+    @Test
+    public void testParallelismGreaterThanChunkCount() {
+        YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+        String[] values = createValues(2500);
+        BulkConversionResult expected = convertor.convertAll(values, "yyyy/M/dd");
+
+        CountingExecutor counting = new CountingExecutor(executor);
+        ParallelBulkConverter target = new ParallelBulkConverter(convertor, counting, 8);
+        target.setChunkSize(1000);
+        BulkConversionResult actual = target.convertAll(values, "yyyy/M/dd");
+        assertEquals(3, counting.count.get());
+        assertArrayEquals(expected.getValues(), actual.getValues());
+        assertEquals(expected.getFailedIndexes(), actual.getFailedIndexes());
+        assertTrue(actual.hasFailure());
+    }
+
+    /** 並列度とチャンクの件数は正の値であること。 */
+    @Test
+    public void testInvalidSettings() {
+        try {
+            new ParallelBulkConverter(new YYYYMMDDConvertor(), executor, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("parallelism must be positive. parallelism=0", e.getMessage());
+        }
+        try {
+            new ParallelBulkConverter(new YYYYMMDDConvertor(), executor, 1).setChunkSize(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("chunkSize must be positive. chunkSize=0", e.getMessage());
+        }
+    }
+
+    /** 呼び出し元のスレッドで実行されたタスクは、呼び出し元のスレッドが保持する値を破棄しないこと。 */
+    @Test
+    public void testCallerRunsKeepsThreadResources() {
+        YYYYMMDDConvertor convertor = new YYYYMMDDConvertor();
+        FormatSpec formatSpec = convertor.getDefaultFormatSpec("yyyy/MM/dd");
+        CompiledDateFormat compiled = convertor.getCompiledFormat(formatSpec);
+        assertTrue(convertor.isConvertible("2011/09/09", formatSpec));
+
+        CountingExecutor callerRuns = new CountingExecutor(null);
+        ParallelBulkConverter target = new ParallelBulkConverter(convertor, callerRuns, 2);
+        target.setChunkSize(100);
+        BulkConversionResult result = target.convertAll(createValues(1000), formatSpec);
+        assertEquals(1000, result.size());
+        assertEquals(2, callerRuns.count.get());
+        assertEquals(20110909, LastParsedDate.get(compiled, "2011/09/09"));
+        DateThreadResources.clear();
+    }
+
+    /**
+     * タスクを順に実行する{@link ExecutorService}。
+     * <p/>
+     * 委譲先が指定されていない場合は、呼び出し元のスレッドでタスクを実行する。
+     */
+    private static final class CountingExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private CountingExecutor(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        public void execute(Runnable command) {
+            count.incrementAndGet();
+            if (delegate == null) {
+                command.run();
+            } else {
+                delegate.execute(command);
+            }
+        }
+
+        public void shutdown() {
+        }
+
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        public boolean isShutdown() {
+            return false;
+        }
+
+        public boolean isTerminated() {
+            return false;
+        }
+
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
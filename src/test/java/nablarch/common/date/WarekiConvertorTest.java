@@ -0,0 +1,100 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Random;
+
+import nablarch.core.util.FormatSpec;
+
+import org.junit.Test;
+
+/**
+ * {@link WarekiConvertor}のテスト。
+ */
+public class WarekiConvertorTest {
+
+    private final WarekiConvertor convertor = new WarekiConvertor();
+
+    /** 元号名のフォーマットで変換できること。 */
+    @Test
+    public void testConvertEraName() {
+        String[] values = {
+                "令和5年9月9日", "令和元年5月1日", "令和1年5月1日", "平成31年4月30日", "平成元年1月8日",
+                "昭和64年1月7日", "大正元年7月30日", "明治45年7月29日", "令和599", "令和5年09月9日",
+        };
+        BulkConversionResult result = convertor.convertAll(values, "GGGGy年M月d日");
+        assertArrayEquals(new String[] {
+                "20230909", "20190501", "20190501", "20190430", "19890108",
+                "19890107", "19120730", "19120729", "20230909", null,
+        }, result.getValues());
+    }
+
+    /** 元号の期間外の日付と存在しない日付は変換できないこと。 */
+    @Test
+    public void testConvertOutOfEra() {
+        String[] values = {
+                "平成31年5月1日", "令和元年4月30日", "平成元年1月7日", "昭和64年1月8日", "明治元年1月1日",
+                "令和5年2月29日", "令和0年1月1日", "令和5年13月1日", "R5年9月9日", "慶応4年1月1日", "令和5年9月9",
+        };
+        BulkConversionResult result = convertor.convertAll(values, "GGGGy年M月d日");
+        assertEquals("{0, 1, 2, 3, 5, 6, 7, 8, 9, 10}", result.getFailedIndexes().toString());
+        assertEquals("18680101", result.getValue(4));
+    }
+
+    /** 英字の略称のフォーマットで変換できること。 */
+    @Test
+    public void testConvertAbbreviation() {
+        String[] values = {"R05.09.09", "r05.09.09", "H31.04.30", "H31.05.01", "R5.9.9", "R050909", "X05.09.09"};
+        BulkConversionResult result = convertor.convertAll(values, "Gyy.MM.dd");
+        assertArrayEquals(new String[] {"20230909", "20230909", "20190430", null, null, "20230909", null},
+                result.getValues());
+
+        assertEquals("20230909", convertor.convertAll(new String[] {"R5.9.9"}, "Gy.M.d").getValue(0));
+        assertEquals(20230909, convertor.convertToInt("R5/9/9", "Gy/M/d"));
+    }
+
+    /** JapaneseImperialCalendarと同じ西暦の日付に変換されること。 */
+    @Test
+    public void testConvertSameAsJapaneseImperialCalendar() {
+        SimpleDateFormat wareki = new SimpleDateFormat("GGGGy年M月d日", new Locale("ja", "JP", "JP"));
+        SimpleDateFormat gregorian = new SimpleDateFormat("yyyyMMdd");
+        Random random = new Random(20111010L);
+        for (int i = 0; i < 5000; i++) {
+            Calendar calendar = new GregorianCalendar();
+            calendar.clear();
+            calendar.set(1873 + random.nextInt(160), random.nextInt(12), 1 + random.nextInt(28));
+            String value = wareki.format(calendar.getTime()).replace("元年", "1年");
+            assertEquals(value, gregorian.format(calendar.getTime()),
+                    convertor.convertAll(new String[] {value}, "GGGGy年M月d日").getValue(0));
+        }
+    }
+
+    /** 対応していないフォーマットの場合は例外が発生すること。 */
+    @Test
+    public void testUnsupportedFormat() {
+        for (String format : new String[] {"yyyy/MM/dd", "GGGGyyy年M月d日", "GGGG'年'y年M月d日", "GGGGy年M月d日E", "Gy.M.d.M"}) {
+            try {
+                convertor.convertAll(new String[] {"R5.9.9"}, format);
+                fail(format);
+            } catch (IllegalArgumentException e) {
+                assertEquals("unsupported wareki format. format=" + format, e.getMessage());
+            }
+        }
+    }
+
+    /** {@link WarekiConvertor#getTargetAnnotation()}と変換可否判定のテスト */
+    @Test
+    public void testGetTargetAnnotation() {
+        assertTrue(convertor.getTargetAnnotation() == Wareki.class);
+        assertTrue(convertor.isConvertible("令和5年9月9日", FormatSpec.valueOf("wareki{GGGGy年M月d日}", "|")));
+        assertFalse(convertor.isConvertible("令和5年2月29日", FormatSpec.valueOf("wareki{GGGGy年M月d日}", "|")));
+    }
+}
@@ -3,6 +3,7 @@ package nablarch.common.date;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -13,6 +14,7 @@ import java.util.Locale;
 import java.util.Map;
 
 import nablarch.core.ThreadContext;
+import nablarch.core.util.FormatSpec;
 import nablarch.test.support.message.MockStringResourceHolder;
 import nablarch.core.repository.ObjectLoader;
 import nablarch.core.repository.SystemRepository;
@@ -265,6 +267,33 @@ public class YYYYMMConvertorTest {
         }
     }
 
+    /** 年月のint値と、月初日の経過日数に変換できること。 */
+    @Test
+    public void testConvertToInt() {
+        assertEquals(201109, convertor.convertToInt("2011/09", "yyyy/MM"));
+        assertEquals(201109, convertor.convertToInt("201109", "yyyy/MM"));
+        assertEquals(15218L, convertor.convertToEpochDay("2011/09", "yyyy/MM"));
+        try {
+            convertor.convertToInt("2011/13", "yyyy/MM");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("value could not be parsed. value=2011/13", e.getMessage());
+        }
+    }
+
+    /** 変換後の値を共有する表を設定した場合、同じ年月の変換結果が同じインスタンスとなること。 */
+    @Test
+    public void testInternTable() {
+        YYYYMMConvertor target = new YYYYMMConvertor();
+        target.setInternTableSize(16);
+        FormatSpec formatSpec = FormatSpec.valueOf("yyyymm{yyyy/MM}", "|");
+        String value = target.convert("2011/09", formatSpec);
+        assertEquals("201109", value);
+        assertSame(value, target.convert("201109", formatSpec));
+        assertEquals(1, target.getInternTableCount());
+        assertEquals(1L, target.getInternTableHitCount());
+    }
+
     /** {@link YYYYMMConvertor#getTargetAnnotation()}のテスト */
     @Test
     public void testGetTargetAnnotation() throws Exception {
@@ -293,6 +322,32 @@ public class YYYYMMConvertorTest {
         return context;
     }
 
+    /** 範囲(min、max)外の年月は変換不可と判定されること。 */
+    @Test
+    public void testRange() {
+        YYYYMMConvertor target = new YYYYMMConvertor();
+        target.setParseFailedMessageId("MSG00002");
+        YYYYMM annotation = new YYYYMM() {
+            public Class<? extends Annotation> annotationType() { return YYYYMM.class; }
+            public String allowFormat() { return "yyyy/MM"; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return "201101"; }
+            public String max() { return "201112"; }
+            public String rangeMessageId() { return "MCUSTOM1"; }
+            public String messageId() { return ""; }
+        };
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("param", new String[]{"10"});
+        for (String value : new String[] {"2011/01", "2011/12", "201109"}) {
+            assertTrue(value, target.isConvertible(createContext(params), "param", "PROP0001", value, annotation));
+        }
+        for (String value : new String[] {"2010/12", "2012/01"}) {
+            ValidationContext<TestTarget> context = createContext(params);
+            assertFalse(value, target.isConvertible(context, "param", "PROP0001", value, annotation));
+            assertEquals("PROP0001カスタムエラーメッセージ", context.getMessages().get(0).formatMessage());
+        }
+    }
+
     private YYYYMM getYYYYMM(final String allowFormat) {
         return getYYYYMM(allowFormat, "");
     }
@@ -301,6 +356,10 @@ public class YYYYMMConvertorTest {
         return new YYYYMM() {
             public Class<? extends Annotation> annotationType() { return YYYYMM.class; }
             public String allowFormat() { return allowFormat; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
             public String messageId() { return messageId; /* default */ }
         };
 
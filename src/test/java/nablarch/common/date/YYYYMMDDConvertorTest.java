@@ -1,17 +1,27 @@
 package nablarch.common.date;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
 
 import nablarch.core.ThreadContext;
+import nablarch.core.util.FormatSpec;
 import nablarch.test.support.message.MockStringResourceHolder;
 import nablarch.core.repository.ObjectLoader;
 import nablarch.core.repository.SystemRepository;
@@ -37,7 +47,9 @@ public class YYYYMMDDConvertorTest {
     private static final String[][] MESSAGES = {
         {"PROP0001", "ja", "プロパティ1", "en", "property1"},
         {"MSG00002", "ja", "{0}がフォーマット通りではありません。", "en", "value if input is not well-formatted."},
-        {"MCUSTOM1", "ja", "{0}カスタムエラーメッセージ", "en", "{0}custom error message"}
+        {"MCUSTOM1", "ja", "{0}カスタムエラーメッセージ", "en", "{0}custom error message"},
+        {"MRANGE01", "ja", "{0}は{1}から{2}の範囲で入力してください。", "en", "{0} must be between {1} and {2}."},
+        {"MRANGE02", "ja", "{0}は{2}以前の日付を入力してください。", "en", "{0} must be on or before {2}."}
     };
 
     @BeforeClass
@@ -48,6 +60,7 @@ public class YYYYMMDDConvertorTest {
             public Map<String, Object> load() {
                 final Map<String, Object> result = new HashMap<String, Object>();
                 result.put("stringResourceHolder", resource);
+                result.put("systemTimeProvider", new FixedSystemTimeProvider("20110909120000"));
                 return result;
             }
         });
@@ -66,6 +79,10 @@ public class YYYYMMDDConvertorTest {
         YYYYMMDD annotation = new YYYYMMDD() {
             public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
             public String allowFormat() { return "yyyy/MM/dd"; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
             public String messageId() { return ""; /* default */ }
         };
 
@@ -86,6 +103,12 @@ public class YYYYMMDDConvertorTest {
         assertEquals("20000229", convertor.convert(context, "param", "20000229", annotation));
         assertEquals("20000228", convertor.convert(context, "param", "20000228", annotation));
 
+        // ユリウス暦の閏年
+        assertEquals("15000229", convertor.convert(context, "param", "1500/02/29", annotation));
+
+        // 4桁を超える年
+        assertEquals("100000101", convertor.convert(context, "param", "10000/01/01", annotation));
+
         // 空文字
         assertEquals("", convertor.convert(context, "param", "", annotation));
 
@@ -96,6 +119,10 @@ public class YYYYMMDDConvertorTest {
         annotation = new YYYYMMDD() {
             public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
             public String allowFormat() { return "MM/dd/yyyy"; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
             public String messageId() { return ""; /* default */ }
         };
 
@@ -116,6 +143,10 @@ public class YYYYMMDDConvertorTest {
         YYYYMMDD annotation = new YYYYMMDD() {
             public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
             public String allowFormat() { return "yyyy/MM/dd"; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
             public String messageId() { return ""; /* default */ }
         };
 
@@ -166,6 +197,10 @@ public class YYYYMMDDConvertorTest {
         YYYYMMDD annotation = new YYYYMMDD() {
             public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
             public String allowFormat() { return "yyyy/MM/dd"; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
             public String messageId() { return ""; /* default */ }
         };
 
@@ -290,6 +325,10 @@ public class YYYYMMDDConvertorTest {
             annotation = new YYYYMMDD() {
                 public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
                 public String allowFormat() { return "yyyy/MM/dd"; }
+                public String[] allowFormats() { return new String[0]; }
+                public String min() { return ""; }
+                public String max() { return ""; }
+                public String rangeMessageId() { return ""; }
                 public String messageId() { return "MCUSTOM1"; }
             };
 
@@ -324,6 +363,10 @@ public class YYYYMMDDConvertorTest {
         YYYYMMDD annotation = new YYYYMMDD() {
             public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
             public String allowFormat() { return "yyyy/MM/dd"; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
             public String messageId() { return ""; /* default */ }
         };
 
@@ -374,6 +417,10 @@ public class YYYYMMDDConvertorTest {
         annotation = new YYYYMMDD() {
             public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
             public String allowFormat() { return "yyyy/MM/dd"; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
             public String messageId() { return "MCUSTOM1"; }
         };
 
@@ -381,6 +428,642 @@ public class YYYYMMDDConvertorTest {
         assertEquals("PRPO0001カスタムエラーメッセージ", context.getMessages().get(6).formatMessage());
     }
 
+    /** 解析準備済みフォーマットがキャッシュされること。 */
+    @Test
+    public void testFormatCache() {
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        target.setParseFailedMessageId("MSG00002");
+        YYYYMMDD annotation = new YYYYMMDD() {
+            public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
+            public String allowFormat() { return "yyyy/MM/dd"; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
+            public String messageId() { return ""; /* default */ }
+        };
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("param", new String[]{"10"});
+        ValidationContext<TestTarget> context = createContext(params);
+
+        assertTrue(target.isConvertible(context, "param", "PROP0001", "2011/09/09", annotation));
+        assertEquals("20110909", target.convert(context, "param", "2011/09/09", annotation));
+        assertTrue(target.isConvertible(context, "param", "PROP0001", "20110910", annotation));
+        assertEquals("20110910", target.convert(context, "param", "20110910", annotation));
+        assertFalse(target.isConvertible(context, "param", "PROP0001", "2011/02/29", annotation));
+
+        assertEquals(1, target.getFormatCacheMissCount());
+        assertEquals(4, target.getFormatCacheHitCount());
+    }
+
+    /** いずれの解析エンジンでも同じ変換結果となること。 */
+    @Test
+    public void testParserEngine() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("param", new String[]{"10"});
+        String[] formats = {"yyyy/MM/dd", "yyyy/M/d", "yyyy年M月d日", "dd.MM.yyyy"};
+        String[] values = {
+                "2011/09/09", "2011/9/9", "20110909", "2011年9月9日", "2011年09月09日", "09.09.2011",
+                "2011/02/29", "2012/2/29", "1500/2/29", "2011/9/31", "2011/9/009", "2011/13/1"
+        };
+        for (String format : formats) {
+            YYYYMMDDConvertor compiled = new YYYYMMDDConvertor();
+            compiled.setParseFailedMessageId("MSG00002");
+            YYYYMMDDConvertor simpleDateFormat = new YYYYMMDDConvertor();
+            simpleDateFormat.setParseFailedMessageId("MSG00002");
+            simpleDateFormat.setParserEngine(AbstractDateStringConverter.ENGINE_SIMPLE_DATE_FORMAT);
+            YYYYMMDD annotation = yyyymmdd(format);
+            for (String value : values) {
+                boolean expected = simpleDateFormat.isConvertible(createContext(params), "param", "PROP0001", value, annotation);
+                assertEquals(format + " " + value, expected,
+                        compiled.isConvertible(createContext(params), "param", "PROP0001", value, annotation));
+                if (expected) {
+                    assertEquals(format + " " + value,
+                            simpleDateFormat.convert(createContext(params), "param", value, annotation),
+                            compiled.convert(createContext(params), "param", value, annotation));
+                }
+            }
+        }
+    }
+
+    /** いずれの解析エンジンでも、int値で表現できる年(214747年)までを変換可能と判定すること。 */
+    @Test
+    public void testMaxYear() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("param", new String[]{"10"});
+        YYYYMMDD annotation = yyyymmdd("yyyy/MM/dd");
+        for (String engine : new String[] {
+                AbstractDateStringConverter.ENGINE_COMPILED, AbstractDateStringConverter.ENGINE_SIMPLE_DATE_FORMAT}) {
+            YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+            target.setParseFailedMessageId("MSG00002");
+            target.setParserEngine(engine);
+            assertTrue(engine, target.isConvertible(createContext(params), "param", "PROP0001", "214747/12/31", annotation));
+            assertEquals(engine, "2147471231", target.convert(createContext(params), "param", "214747/12/31", annotation));
+            assertFalse(engine, target.isConvertible(createContext(params), "param", "PROP0001", "214748/01/01", annotation));
+        }
+    }
+
+    /** 未対応の解析エンジンを指定した場合は例外が発生すること。 */
+    @Test
+    public void testUnsupportedParserEngine() {
+        try {
+            new YYYYMMDDConvertor().setParserEngine("java.time");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("unsupported parser engine. parserEngine=java.time", e.getMessage());
+        }
+    }
+
+    private static YYYYMMDD yyyymmdd(final String allowFormat) {
+        return new YYYYMMDD() {
+            public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
+            public String allowFormat() { return allowFormat; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
+            public String messageId() { return ""; /* default */ }
+        };
+    }
+
+    /** {@link YYYYMMDDConvertor#convertAll}のテスト */
+    @Test
+    public void testConvertAll() {
+        String[] values = {"2011/09/09", "20110910", "2011/02/29", "", null, "2011-09-09", "2000/02/29"};
+
+        BulkConversionResult result = convertor.convertAll(values, "yyyy/MM/dd");
+        assertEquals(7, result.size());
+        assertArrayEquals(new String[] {"20110909", "20110910", null, "", null, null, "20000229"}, result.getValues());
+        assertEquals(2, result.getFailureCount());
+        assertTrue(result.hasFailure());
+        assertTrue(result.isFailed(2));
+        assertTrue(result.isFailed(5));
+        assertFalse(result.isFailed(4));
+        assertEquals("{2, 5}", result.getFailedIndexes().toString());
+
+        result = convertor.convertAll(Arrays.asList("2011-09-09", "20110909"), FormatSpec.valueOf("yyyymmdd{yyyy-MM-dd}", "|"));
+        assertArrayEquals(new String[] {"20110909", "20110909"}, result.getValues());
+        assertFalse(result.hasFailure());
+    }
+
+    /** 複数の許容フォーマットが指定できること。 */
+    @Test
+    public void testAllowFormats() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("param", new String[]{"10"});
+        YYYYMMDD annotation = new YYYYMMDD() {
+            public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
+            public String allowFormat() { return "yyyy/MM/dd"; }
+            public String[] allowFormats() { return new String[] {"yyyy-MM-dd", "yyyy.M.d", "yyyy年M月d日", "dd MMM yyyy"}; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
+            public String messageId() { return ""; /* default */ }
+        };
+        String[][] values = {
+                {"2011/09/09", "20110909"},
+                {"2011-09-10", "20110910"},
+                {"2011.9.11", "20110911"},
+                {"2011年9月12日", "20110912"},
+                {"20110913", "20110913"},
+                {"14 " + new SimpleDateFormat("MMM").format(new GregorianCalendar(2011, 8, 14).getTime()) + " 2011", "20110914"},
+        };
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        target.setParseFailedMessageId("MSG00002");
+        for (String[] value : values) {
+            ValidationContext<TestTarget> context = createContext(params);
+            assertTrue(value[0], target.isConvertible(context, "param", "PROP0001", value[0], annotation));
+            assertEquals(value[0], value[1], target.convert(context, "param", value[0], annotation));
+        }
+        for (String value : new String[] {"2011-09/09", "2011.09.31", "2011/9/9", "2011年9月9", "2011_09_09", "201109091"}) {
+            assertFalse(value, target.isConvertible(createContext(params), "param", "PROP0001", value, annotation));
+        }
+        try {
+            target.convert(createContext(params), "param", "2011-02-29", annotation);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("value could not be parsed. value=2011-02-29", e.getMessage());
+        }
+    }
+
+    /** 日付パターンの精度のint値に変換できること。 */
+    @Test
+    public void testConvertToInt() {
+        assertEquals(20110909, convertor.convertToInt("2011/09/09", "yyyy/MM/dd"));
+        assertEquals(20110910, convertor.convertToInt("20110910", "yyyy/MM/dd"));
+        assertEquals(15000229, convertor.convertToInt("1500/2/29", "yyyy/M/d"));
+        assertEquals(20110909, convertor.convertToInt("2011-09-09", FormatSpec.valueOf("yyyymmdd{yyyy-MM-dd}", "|")));
+        for (String value : new String[] {"2011/02/29", "", null}) {
+            try {
+                convertor.convertToInt(value, "yyyy/MM/dd");
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertEquals("value could not be parsed. value=" + value, e.getMessage());
+            }
+        }
+    }
+
+    /** 1970年1月1日からの経過日数に変換できること。 */
+    @Test
+    public void testConvertToEpochDay() {
+        assertEquals(0L, convertor.convertToEpochDay("1970/01/01", "yyyy/MM/dd"));
+        assertEquals(-1L, convertor.convertToEpochDay("19691231", "yyyy/MM/dd"));
+        assertEquals(15226L, convertor.convertToEpochDay("2011/09/09", "yyyy/MM/dd"));
+
+        // GregorianCalendar(ユリウス暦からの切り替えを含む)と同じ経過日数となること
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        Random random = new Random(20111010L);
+        for (int i = 0; i < 10000; i++) {
+            GregorianCalendar calendar = new GregorianCalendar(utc);
+            calendar.clear();
+            calendar.set(1 + random.nextInt(9999), random.nextInt(12), 1);
+            calendar.set(Calendar.DAY_OF_MONTH,
+                    1 + random.nextInt(calendar.getActualMaximum(Calendar.DAY_OF_MONTH)));
+            SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
+            format.setTimeZone(utc);
+            String value = format.format(calendar.getTime());
+            assertEquals(value, Math.floor(calendar.getTimeInMillis() / 86400000d),
+                    convertor.convertToEpochDay(value, "yyyyMMdd"), 0d);
+        }
+        assertEquals(-141427L, convertor.convertToEpochDay("1582/10/15", "yyyy/MM/dd"));
+        assertEquals(-141428L, convertor.convertToEpochDay("1582/10/04", "yyyy/MM/dd"));
+    }
+
+    /** 文字列以外の文字の並びを判定、変換できること。 */
+    @Test
+    public void testConvertCharSequence() {
+        FormatSpec formatSpec = convertor.getDefaultFormatSpec("yyyy/MM/dd");
+        assertTrue(convertor.isConvertibleSequence(new StringBuilder("2011/09/09"), formatSpec));
+        assertTrue(convertor.isConvertibleSequence(new StringBuilder("20110909"), formatSpec));
+        assertFalse(convertor.isConvertibleSequence(new StringBuilder("2011/02/29"), formatSpec));
+        assertFalse(convertor.isConvertibleSequence(new StringBuilder(), formatSpec));
+        assertFalse(convertor.isConvertibleSequence(null, formatSpec));
+        assertTrue(convertor.isConvertibleSequence("2011/09/09", formatSpec));
+
+        char[] dest = "**********".toCharArray();
+        assertEquals(8, convertor.convertTo(new StringBuilder("2011/09/09"), formatSpec, dest, 1));
+        assertEquals("*20110909*", new String(dest));
+        assertEquals(-1, convertor.convertTo(new StringBuilder("2011/9/9"), formatSpec, dest, 0));
+        assertEquals(-1, convertor.convertTo((CharSequence) null, formatSpec, dest, 0));
+        assertEquals("*20110909*", new String(dest));
+        try {
+            convertor.convertTo(new StringBuilder("2011/09/09"), formatSpec, dest, 3);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("output buffer is too small. offset=3, length=8, capacity=10", e.getMessage());
+        }
+
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        target.setOutputPattern("yyyy年M月d日");
+        assertEquals(9, target.convertTo("2011/09/09", formatSpec, dest, 0));
+        assertEquals("2011年9月9日", new String(dest, 0, 9));
+    }
+
+    /** バイト配列の範囲を、文字列を生成せずに判定、変換できること。 */
+    @Test
+    public void testConvertBytes() throws Exception {
+        FormatSpec formatSpec = convertor.getDefaultFormatSpec("yyyy/MM/dd");
+        byte[] record = "山田 2011/09/092011/02/29".getBytes("MS932");
+        assertTrue(convertor.isConvertible(record, 5, 10, formatSpec));
+        assertFalse(convertor.isConvertible(record, 15, 10, formatSpec));
+        assertFalse(convertor.isConvertible(record, 5, 0, formatSpec));
+        // ASCII以外のバイトを含む範囲は変換不可
+        assertFalse(convertor.isConvertible(record, 0, 10, formatSpec));
+        assertFalse(convertor.isConvertible("２０１１/09/09".getBytes("MS932"), 0, 14, formatSpec));
+
+        byte[] dest = new byte[12];
+        assertEquals(8, convertor.convertTo(record, 5, 10, formatSpec, dest, 2));
+        assertEquals("20110909", new String(dest, 2, 8, "US-ASCII"));
+        assertEquals(0, dest[1]);
+        assertEquals(0, dest[10]);
+        assertEquals(-1, convertor.convertTo(record, 15, 10, formatSpec, dest, 0));
+        assertEquals(8, convertor.convertTo("x20110910".getBytes("US-ASCII"), 1, 8, formatSpec, dest, 0));
+        assertEquals("20110910", new String(dest, 0, 8, "US-ASCII"));
+
+        try {
+            convertor.isConvertible(record, 20, 10, formatSpec);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("range is out of bounds. offset=20, length=10, capacity=25", e.getMessage());
+        }
+        try {
+            convertor.convertTo(record, 5, 10, formatSpec, dest, 5);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("output buffer is too small. offset=5, length=8, capacity=12", e.getMessage());
+        }
+
+        // ASCIIの変換後の値はSimpleDateFormatのパターンでも書き込めること
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.ENGLISH);
+        try {
+            target.setOutputPattern("dd MMM yyyy");
+            assertEquals(11, target.convertTo(record, 5, 10, formatSpec, dest, 0));
+            assertEquals("09 Sep 2011", new String(dest, 0, 11, "US-ASCII"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+        target.setOutputPattern("yyyy年MM月dd日");
+        try {
+            target.convertTo(record, 5, 10, formatSpec, dest, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("formatted value must consist of ASCII characters. pattern=yyyy年MM月dd日, value=2011年09月09日",
+                    e.getMessage());
+        }
+    }
+
+    /** ByteBufferの範囲を、positionとlimitを変更せずに判定、変換できること。 */
+    @Test
+    public void testConvertByteBuffer() throws Exception {
+        FormatSpec formatSpec = convertor.getDefaultFormatSpec("yyyy-MM-dd");
+        ByteBuffer record = ByteBuffer.allocateDirect(20);
+        record.put("2011-09-0920110230".getBytes("US-ASCII"));
+        record.position(3);
+        assertTrue(convertor.isConvertible(record, 0, 10, formatSpec));
+        assertFalse(convertor.isConvertible(record, 0, 8, formatSpec));
+        assertFalse(convertor.isConvertible(record, 10, 8, formatSpec));
+        assertFalse(convertor.isConvertible(record, 10, 10, formatSpec));
+
+        ByteBuffer dest = ByteBuffer.wrap(new byte[10]);
+        assertEquals(8, convertor.convertTo(record, 0, 10, formatSpec, dest, 1));
+        assertEquals(-1, convertor.convertTo(record, 10, 8, formatSpec, dest, 0));
+        assertEquals("20110909", new String(dest.array(), 1, 8, "US-ASCII"));
+        assertEquals(0, dest.get(0));
+        assertEquals(0, dest.get(9));
+        assertEquals(3, record.position());
+        assertEquals(20, record.limit());
+        assertEquals(0, dest.position());
+        dest.limit(8);
+        try {
+            convertor.convertTo(record, 0, 10, formatSpec, dest, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("output buffer is too small. offset=1, length=8, capacity=8", e.getMessage());
+        }
+        dest.limit(10);
+        try {
+            convertor.convertTo(record, 0, 10, formatSpec, dest, 3);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("output buffer is too small. offset=3, length=8, capacity=10", e.getMessage());
+        }
+    }
+
+    /** 変換後の値を共有する表を設定した場合、同じ日付の変換結果が同じインスタンスとなること。 */
+    @Test
+    public void testInternTable() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        YYYYMMDD annotation = yyyymmdd("yyyy/MM/dd");
+        FormatSpec formatSpec = convertor.getDefaultFormatSpec("yyyy/MM/dd");
+
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        target.setParseFailedMessageId("MSG00002");
+        assertEquals(0, target.getInternTableCount());
+        assertEquals(0L, target.getInternTableHitCount());
+
+        target.setInternTableSize(1024);
+        Object first = target.convert(createContext(params), "param", "2011/09/09", annotation);
+        assertEquals("20110909", first);
+        assertSame(first, target.convert(createContext(params), "param", "20110909", annotation));
+        assertSame(first, target.convert("2011/09/09", formatSpec));
+        BulkConversionResult result = target.convertAll(
+                new String[] {"2011/09/09", "2011/09/10", "2011/09/10"}, formatSpec);
+        assertSame(first, result.getValues()[0]);
+        assertSame(result.getValues()[1], result.getValues()[2]);
+        assertEquals(2, target.getInternTableCount());
+        assertEquals(4L, target.getInternTableHitCount());
+        assertEquals(2L, target.getInternTableMissCount());
+        assertEquals(0L, target.getInternTableEvictionCount());
+
+        // 変換後の値のパターンを変更した場合は保持している値を破棄すること
+        target.setOutputPattern("yyyy-MM-dd");
+        assertEquals(0, target.getInternTableCount());
+        assertEquals("2011-09-09", target.convert("2011/09/09", formatSpec));
+
+        // 0を設定した場合は共有しないこと
+        target.setInternTableSize(0);
+        Object value = target.convert("2011/09/09", formatSpec);
+        assertEquals("2011-09-09", value);
+        assertFalse(value == target.convert("2011/09/09", formatSpec));
+        assertEquals(0, target.getInternTableCount());
+        try {
+            target.setInternTableSize(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("internTableSize must not be negative. internTableSize=-1", e.getMessage());
+        }
+    }
+
+    /** プレフィクス付きのフォーマット仕様のリクエストパラメータが、プレフィクスとプロパティ名毎に参照されること。 */
+    @Test
+    public void testFormatSpecWithPrefix() {
+        YYYYMMDD annotation = yyyymmdd("yyyy/MM/dd");
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        target.setParseFailedMessageId("MSG00002");
+
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("form.param_nablarch_formatSpec", new String[]{"yyyymmdd{yyyy-MM-dd}"});
+        params.put("other.param_nablarch_formatSpec", new String[0]);
+        params.put("form.month_nablarch_formatSpec", new String[]{"yyyymm{yyyy-MM}"});
+        for (int i = 0; i < 2; i++) {
+            ValidationContext<TestTarget> form = new ValidationContext<TestTarget>(
+                    "form.", TestTarget.class, new ReflectionFormCreator(), params, "");
+            assertTrue(target.isConvertible(form, "param", "param", "2011-09-09", annotation));
+            assertFalse(target.isConvertible(form, "param", "param", "2011/09/09", annotation));
+            assertEquals("20110909", target.convert(form, "param", "2011-09-09", annotation));
+
+            // 値が空のパラメータ、データタイプが異なるフォーマット仕様はアノテーションのフォーマットを使用すること
+            ValidationContext<TestTarget> other = new ValidationContext<TestTarget>(
+                    "other.", TestTarget.class, new ReflectionFormCreator(), params, "");
+            assertTrue(target.isConvertible(other, "param", "param", "2011/09/09", annotation));
+            assertFalse(target.isConvertible(other, "param", "param", "2011-09-09", annotation));
+            assertTrue(target.isConvertible(form, "month", "month", "2011/09/09", annotation));
+            assertEquals("20110909", target.convert(form, "month", "2011/09/09", annotation));
+        }
+    }
+
+    /**
+     * サブクラスでオーバーライドした{@link AbstractDateStringConverter#getFormatSpec}のフォーマット仕様が、
+     * 変換可否の判定と変換で使用されること。また、判定と変換の組で1度だけ呼び出されること。
+     */
+    @Test
+    public void testOverrideGetFormatSpec() {
+        final int[] calls = new int[1];
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor() {
+            @Override
+            protected <T> FormatSpec getFormatSpec(ValidationContext<T> context, String propertyName,
+                    String allowFormat) {
+                calls[0]++;
+                return "dotted".equals(propertyName)
+                        ? FormatSpec.valueOf("yyyymmdd{dd.MM.yyyy}", "|")
+                        : super.getFormatSpec(context, propertyName, allowFormat);
+            }
+        };
+        target.setParseFailedMessageId("MSG00002");
+        YYYYMMDD annotation = yyyymmdd("yyyy/MM/dd");
+        YYYYMMDD multi = new YYYYMMDD() {
+            public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
+            public String allowFormat() { return "yyyy/MM/dd"; }
+            public String[] allowFormats() { return new String[] {"yyyy-MM-dd"}; }
+            public String min() { return ""; }
+            public String max() { return ""; }
+            public String rangeMessageId() { return ""; }
+            public String messageId() { return ""; }
+        };
+        Map<String, String[]> params = new HashMap<String, String[]>();
+
+        for (YYYYMMDD format : new YYYYMMDD[] {annotation, multi}) {
+            calls[0] = 0;
+            ValidationContext<TestTarget> context = createContext(params);
+            assertTrue(target.isConvertible(context, "dotted", "PROP0001", "09.09.2011", format));
+            assertEquals("20110909", target.convert(context, "dotted", "09.09.2011", format));
+            assertEquals(1, calls[0]);
+            assertFalse(target.isConvertible(context, "dotted", "PROP0001", "2011/09/09", format));
+            assertFalse(target.isConvertible(context, "dotted", "PROP0001", "2011-09-09", format));
+            assertEquals(3, calls[0]);
+
+            // 判定を経ない変換では、都度呼び出されること
+            assertEquals("20110910", target.convert(context, "dotted", "10.09.2011", format));
+            assertEquals(4, calls[0]);
+        }
+
+        // オーバーライドしたメソッドがデフォルトのフォーマット仕様を返す場合は、allowFormatsも許容すること
+        calls[0] = 0;
+        ValidationContext<TestTarget> context = createContext(params);
+        assertTrue(target.isConvertible(context, "param", "PROP0001", "2011-09-09", multi));
+        assertEquals("20110909", target.convert(context, "param", "2011-09-09", multi));
+        assertFalse(target.isConvertible(context, "param", "PROP0001", "2011-09-09", annotation));
+        assertEquals(2, calls[0]);
+    }
+
+    /** 入力値の変換結果がキャッシュされ、キャッシュの状況が取得できること。 */
+    @Test
+    public void testResultCache() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        YYYYMMDD annotation = yyyymmdd("yyyy/MM/dd");
+
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        target.setParseFailedMessageId("MSG00002");
+        FormatSpec formatSpec = target.getDefaultFormatSpec("yyyy/MM/dd");
+        assertEquals(0, target.getResultCacheCount());
+        assertEquals(0.0, target.getResultCacheHitRatio(), 0.0);
+
+        target.setResultCacheSize(16);
+        Object first = target.convert("2011/09/09", formatSpec);
+        assertEquals("20110909", first);
+        assertSame(first, target.convert(new String("2011/09/09"), formatSpec));
+
+        // 解析できなかった入力値もキャッシュされること
+        for (int i = 0; i < 2; i++) {
+            try {
+                target.convert("2011/02/30", formatSpec);
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertEquals("value could not be parsed. value=2011/02/30", e.getMessage());
+            }
+        }
+        BulkConversionResult result = target.convertAll(
+                new String[] {"2011/09/09", "2011/02/30", "2011/09/10"}, formatSpec);
+        assertSame(first, result.getValues()[0]);
+        assertNull(result.getValues()[1]);
+        assertEquals("20110910", result.getValues()[2]);
+        assertEquals(3, target.getResultCacheCount());
+        assertEquals(4L, target.getResultCacheHitCount());
+        assertEquals(3L, target.getResultCacheMissCount());
+        assertEquals(4.0 / 7, target.getResultCacheHitRatio(), 1e-9);
+        assertEquals(0L, target.getResultCacheEvictionCount());
+
+        // バリデーションでの変換もキャッシュを使用すること
+        assertTrue(target.isConvertible(createContext(params), "param", "param", "2011/09/10", annotation));
+        assertEquals("20110910", target.convert(createContext(params), "param", "2011/09/10", annotation));
+        assertFalse(target.isConvertible(createContext(params), "param", "param", "2011/02/30", annotation));
+        assertTrue(target.getResultCacheHitCount() > 4L);
+
+        // 上限を超えた場合は追い出されること
+        target.setResultCacheSize(4);
+        for (int day = 1; day <= 20; day++) {
+            assertEquals(String.format("201110%02d", day), target.convert(String.format("2011/10/%02d", day), formatSpec));
+        }
+        assertEquals(4, target.getResultCacheCount());
+        assertEquals(16L, target.getResultCacheEvictionCount());
+
+        // 変換後の値のパターンを変更した場合は保持している値を破棄すること
+        target.setOutputPattern("yyyy-MM-dd");
+        assertEquals(0, target.getResultCacheCount());
+        assertEquals("2011-10-20", target.convert("2011/10/20", formatSpec));
+
+        // 0を設定した場合はキャッシュしないこと
+        target.setResultCacheSize(0);
+        assertEquals("2011-09-09", target.convert("2011/09/09", formatSpec));
+        assertEquals(0, target.getResultCacheCount());
+        assertEquals(0L, target.getResultCacheHitCount());
+        try {
+            target.setResultCacheSize(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("resultCacheSize must not be negative. resultCacheSize=-1", e.getMessage());
+        }
+    }
+
+    /** キャッシュした入力値も、範囲の判定は変換の都度行われること。 */
+    @Test
+    public void testResultCacheRange() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        target.setParseFailedMessageId("MSG00002");
+        target.setOutOfRangeMessageId("MRANGE01");
+        target.setResultCacheSize(16);
+
+        YYYYMMDD unbounded = yyyymmdd("yyyy/MM/dd");
+        YYYYMMDD bounded = getRangeAnnotation("yyyy/MM/dd", "20110101", "20111231", "");
+        assertTrue(target.isConvertible(createContext(params), "param", "param", "2010/12/31", unbounded));
+        ValidationContext<TestTarget> context = createContext(params);
+        assertFalse(target.isConvertible(context, "param", "PROP0001", "2010/12/31", bounded));
+        assertEquals("PROP0001は20110101から20111231の範囲で入力してください。",
+                context.getMessages().get(0).formatMessage());
+        assertTrue(target.isConvertible(createContext(params), "param", "param", "2011/12/31", bounded));
+    }
+
+    /** 変換後の値のパターンが設定できること。 */
+    @Test
+    public void testOutputPattern() {
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("param", new String[]{"10"});
+        YYYYMMDD annotation = yyyymmdd("yyyy/MM/dd");
+
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        target.setParseFailedMessageId("MSG00002");
+        target.setOutputPattern("yyyy-MM-dd");
+        assertEquals("2011-09-09", target.convert(createContext(params), "param", "2011/09/09", annotation));
+        assertEquals("2011-09-10", target.convert(createContext(params), "param", "20110910", annotation));
+
+        target.setOutputPattern("yyyy年M月d日(E)");
+        assertEquals("2011年9月9日(" + new SimpleDateFormat("E").format(
+                new GregorianCalendar(2011, 8, 9).getTime()) + ")",
+                target.convert(createContext(params), "param", "2011/09/09", annotation));
+
+        try {
+            target.setOutputPattern("");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("pattern must not be null or empty. pattern=", e.getMessage());
+        }
+        try {
+            target.setOutputPattern("yyyyMMddb");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // 不正なパターン
+        }
+    }
+
+    /** 範囲(min、max)外の日付は変換不可と判定されること。 */
+    @Test
+    public void testRange() {
+        YYYYMMDDConvertor target = new YYYYMMDDConvertor();
+        target.setParseFailedMessageId("MSG00002");
+        target.setOutOfRangeMessageId("MRANGE01");
+        Map<String, String[]> params = new HashMap<String, String[]>();
+        params.put("param", new String[]{"10"});
+
+        YYYYMMDD annotation = getRangeAnnotation("yyyy/MM/dd", "20110101", "20111231", "");
+        for (String value : new String[] {"2011/01/01", "2011/12/31", "20110909"}) {
+            ValidationContext<TestTarget> context = createContext(params);
+            assertTrue(value, target.isConvertible(context, "param", "PROP0001", value, annotation));
+            assertEquals(value.replace("/", ""), target.convert(context, "param", value, annotation));
+        }
+        for (String value : new String[] {"2010/12/31", "2012/01/01"}) {
+            ValidationContext<TestTarget> context = createContext(params);
+            assertFalse(value, target.isConvertible(context, "param", "PROP0001", value, annotation));
+            assertEquals("PROP0001は20110101から20111231の範囲で入力してください。",
+                    context.getMessages().get(0).formatMessage());
+        }
+        ValidationContext<TestTarget> context = createContext(params);
+        assertFalse(target.isConvertible(context, "param", "PROP0001", "2011/02/29", annotation));
+        assertEquals("PROP0001がフォーマット通りではありません。", context.getMessages().get(0).formatMessage());
+
+        // システム日付(システム日時プロバイダで2011/09/09に固定)からの相対値とアノテーションのメッセージID
+        String today = "2011/09/09";
+        String tomorrow = "2011/09/10";
+        annotation = getRangeAnnotation("yyyy/MM/dd", "", "today", "MRANGE02");
+        context = createContext(params);
+        assertTrue(target.isConvertible(context, "param", "PROP0001", today, annotation));
+        assertTrue(target.isConvertible(context, "param", "PROP0001", "0001/01/01", annotation));
+        assertFalse(target.isConvertible(context, "param", "PROP0001", tomorrow, annotation));
+        assertEquals("PROP0001は" + today.replace("/", "") + "以前の日付を入力してください。",
+                context.getMessages().get(0).formatMessage());
+
+        // 範囲外の場合のメッセージIDの指定がない場合は変換失敗時のメッセージID
+        YYYYMMDDConvertor defaultMessage = new YYYYMMDDConvertor();
+        defaultMessage.setParseFailedMessageId("MSG00002");
+        context = createContext(params);
+        assertFalse(defaultMessage.isConvertible(context, "param", "PROP0001", tomorrow,
+                getRangeAnnotation("yyyy/MM/dd", "", "today", "")));
+        assertEquals("PROP0001がフォーマット通りではありません。", context.getMessages().get(0).formatMessage());
+
+        try {
+            target.isConvertible(createContext(params), "param", "PROP0001", "2011/01/01",
+                    getRangeAnnotation("yyyy/MM/dd", "2011/01/01", "", ""));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("invalid date range bound. bound=2011/01/01", e.getMessage());
+        }
+    }
+
+    private static YYYYMMDD getRangeAnnotation(final String allowFormat, final String min, final String max,
+            final String rangeMessageId) {
+        return new YYYYMMDD() {
+            public Class<? extends Annotation> annotationType() { return YYYYMMDD.class; }
+            public String allowFormat() { return allowFormat; }
+            public String[] allowFormats() { return new String[0]; }
+            public String min() { return min; }
+            public String max() { return max; }
+            public String rangeMessageId() { return rangeMessageId; }
+            public String messageId() { return ""; }
+        };
+    }
+
     /** {@link YYYYMMDDConvertor#getTargetAnnotation()}のテスト */
     @Test
     public void testGetTargetAnnotation() throws Exception {
@@ -0,0 +1,125 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.TimeZone;
+
+import nablarch.core.util.FormatSpec;
+
+import org.junit.Test;
+
+/**
+ * {@link YYYYMMDDHHMMConvertor}のテスト。
+ */
+public class YYYYMMDDHHMMConvertorTest {
+
+    private final YYYYMMDDHHMMConvertor convertor = new YYYYMMDDHHMMConvertor();
+
+    /** 年月日時分の文字列に変換できること。 */
+    @Test
+    public void testConvert() {
+        String[] values = {
+                "2011/09/28 09:30", "201109280930", "2011/09/28 00:00", "2011/09/28 23:59", "2000/02/29 12:00",
+                "2011/09/28 24:00", "2011/09/28 12:60", "2011/02/29 09:30", "2011/09/28 9:30", "2011/09/28",
+                "2011/09/28 09:30:00", "2011-09-28 09:30",
+        };
+        BulkConversionResult result = convertor.convertAll(values, "yyyy/MM/dd HH:mm");
+        assertArrayEquals(new String[] {
+                "201109280930", "201109280930", "201109280000", "201109282359", "200002291200",
+                null, null, null, null, null,
+                null, null,
+        }, result.getValues());
+
+        assertEquals("201109280930", convertor.convertAll(new String[] {"2011/9/28 9:30"}, "yyyy/M/d H:mm").getValue(0));
+        assertEquals("201109280930", convertor.convertAll(new String[] {"2011年09月28日 09時30分"}, "yyyy年MM月dd日 HH時mm分").getValue(0));
+    }
+
+    /** 数値のみで構成されないフォーマットでも変換できること。 */
+    @Test
+    public void testConvertWithSimpleDateFormat() {
+        FormatSpec formatSpec = FormatSpec.valueOf("yyyymmddhhmm{yyyy/MM/dd hh:mm a|en}", "|");
+        assertTrue(convertor.isConvertible("2011/09/28 09:30 PM", formatSpec));
+        assertEquals("201109282130", convertor.convert("2011/09/28 09:30 PM", formatSpec));
+        assertFalse(convertor.isConvertible("2011/09/28 21:30 PM", formatSpec));
+    }
+
+    /** 解析エンジンに関わらず同じ変換結果となること。 */
+    @Test
+    public void testConvertSameAsSimpleDateFormat() {
+        YYYYMMDDHHMMConvertor simple = new YYYYMMDDHHMMConvertor();
+        simple.setParserEngine(AbstractDateStringConverter.ENGINE_SIMPLE_DATE_FORMAT);
+        Random random = new Random(20111011L);
+        String[] values = new String[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = String.format(random.nextBoolean() ? "%04d/%02d/%02d %02d:%02d" : "%04d/%d/%d %d:%d",
+                    1 + random.nextInt(2100), random.nextInt(14), random.nextInt(33),
+                    random.nextInt(26), random.nextInt(62));
+        }
+        for (String format : new String[] {"yyyy/MM/dd HH:mm", "yyyy/M/d H:m"}) {
+            BulkConversionResult expected = simple.convertAll(values, format);
+            BulkConversionResult actual = convertor.convertAll(values, format);
+            assertArrayEquals(format, expected.getValues(), actual.getValues());
+            assertTrue(format, actual.getFailedIndexes().cardinality() < values.length);
+        }
+    }
+
+    /**
+     * 夏時間への切り替えでデフォルトタイムゾーンに存在しない時刻は、解析エンジンに関わらず変換できないこと。
+     * 切り替え前後の時刻や、夏時間の終了で重複する時刻は変換できること。
+     */
+    @Test
+    public void testDaylightSavingTimeGap() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Sao_Paulo"));
+        DateThreadResources.clear();
+        try {
+            YYYYMMDDHHMMConvertor compiled = new YYYYMMDDHHMMConvertor();
+            YYYYMMDDHHMMConvertor simple = new YYYYMMDDHHMMConvertor();
+            simple.setParserEngine(AbstractDateStringConverter.ENGINE_SIMPLE_DATE_FORMAT);
+            FormatSpec formatSpec = FormatSpec.valueOf("yyyymmddhhmm{yyyy/MM/dd HH:mm}", "|");
+            String[] skipped = {"2018/11/04 00:00", "2018/11/04 00:30", "2018/11/04 00:59", "201811040030"};
+            for (String value : skipped) {
+                assertFalse(value, simple.isConvertible(value, formatSpec));
+                assertFalse(value, compiled.isConvertible(value, formatSpec));
+            }
+            String[] valid = {"2018/11/03 23:59", "2018/11/04 01:00", "2019/02/16 23:30", "2019/02/17 00:00"};
+            for (String value : valid) {
+                assertTrue(value, simple.isConvertible(value, formatSpec));
+                assertTrue(value, compiled.isConvertible(value, formatSpec));
+                assertEquals(value, simple.convert(value, formatSpec), compiled.convert(value, formatSpec));
+            }
+            assertArrayEquals(simple.convertAll(skipped, formatSpec).getValues(),
+                    compiled.convertAll(skipped, formatSpec).getValues());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+            DateThreadResources.clear();
+        }
+    }
+
+    /** 変換後の値のパターンを変更できること。 */
+    @Test
+    public void testOutputPattern() {
+        YYYYMMDDHHMMConvertor target = new YYYYMMDDHHMMConvertor();
+        target.setOutputPattern("yyyy-MM-dd HH:mm");
+        assertEquals("2011-09-28 09:30", target.convertAll(new String[] {"201109280930"}, "yyyy/MM/dd HH:mm").getValue(0));
+        target.setOutputPattern("yyyy-MM-dd'T'HH:mm");
+        assertEquals("2011-09-28T09:30", target.convertAll(new String[] {"201109280930"}, "yyyy/MM/dd HH:mm").getValue(0));
+    }
+
+    /** 年月日のみのint値と経過日数に変換できること。 */
+    @Test
+    public void testConvertToInt() {
+        assertEquals(20110928, convertor.convertToInt("2011/09/28 09:30", "yyyy/MM/dd HH:mm"));
+        assertEquals(15245L, convertor.convertToEpochDay("2011/09/28 23:59", "yyyy/MM/dd HH:mm"));
+    }
+
+    /** {@link YYYYMMDDHHMMConvertor#getTargetAnnotation()}のテスト */
+    @Test
+    public void testGetTargetAnnotation() {
+        assertTrue(convertor.getTargetAnnotation() == YYYYMMDDHHMM.class);
+    }
+}
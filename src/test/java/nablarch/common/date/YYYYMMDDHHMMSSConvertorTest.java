@@ -0,0 +1,44 @@
+package nablarch.common.date;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * {@link YYYYMMDDHHMMSSConvertor}のテスト。
+ */
+public class YYYYMMDDHHMMSSConvertorTest {
+
+    private final YYYYMMDDHHMMSSConvertor convertor = new YYYYMMDDHHMMSSConvertor();
+
+    /** 年月日時分秒の文字列に変換できること。 */
+    @Test
+    public void testConvert() {
+        String[] values = {
+                "2011/09/28 09:30:15", "20110928093015", "2011/09/28 23:59:59", "10000/01/01 00:00:00",
+                "2011/09/28 09:30:60", "2011/09/28 09:30", "2011/09/28 09:30:15.000", "2011/09/28 9:30:15",
+        };
+        BulkConversionResult result = convertor.convertAll(values, "yyyy/MM/dd HH:mm:ss");
+        assertArrayEquals(new String[] {
+                "20110928093015", "20110928093015", "20110928235959", "100000101000000",
+                null, null, null, null,
+        }, result.getValues());
+    }
+
+    /** 区切り文字を取り除いたフォーマットに時分秒のパターン文字が残ること。 */
+    @Test
+    public void testGetNumbersOnlyFormat() {
+        assertEquals("yyyyMMddHHmmss", convertor.getNumbersOnlyFormat("yyyy/MM/dd HH:mm:ss"));
+        assertEquals("yyyyMMddHHmmss", convertor.getNumbersOnlyFormat("yyyy年MM月dd日 HH時mm分ss秒"));
+        assertNull(convertor.getNumbersOnlyFormat("yyyyMMddHHmmss"));
+    }
+
+    /** {@link YYYYMMDDHHMMSSConvertor#getTargetAnnotation()}のテスト */
+    @Test
+    public void testGetTargetAnnotation() {
+        assertTrue(convertor.getTargetAnnotation() == YYYYMMDDHHMMSS.class);
+    }
+}
@@ -0,0 +1,20 @@
+package nablarch.common.date.entity;
+
+import nablarch.common.date.YYYYMM;
+import nablarch.common.date.YYYYMMDD;
+
+/**
+ * 日付フォーマットの解析準備のテストで使用する、フォームの基底クラス(エンティティ)。
+ */
+public class PrecompileTestEntity {
+
+    @YYYYMMDD(allowFormat = "yyyy年MM月dd日")
+    private String birthDate;
+
+    private String startMonth;
+
+    @YYYYMM(allowFormat = "yyyy.MM")
+    public void setStartMonth(String startMonth) {
+        this.startMonth = startMonth;
+    }
+}
@@ -0,0 +1,12 @@
+package nablarch.common.date.entity;
+
+import nablarch.common.date.YYYYMMDD;
+
+/**
+ * 日付フォーマットの解析準備のテストで使用する、エンティティを継承したフォーム。
+ */
+public class PrecompileTestEntityForm extends PrecompileTestEntity {
+
+    @YYYYMMDD(allowFormat = "yyyy/MM/dd")
+    private String applyDate;
+}
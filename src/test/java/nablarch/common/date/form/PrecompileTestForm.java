@@ -0,0 +1,23 @@
+package nablarch.common.date.form;
+
+import nablarch.common.date.YYYYMM;
+import nablarch.common.date.YYYYMMDD;
+
+/**
+ * 日付フォーマットの解析準備のテストで使用するフォーム。
+ */
+public class PrecompileTestForm {
+
+    @YYYYMMDD(allowFormat = "yyyy/MM/dd")
+    private String date;
+
+    @YYYYMMDD(allowFormat = "yyyy-MM-dd", allowFormats = {"yyyy.MM.dd"})
+    private String otherDate;
+
+    private String month;
+
+    @YYYYMM(allowFormat = "yyyy/MM")
+    public void setMonth(String month) {
+        this.month = month;
+    }
+}
@@ -0,0 +1,15 @@
+package nablarch.common.date.form.sub;
+
+import nablarch.common.date.YYYYMMDD;
+
+/**
+ * 日付フォーマットの解析準備のテストで使用するフォーム(サブパッケージ)。
+ */
+public class PrecompileTestSubForm {
+
+    @YYYYMMDD(allowFormat = "yyyy/MM/dd")
+    private String date;
+
+    @YYYYMMDD(allowFormat = "dd.MM.yyyy")
+    private String europeanDate;
+}